@@ -0,0 +1,36 @@
+package com.neotys.neoload.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Runs the benchmarks with the JMH command line, writing the results as JSON in jmh-result.json unless another result
+ * format or file is given, so that the results of two releases can be archived and compared.
+ */
+public final class BenchmarksMain {
+
+	private static final String RESULT_FORMAT_OPTION = "-rf";
+	private static final String RESULT_FILE_OPTION = "-rff";
+	private static final String DEFAULT_RESULT_FORMAT = "json";
+	private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	private BenchmarksMain() {}
+
+	public static void main(final String[] args) throws IOException, RunnerException {
+		final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		if (!arguments.contains(RESULT_FORMAT_OPTION)) {
+			arguments.add(RESULT_FORMAT_OPTION);
+			arguments.add(DEFAULT_RESULT_FORMAT);
+		}
+		if (!arguments.contains(RESULT_FILE_OPTION)) {
+			arguments.add(RESULT_FILE_OPTION);
+			arguments.add(DEFAULT_RESULT_FILE);
+		}
+		Main.main(arguments.toArray(new String[0]));
+	}
+}
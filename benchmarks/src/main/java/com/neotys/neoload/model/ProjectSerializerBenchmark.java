@@ -0,0 +1,87 @@
+package com.neotys.neoload.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.io.ByteStreams;
+import com.neotys.neoload.model.listener.TestEventListener;
+import com.neotys.neoload.model.readers.loadrunner.LoadRunnerReader;
+import com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator;
+import com.neotys.neoload.model.repository.ImmutableUserPath;
+import com.neotys.neoload.model.repository.UserPath;
+
+/**
+ * Saving and loading by {@link ProjectSerializer} of a project made of copies of the user path read from a generated
+ * script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectSerializerBenchmark {
+
+	private static final int ACTIONS = 4;
+	private static final int PARAMETERS = 50;
+
+	@Param({"SMILE", "JSON"})
+	private ProjectSerializer.Format format;
+
+	@Param({"1", "500"})
+	private int userPaths;
+
+	private ProjectSerializer serializer;
+	private Project project;
+	private byte[] serializedProject;
+
+	@Setup
+	public void setup() throws IOException {
+		final File workFolder = Files.createTempDirectory("project-serializer-benchmark").toFile();
+		final Project readProject;
+		try {
+			LoadRunnerScriptGenerator.script(workFolder, "script", ACTIONS, LoadRunnerScriptGenerator.ActionSize.SMALL.getRequests(), PARAMETERS);
+			readProject = new LoadRunnerReader(new TestEventListener(), workFolder.getAbsolutePath(), "benchmark").read();
+		} finally {
+			FileUtils.deleteDirectory(workFolder);
+		}
+		final UserPath userPath = readProject.getUserPaths().get(0);
+		final ImmutableProject.Builder projectBuilder = ImmutableProject.builder().from(readProject).userPaths(Collections.emptyList());
+		for (int i = 0; i < userPaths; i++) {
+			projectBuilder.addUserPaths(ImmutableUserPath.copyOf(userPath).withName(userPath.getName() + "_" + i));
+		}
+		project = projectBuilder.build();
+		serializer = ProjectSerializer.of(format);
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		serializer.write(project, stream);
+		serializedProject = stream.toByteArray();
+	}
+
+	@Benchmark
+	public void save() throws IOException {
+		serializer.write(project, ByteStreams.nullOutputStream());
+	}
+
+	@Benchmark
+	public Project load() throws IOException {
+		return serializer.read(new ByteArrayInputStream(serializedProject));
+	}
+}
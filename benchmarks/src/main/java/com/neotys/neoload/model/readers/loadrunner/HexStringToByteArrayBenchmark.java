@@ -0,0 +1,96 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding of the BodyBinary of a web_custom_request by {@link WebCustomRequest#hexStringToByteArray(String)} against
+ * the previous implementation, on a binary payload (protobuf or AMF like) of which about a half of the bytes are not
+ * printable and written as "\x" escapes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexStringToByteArrayBenchmark {
+
+	private static final char[] HEXA_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	@Param({"1024", "4194304"})
+	private int bytes;
+
+	private String bodyBinary;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(42);
+		final StringBuilder sb = new StringBuilder(bytes * 3);
+		for (int i = 0; i < bytes; i++) {
+			final int b = random.nextInt(256);
+			if (b >= 0x20 && b < 0x7F && b != '\\') {
+				sb.append((char) b);
+			} else {
+				sb.append("\\x").append(HEXA_DIGITS[b >> 4]).append(HEXA_DIGITS[b & 0xF]);
+			}
+		}
+		bodyBinary = sb.toString();
+	}
+
+	@Benchmark
+	public byte[] hexStringToByteArray() {
+		return WebCustomRequest.hexStringToByteArray(bodyBinary);
+	}
+
+	@Benchmark
+	public byte[] substringPerByte() {
+		return hexStringToByteArrayWithSubstrings(bodyBinary);
+	}
+
+	/**
+	 * Previous implementation of {@link WebCustomRequest#hexStringToByteArray(String)}.
+	 */
+	private static byte[] hexStringToByteArrayWithSubstrings(String s) {
+		int stringPointer = 0;
+		int dataPointer = 0;
+		int globalSize = s.length();
+		int hexaStringSize = WebCustomRequest.LR_HEXA_STR_PATTERN.length() + 2;
+		int nbHexa = StringUtils.countMatches(s, WebCustomRequest.LR_HEXA_STR_PATTERN);
+		int byteSize = (globalSize - nbHexa * hexaStringSize) + nbHexa;
+		byte[] rawData = new byte[byteSize];
+
+		while (stringPointer < globalSize) {
+			if (stringPointer + hexaStringSize - 1 < globalSize) {
+				String hexaString = s.substring(stringPointer, stringPointer + hexaStringSize);
+				if (hexaString.startsWith(WebCustomRequest.LR_HEXA_STR_PATTERN)) {
+					hexaString = hexaString.replace(WebCustomRequest.LR_HEXA_STR_PATTERN, "");
+					rawData[dataPointer] = (byte) ((Character.digit(hexaString.charAt(0), 16) << 4)
+							+ Character.digit(hexaString.charAt(1), 16));
+					stringPointer = hexaStringSize + stringPointer;
+				} else {
+					rawData[dataPointer] = (byte) s.charAt(stringPointer);
+					stringPointer++;
+				}
+			} else {
+				rawData[dataPointer] = (byte) s.charAt(stringPointer);
+				stringPointer++;
+			}
+			dataPointer++;
+		}
+		return rawData;
+	}
+}
@@ -0,0 +1,84 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.CharStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neotys.neoload.model.listener.TestEventListener;
+import com.neotys.neoload.model.repository.Container;
+
+import static com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator.LEFT_BRACE;
+import static com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator.RIGHT_BRACE;
+
+/**
+ * Reading of a generated action file by {@link LoadRunnerReader#parseCppFile(String, String, java.io.InputStream, String)}:
+ * the generated actions are flat sequences of calls read without the parser, they are also lexed, parsed and visited
+ * for comparison. The decoding of the action file, from a stream or mapped from the disk, is measured alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadRunnerReaderBenchmark {
+
+	@Param({"SMALL", "MEDIUM", "HUGE"})
+	private LoadRunnerScriptGenerator.ActionSize size;
+
+	private byte[] action;
+	private Path actionFile;
+	private LoadRunnerReader reader;
+
+	@Setup
+	public void setup() throws IOException {
+		action = LoadRunnerScriptGenerator.action("Action", size.getRequests()).getBytes(StandardCharsets.UTF_8);
+		actionFile = Files.createTempFile("Action", ".c");
+		Files.write(actionFile, action);
+		reader = new LoadRunnerReader(new TestEventListener(), System.getProperty("java.io.tmpdir"), "benchmark");
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(actionFile);
+	}
+
+	@Benchmark
+	public CharStream decodeStream() throws IOException {
+		return LoadRunnerReader.loadAndCorrectGrammarFromLR(new ByteArrayInputStream(action));
+	}
+
+	@Benchmark
+	public CharStream decodeMappedFile() throws IOException {
+		return LoadRunnerReader.loadAndCorrectGrammarFromLR(actionFile, Optional.empty(), Optional.empty());
+	}
+
+	@Benchmark
+	public Container parseCppFile() throws IOException {
+		return reader.parseCppFile(LEFT_BRACE, RIGHT_BRACE, new ByteArrayInputStream(action), "Action");
+	}
+
+	@Benchmark
+	public Container parseCppFileWithParser() throws IOException {
+		return reader.parseCppFile(LEFT_BRACE, RIGHT_BRACE, new ByteArrayInputStream(action), "Action", false);
+	}
+}
@@ -0,0 +1,248 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.neotys.neoload.model.readers.loadrunner.filereader.ParametersReaderUtils;
+
+/**
+ * Generates synthetic LoadRunner scripts, so that the benchmarks do not depend on recorded scripts.
+ * The generated actions mix the supported web functions (web_url with resources, web_custom_request with a body split
+ * on several lines, web_submit_data, web_reg_find, web_reg_save_param_regexp), transactions and think times, and use
+ * the parameters of the generated parameter file. The output only depends on the arguments.
+ */
+public final class LoadRunnerScriptGenerator {
+
+	/**
+	 * Number of requests of a generated action file.
+	 */
+	public enum ActionSize {
+		SMALL(10),
+		MEDIUM(500),
+		HUGE(20_000);
+
+		private final int requests;
+
+		ActionSize(final int requests) {
+			this.requests = requests;
+		}
+
+		public int getRequests() {
+			return requests;
+		}
+	}
+
+	public static final String LEFT_BRACE = "{";
+	public static final String RIGHT_BRACE = "}";
+
+	private static final int REQUESTS_PER_TRANSACTION = 10;
+	private static final int PARAMETER_KINDS = 5;
+	private static final int DATA_FILE_ROWS = 100;
+
+	private LoadRunnerScriptGenerator() {}
+
+	/**
+	 * @return the content of an action file named actionName making the given number of requests.
+	 */
+	public static String action(final String actionName, final int requests) {
+		final StringBuilder sb = new StringBuilder(requests * 400);
+		sb.append(actionName).append("()\n{\n");
+		for (int i = 0; i < requests; i++) {
+			if (i % REQUESTS_PER_TRANSACTION == 0) {
+				sb.append("\tlr_start_transaction(\"transaction_").append(i / REQUESTS_PER_TRANSACTION).append("\");\n\n");
+			}
+			appendRequest(sb, i);
+			if (i % REQUESTS_PER_TRANSACTION == REQUESTS_PER_TRANSACTION - 1 || i == requests - 1) {
+				sb.append("\tlr_end_transaction(\"transaction_").append(i / REQUESTS_PER_TRANSACTION).append("\", LR_AUTO);\n\n");
+				sb.append("\tlr_think_time(").append(i % 3 + 1).append(");\n\n");
+			}
+		}
+		return sb.append("\treturn 0;\n}\n").toString();
+	}
+
+	private static void appendRequest(final StringBuilder sb, final int i) {
+		final String host = "host" + i % 7 + ".example.com";
+		switch (i % 4) {
+			case 0:
+				sb.append("\tweb_url(\"page_").append(i).append("\",\n")
+						.append("\t\t\"URL=http://").append(host).append("/catalog/items?id={table_0}&page=").append(i).append("\",\n")
+						.append("\t\t\"Resource=0\",\n")
+						.append("\t\t\"RecContentType=text/html\",\n")
+						.append("\t\t\"Referer=http://").append(host).append("/catalog\",\n")
+						.append("\t\t\"Snapshot=t").append(i).append(".inf\",\n")
+						.append("\t\t\"Mode=HTML\",\n")
+						.append("\t\tEXTRARES,\n")
+						.append("\t\t\"Url=/static/style.css\", \"Referer=http://").append(host).append("/catalog\", ENDITEM,\n")
+						.append("\t\t\"Url=/static/logo_").append(i % 5).append(".png\", \"Referer=http://").append(host).append("/catalog\", ENDITEM,\n")
+						.append("\t\tLAST);\n\n");
+				break;
+			case 1:
+				sb.append("\tweb_reg_save_param_regexp(\"ParamName=order_id_").append(i).append("\",\n")
+						.append("\t\t\"RegExp=\\\"orderId\\\":\\\"([0-9]+)\\\"\",\n")
+						.append("\t\tSEARCH_FILTERS,\n")
+						.append("\t\t\"Scope=Body\",\n")
+						.append("\t\tLAST);\n\n")
+						.append("\tweb_custom_request(\"order_").append(i).append("\",\n")
+						.append("\t\t\"URL=https://").append(host).append("/api/orders?session={unique_3}\",\n")
+						.append("\t\t\"Method=POST\",\n")
+						.append("\t\t\"Resource=0\",\n")
+						.append("\t\t\"RecContentType=application/json\",\n")
+						.append("\t\t\"Referer=https://").append(host).append("/checkout\",\n")
+						.append("\t\t\"Snapshot=t").append(i).append(".inf\",\n")
+						.append("\t\t\"Mode=HTTP\",\n")
+						.append("\t\t\"EncType=application/json\",\n")
+						.append("\t\t\"Body={\\\"customer\\\":\\\"{table_0}\\\",\\\"items\\\":[{\\\"sku\\\":\\\"{random_2}\\\",\"\n")
+						.append("\t\t\"\\\"quantity\\\":").append(i % 9 + 1).append("}],\\\"comment\\\":\\\"{custom_4}\\\"}\",\n")
+						.append("\t\tLAST);\n\n");
+				break;
+			case 2:
+				sb.append("\tweb_submit_data(\"login_").append(i).append("\",\n")
+						.append("\t\t\"Action=http://").append(host).append("/login\",\n")
+						.append("\t\t\"Method=POST\",\n")
+						.append("\t\t\"RecContentType=text/html\",\n")
+						.append("\t\t\"Referer=http://").append(host).append("/home\",\n")
+						.append("\t\t\"Snapshot=t").append(i).append(".inf\",\n")
+						.append("\t\t\"Mode=HTML\",\n")
+						.append("\t\tITEMDATA,\n")
+						.append("\t\t\"Name=login\", \"Value={table_0}\", ENDITEM,\n")
+						.append("\t\t\"Name=password\", \"Value={same_line_1}\", ENDITEM,\n")
+						.append("\t\t\"Name=submit\", \"Value=Submit\", ENDITEM,\n")
+						.append("\t\tLAST);\n\n");
+				break;
+			default:
+				sb.append("\tweb_reg_find(\"Text=Welcome {table_0}\",\n")
+						.append("\t\tLAST);\n\n")
+						.append("\tweb_url(\"home_").append(i).append("\",\n")
+						.append("\t\t\"URL=http://").append(host).append("/home?user={table_0}\",\n")
+						.append("\t\t\"Resource=0\",\n")
+						.append("\t\t\"Referer=\",\n")
+						.append("\t\t\"Mode=HTML\",\n")
+						.append("\t\tLAST);\n\n");
+				break;
+		}
+	}
+
+	/**
+	 * @return the content of a parameter file declaring the given number of parameters, cycling on a table parameter,
+	 * a parameter on the same line of the table, a random, a unique and a custom parameter. The table parameters use
+	 * the data files "table_&lt;index&gt;.dat".
+	 */
+	public static String parameterFile(final int parameters) {
+		final StringBuilder sb = new StringBuilder(parameters * 250);
+		for (int i = 0; i < parameters; i++) {
+			final int table = i / PARAMETER_KINDS * PARAMETER_KINDS;
+			switch (i % PARAMETER_KINDS) {
+				case 0:
+					appendSection(sb, "table_" + i, "Table",
+							"ColumnName", "\"col0\"",
+							"Delimiter", "\",\"",
+							"GenerateNewVal", "\"EachIteration\"",
+							"OutOfRangePolicy", "\"ContinueCyclic\"",
+							"SelectNextRow", "\"Sequential\"",
+							"StartRow", "\"1\"",
+							"Table", "\"" + dataFileName(i) + "\"",
+							"TableLocation", "\"Local\"");
+					break;
+				case 1:
+					appendSection(sb, "same_line_" + i, "Table",
+							"ColumnName", "\"col1\"",
+							"Delimiter", "\",\"",
+							"GenerateNewVal", "\"EachIteration\"",
+							"OutOfRangePolicy", "\"ContinueCyclic\"",
+							"SelectNextRow", "\"Same line as table_" + table + "\"",
+							"StartRow", "\"1\"",
+							"Table", "\"" + dataFileName(table) + "\"",
+							"TableLocation", "\"Local\"");
+					break;
+				case 2:
+					appendSection(sb, "random_" + i, "Random",
+							"Format", "\"%lu\"",
+							"GenerateNewVal", "\"EachOccurrence\"",
+							"MinValue", "\"" + i + "\"",
+							"MaxValue", "\"" + (i + 1000) + "\"");
+					break;
+				case 3:
+					appendSection(sb, "unique_" + i, "Unique",
+							"Format", "\"%01d\"",
+							"GenerateNewVal", "\"Once\"",
+							"StartValue", "\"" + i + "\"",
+							"BlockSize", "\"100\"",
+							"OutOfRangePolicy", "\"ContinueWithLast\"");
+					break;
+				default:
+					appendSection(sb, "custom_" + i, "Custom",
+							"CurrentValue", "\"custom value " + i + "\"",
+							"IsEncrypt", "\"NO\"",
+							"Prompt", "\"custom parameter " + i + "\"");
+					break;
+			}
+		}
+		return sb.toString();
+	}
+
+	private static void appendSection(final StringBuilder sb, final String name, final String type, final String... keysAndValues) {
+		sb.append("[parameter:").append(name).append("]\n");
+		sb.append("ParamName=\"").append(name).append("\"\n");
+		sb.append("Type=\"").append(type).append("\"\n");
+		sb.append("OriginalValue=\"\"\n");
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			sb.append(keysAndValues[i]).append('=').append(keysAndValues[i + 1]).append('\n');
+		}
+	}
+
+	/**
+	 * @return the content of a data file of the table parameters, with a header line and the given number of rows.
+	 */
+	public static String dataFile(final int rows) {
+		final StringBuilder sb = new StringBuilder(rows * 30).append("col0,col1,col2\n");
+		for (int row = 0; row < rows; row++) {
+			sb.append("user").append(row).append(",password").append(row).append(',').append(row).append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static String dataFileName(final int parameterIndex) {
+		return "table_" + parameterIndex + ".dat";
+	}
+
+	/**
+	 * Write a script folder scriptName in parentFolder: the .usr project file, vuser_init, the actions "Action_&lt;index&gt;",
+	 * vuser_end, the parameter file and the data files of its table parameters.
+	 * @return the script folder
+	 */
+	public static File script(final File parentFolder, final String scriptName, final int actions, final int requestsPerAction,
+			final int parameters) throws IOException {
+		final File folder = new File(parentFolder, scriptName);
+		Files.createDirectories(folder.toPath());
+
+		final StringBuilder usr = new StringBuilder()
+				.append("[General]\n")
+				.append("Type=Multi\n")
+				.append("ParameterFile=").append(scriptName).append(ParametersReaderUtils.FILE_EXT).append('\n')
+				.append("ParamLeftBrace=").append(LEFT_BRACE).append('\n')
+				.append("ParamRightBrace=").append(RIGHT_BRACE).append('\n')
+				.append("ScriptLanguage=C\n")
+				.append("[Actions]\n")
+				.append("vuser_init=vuser_init.c\n");
+		write(folder, "vuser_init.c", action("vuser_init", 1));
+		for (int i = 0; i < actions; i++) {
+			usr.append("Action_").append(i).append("=Action_").append(i).append(".c\n");
+			write(folder, "Action_" + i + ".c", action("Action_" + i, requestsPerAction));
+		}
+		usr.append("vuser_end=vuser_end.c\n");
+		write(folder, "vuser_end.c", action("vuser_end", 1));
+		write(folder, scriptName + ".usr", usr.toString());
+
+		write(folder, scriptName + ParametersReaderUtils.FILE_EXT, parameterFile(parameters));
+		for (int i = 0; i < parameters; i += PARAMETER_KINDS) {
+			write(folder, dataFileName(i), dataFile(DATA_FILE_ROWS));
+		}
+		return folder;
+	}
+
+	private static void write(final File folder, final String fileName, final String content) throws IOException {
+		Files.write(new File(folder, fileName).toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,60 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neotys.neoload.model.listener.TestEventListener;
+import com.neotys.neoload.model.repository.Container;
+
+import static com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator.LEFT_BRACE;
+import static com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator.RIGHT_BRACE;
+
+/**
+ * Parsing and visit of an action file of one call per line, from 2 000 to 20 000 lines: the time per line must not
+ * grow with the size of the file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadRunnerVUVisitorBenchmark {
+
+	@Param({"2000", "20000"})
+	private int lines;
+
+	private byte[] action;
+	private LoadRunnerReader reader;
+
+	@Setup
+	public void setup() {
+		final StringBuilder sb = new StringBuilder(lines * 20);
+		sb.append("Action()\n{\n");
+		for (int i = 0; i < lines; i++) {
+			sb.append("\tlr_think_time(").append(i % 10 + 1).append(");\n");
+		}
+		sb.append("\treturn 0;\n}\n");
+		action = sb.toString().getBytes(StandardCharsets.UTF_8);
+		reader = new LoadRunnerReader(new TestEventListener(), System.getProperty("java.io.tmpdir"), "benchmark");
+	}
+
+	@Benchmark
+	public Container parseAndVisit() throws IOException {
+		return reader.parseCppFile(LEFT_BRACE, RIGHT_BRACE, new ByteArrayInputStream(action), "Action", false);
+	}
+}
@@ -0,0 +1,88 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Replacement of the LR variables in the parameters of a web_custom_request: the scanner of
+ * {@link MethodUtils#normalizeVariables(String, String, String)} against the previous regular expression compiled
+ * for each parameter, and the whole {@link MethodUtils#normalizeString(String, String, String)} applied to each
+ * parameter read by the visitor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizeVariablesBenchmark {
+
+	private static final String LEFT_BRACE = "{";
+	private static final String RIGHT_BRACE = "}";
+
+	private final List<String> webCustomRequestParameters = ImmutableList.of(
+			"\"order_{OrderId}\"",
+			"URL=https://{Host}/api/v2/customers/{CustomerId}/orders?session={SessionId}&lang=en",
+			"Method=POST",
+			"Resource=0",
+			"RecContentType=application/json",
+			"Referer=https://{Host}/shop/checkout.html",
+			"Snapshot=t42.inf",
+			"Mode=HTTP",
+			"EncType=application/json; charset=utf-8",
+			"Body={\"customer\":\"{CustomerId}\",\"items\":[{\"sku\":\"{Sku}\",\"quantity\":{Quantity}}],\"coupon\":\"SUMMER\"}",
+			"LAST");
+
+	@Benchmark
+	public void normalizeVariables(final Blackhole blackhole) {
+		for (final String parameter : webCustomRequestParameters) {
+			blackhole.consume(MethodUtils.normalizeVariables(LEFT_BRACE, RIGHT_BRACE, parameter));
+		}
+	}
+
+	@Benchmark
+	public void normalizeString(final Blackhole blackhole) {
+		for (final String parameter : webCustomRequestParameters) {
+			blackhole.consume(MethodUtils.normalizeString(LEFT_BRACE, RIGHT_BRACE, parameter));
+		}
+	}
+
+	@Benchmark
+	public void compiledPatternPerParameter(final Blackhole blackhole) {
+		for (final String parameter : webCustomRequestParameters) {
+			blackhole.consume(normalizeVariablesWithPattern(parameter));
+		}
+	}
+
+	/**
+	 * Previous implementation of {@link MethodUtils#normalizeVariables(String, String, String)}.
+	 */
+	private static String normalizeVariablesWithPattern(final String param) {
+		Matcher m = MethodUtils.getVariablePatternWithBrace(LEFT_BRACE, RIGHT_BRACE).matcher(param);
+		StringBuilder sb = new StringBuilder();
+		int lastIndex = 0;
+		while (m.find()) {
+			String paramName = param.substring(m.start() + LEFT_BRACE.length(), m.end() - RIGHT_BRACE.length());
+			sb.append(param.substring(lastIndex, m.start())).append("${").append(MethodUtils.getCorrespondingVariableNameForNL(paramName)).append("}");
+			lastIndex = m.end();
+		}
+		if (lastIndex == 0) {
+			return param;
+		}
+		return sb.append(param.substring(lastIndex)).toString();
+	}
+}
@@ -0,0 +1,104 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neotys.neoload.model.listener.TestEventListener;
+import com.neotys.neoload.model.repository.Container;
+
+import static com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator.LEFT_BRACE;
+import static com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator.RIGHT_BRACE;
+
+/**
+ * Parsing time of the first action file of a JVM against the 100th one, which reuses the parser caches learned on the
+ * previous files. The flat action scanner is disabled so that all the files are parsed. The 100th file parsed after
+ * clearing the caches isolates their effect from the JIT compilation.
+ * Each measure is a single parse in a new JVM.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ParserWarmUpBenchmark {
+
+	private static final int PREVIOUS_FILES = 99;
+
+	@State(Scope.Thread)
+	public static class ActionFiles {
+
+		@Param({"SMALL", "MEDIUM"})
+		private LoadRunnerScriptGenerator.ActionSize size;
+
+		private LoadRunnerReader reader;
+		private byte[][] actions;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			reader = new LoadRunnerReader(new TestEventListener(), System.getProperty("java.io.tmpdir"), "benchmark");
+			actions = new byte[PREVIOUS_FILES + 1][];
+			for (int i = 0; i < actions.length; i++) {
+				actions[i] = LoadRunnerScriptGenerator.action("Action_" + i, size.getRequests()).getBytes(StandardCharsets.UTF_8);
+			}
+		}
+
+		Container parse(final int index) throws IOException {
+			return reader.parseCppFile(LEFT_BRACE, RIGHT_BRACE, new ByteArrayInputStream(actions[index]), "Action_" + index, false);
+		}
+
+		void parsePreviousFiles() throws IOException {
+			for (int i = 0; i < PREVIOUS_FILES; i++) {
+				parse(i);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class WarmCaches {
+
+		@Setup(Level.Iteration)
+		public void setup(final ActionFiles files) throws IOException {
+			files.parsePreviousFiles();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ClearedCaches {
+
+		@Setup(Level.Iteration)
+		public void setup(final ActionFiles files) throws IOException {
+			files.parsePreviousFiles();
+			LoadRunnerReader.clearParserCaches();
+		}
+	}
+
+	@Benchmark
+	public Container firstFile(final ActionFiles files) throws IOException {
+		return files.parse(0);
+	}
+
+	@Benchmark
+	public Container hundredthFile(final ActionFiles files, final WarmCaches warmCaches) throws IOException {
+		return files.parse(PREVIOUS_FILES);
+	}
+
+	@Benchmark
+	public Container hundredthFileWithClearedCaches(final ActionFiles files, final ClearedCaches clearedCaches) throws IOException {
+		return files.parse(PREVIOUS_FILES);
+	}
+}
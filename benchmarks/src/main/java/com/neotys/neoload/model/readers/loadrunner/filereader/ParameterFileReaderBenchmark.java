@@ -0,0 +1,66 @@
+package com.neotys.neoload.model.readers.loadrunner.filereader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neotys.neoload.model.listener.TestEventListener;
+import com.neotys.neoload.model.readers.loadrunner.LoadRunnerReader;
+import com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator;
+
+/**
+ * Loading of a generated parameter file, and of the data files of its table parameters, by the
+ * {@link ParameterFileReader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterFileReaderBenchmark {
+
+	@Param({"100", "2000"})
+	private int parameters;
+
+	private File workFolder;
+	private File scriptFolder;
+	private LoadRunnerReader reader;
+	private ProjectFileReader projectFileReader;
+
+	@Setup
+	public void setup() throws IOException {
+		workFolder = Files.createTempDirectory("parameter-file-reader-benchmark").toFile();
+		scriptFolder = LoadRunnerScriptGenerator.script(workFolder, "script", 1, 1, parameters);
+		reader = new LoadRunnerReader(new TestEventListener(), workFolder.getAbsolutePath(), "benchmark");
+		projectFileReader = new ProjectFileReader(reader, new TestEventListener(), scriptFolder);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(workFolder);
+	}
+
+	@Benchmark
+	public ParameterFileReader readParameterFile() {
+		final ParameterFileReader parameterFileReader = new ParameterFileReader(reader, projectFileReader, scriptFolder);
+		// the data files to copy are registered again at each read
+		reader.removeDataFilesToCopyIf(dataFile -> true);
+		return parameterFileReader;
+	}
+}
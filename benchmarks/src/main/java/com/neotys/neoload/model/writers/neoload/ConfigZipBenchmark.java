@@ -0,0 +1,77 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.TransformerException;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neotys.neoload.model.Project;
+import com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator;
+
+/**
+ * Writing of repository.xml, scenario.xml and settings.xml in config.zip by {@link NeoLoadWriter#createConfigZip()}, the
+ * repository being the one of the project read from a generated script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigZipBenchmark {
+
+	@Param({"SMALL", "MEDIUM", "HUGE"})
+	private LoadRunnerScriptGenerator.ActionSize size;
+
+	// default compression and no compression
+	@Param({"-1", "0"})
+	private int level;
+
+	private File workFolder;
+	private File nlProjectFolder;
+	private NeoLoadWriter writer;
+
+	@Setup
+	public void setup() throws IOException {
+		workFolder = Files.createTempDirectory("config-zip-benchmark").toFile();
+		final Project project = ProjectWriterBenchmark.readGeneratedProject(workFolder, size);
+		nlProjectFolder = new File(workFolder, "output");
+		Files.createDirectories(nlProjectFolder.toPath());
+		writer = new NeoLoadWriter(project, nlProjectFolder.getAbsolutePath(), null,
+				ImmutableNeoLoadWriterOptions.builder().streamRepository(true).configZipLevel(level).build());
+	}
+
+	@Setup(Level.Invocation)
+	public void deleteConfigZip() throws IOException {
+		Files.deleteIfExists(new File(nlProjectFolder, "config.zip").toPath());
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(workFolder);
+	}
+
+	@Benchmark
+	public void createConfigZip() throws IOException, ParserConfigurationException, TransformerException, XMLStreamException {
+		writer.createConfigZip();
+	}
+}
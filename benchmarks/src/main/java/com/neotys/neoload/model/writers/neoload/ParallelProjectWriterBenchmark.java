@@ -0,0 +1,92 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerException;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.io.ByteStreams;
+import com.neotys.neoload.model.ImmutableProject;
+import com.neotys.neoload.model.Project;
+import com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator;
+import com.neotys.neoload.model.repository.ImmutableUserPath;
+import com.neotys.neoload.model.repository.UserPath;
+
+/**
+ * Streaming by {@link ProjectWriter} of the repository of a project made of copies of the user path read from a
+ * generated script, its user paths being written one after the other or in parallel on one thread per processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelProjectWriterBenchmark {
+
+	@Param({"SMALL", "MEDIUM"})
+	private LoadRunnerScriptGenerator.ActionSize size;
+
+	@Param({"100"})
+	private int userPaths;
+
+	private File workFolder;
+	private OutputSink output;
+	private Project project;
+	private ExecutorService executor;
+	private int threads;
+
+	@Setup
+	public void setup() throws IOException {
+		workFolder = Files.createTempDirectory("parallel-project-writer-benchmark").toFile();
+		final Project readProject = ProjectWriterBenchmark.readGeneratedProject(workFolder, size);
+		final UserPath userPath = readProject.getUserPaths().get(0);
+		final ImmutableProject.Builder projectBuilder = ImmutableProject.builder().from(readProject).userPaths(Collections.emptyList());
+		for (int i = 0; i < userPaths; i++) {
+			projectBuilder.addUserPaths(ImmutableUserPath.copyOf(userPath).withName(userPath.getName() + "_" + i));
+		}
+		project = projectBuilder.build();
+		output = FileSystemOutputSink.of(new File(workFolder, "output"));
+		threads = Runtime.getRuntime().availableProcessors();
+		executor = Executors.newFixedThreadPool(threads);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		executor.shutdown();
+		FileUtils.deleteDirectory(workFolder);
+	}
+
+	@Benchmark
+	public void writeStreamed() throws TransformerException, XMLStreamException {
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(ByteStreams.nullOutputStream());
+		ProjectWriter.of(project).writeXML(writer, output);
+		writer.close();
+	}
+
+	@Benchmark
+	public void writeParallel() throws TransformerException, XMLStreamException, IOException {
+		ProjectWriter.of(project).writeXML(ByteStreams.nullOutputStream(), output, executor, threads);
+	}
+}
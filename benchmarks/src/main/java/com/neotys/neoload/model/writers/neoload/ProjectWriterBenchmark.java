@@ -0,0 +1,91 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerException;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import com.google.common.io.ByteStreams;
+import com.neotys.neoload.model.Project;
+import com.neotys.neoload.model.listener.TestEventListener;
+import com.neotys.neoload.model.readers.loadrunner.LoadRunnerReader;
+import com.neotys.neoload.model.readers.loadrunner.LoadRunnerScriptGenerator;
+
+/**
+ * Writing of the repository of the project read from a generated script by {@link ProjectWriter}, as a DOM document
+ * and streamed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectWriterBenchmark {
+
+	private static final int ACTIONS = 4;
+	private static final int PARAMETERS = 50;
+
+	@Param({"SMALL", "MEDIUM", "HUGE"})
+	private LoadRunnerScriptGenerator.ActionSize size;
+
+	private File workFolder;
+	private OutputSink output;
+	private Project project;
+
+	@Setup
+	public void setup() throws IOException {
+		workFolder = Files.createTempDirectory("project-writer-benchmark").toFile();
+		project = readGeneratedProject(workFolder, size);
+		output = FileSystemOutputSink.of(new File(workFolder, "output"));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(workFolder);
+	}
+
+	/**
+	 * @return the project read from a script generated in workFolder, with actions of the given size.
+	 */
+	static Project readGeneratedProject(final File workFolder, final LoadRunnerScriptGenerator.ActionSize size) throws IOException {
+		final File scriptsFolder = new File(workFolder, "scripts");
+		LoadRunnerScriptGenerator.script(scriptsFolder, "script", ACTIONS, size.getRequests(), PARAMETERS);
+		return new LoadRunnerReader(new TestEventListener(), scriptsFolder.getAbsolutePath(), "benchmark").read();
+	}
+
+	@Benchmark
+	public Document writeDOM() throws ParserConfigurationException {
+		final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		ProjectWriter.of(project).writeXML(document, output);
+		return document;
+	}
+
+	@Benchmark
+	public void writeStreamed() throws TransformerException, XMLStreamException {
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(ByteStreams.nullOutputStream());
+		ProjectWriter.of(project).writeXML(writer, output);
+		writer.close();
+	}
+}
@@ -20,9 +20,17 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Logs the progress of the conversion and its summary.
+ * The scripts being possibly read in parallel, the duration and the functions of each script are kept by script name.
+ * Not thread safe, the readers notify it through a {@link SynchronizedEventListener}.
+ */
 public class CmdEventListener implements EventListener {
 
 	private static final Logger LIVE_OUT = LoggerFactory.getLogger("LIVE");
@@ -37,7 +45,8 @@ public class CmdEventListener implements EventListener {
 
 	private int totalScriptNumber;
 	private long totalDurationInMills;
-	private long currentScriptStartTime;
+	// the scripts being read, by name
+	private final Map<String, ScriptProgress> currentScripts = new HashMap<>();
 	private final SupportLevelCounter actionsCounter = new SupportLevelCounter();
 	private final SupportLevelCounter functionsCounter = new SupportLevelCounter();
 	private final SupportLevelCounter parametersCounter = new SupportLevelCounter();
@@ -80,36 +89,59 @@ public class CmdEventListener implements EventListener {
 
 	@Override
 	public void startScript(final String scriptPath) {
-		// Reset current script info
-		currentScriptStartTime = (new Date()).getTime();
-		functionsCounter.nextScript();
-		parametersCounter.nextScript();
+		currentScripts.put(scriptPath, new ScriptProgress((new Date()).getTime()));
 		final String message = "Converting script: " + (new File(scriptPath)).getName();
 		LIVE_OUT.info(message);
 		FUNCTIONAL_OUT.info(message);
 	}
 
+	/**
+	 * Ends the script being read, if only one is.
+	 */
 	@Override
 	public void endScript() {
-		final long duration = (new Date()).getTime() - currentScriptStartTime;
-		LIVE_OUT.info("Done in " + duration + " ms. Functions " + functionsCounter.getCurrentSummary());
+		if (currentScripts.size() == 1) {
+			endScript(currentScripts.keySet().iterator().next());
+		}
+	}
+
+	@Override
+	public void endScript(final String scriptPath) {
+		final ScriptProgress script = currentScripts.remove(scriptPath);
+		if (script == null) {
+			return;
+		}
+		final long duration = (new Date()).getTime() - script.startTime;
+		LIVE_OUT.info("Script " + (new File(scriptPath)).getName() + " done in " + duration + " ms. Functions "
+				+ script.functionsCounter.getCurrentSummary());
+	}
+
+	/**
+	 * Count the function in the total and in the script.
+	 */
+	private void countFunction(final String scriptName, final Consumer<SupportLevelCounter> count) {
+		count.accept(functionsCounter);
+		final ScriptProgress script = currentScripts.get(scriptName);
+		if (script != null) {
+			count.accept(script.functionsCounter);
+		}
 	}
 
 	@Override
 	public void readSupportedFunction(final String scriptName, final String functionName, final Integer lineNumber) {
-		functionsCounter.readSupported(functionName);
+		countFunction(scriptName, counter -> counter.readSupported(functionName));
 	}
 
 	@Override
 	public void readSupportedFunctionWithWarn(final String scriptName, final String functionName, final Integer lineNumber,
 											  final String warning) {
-		functionsCounter.readSupportedWithWarn(functionName);
+		countFunction(scriptName, counter -> counter.readSupportedWithWarn(functionName));
 		FUNCTIONAL_OUT.warn(LINE + lineNumber + ": function supported with warning: " + functionName + ". " + warning);
 	}
 
 	@Override
 	public void readUnsupportedFunction(final String scriptName, final String functionName, final Integer lineNumber) {
-		functionsCounter.readUnsupported(functionName);
+		countFunction(scriptName, counter -> counter.readUnsupported(functionName));
 		FUNCTIONAL_OUT.warn(LINE + lineNumber + ": function not supported: " + functionName);
 	}
 
@@ -131,6 +163,14 @@ public class CmdEventListener implements EventListener {
 		FUNCTIONAL_OUT.warn("Parameter unsupported. Type: " + parameterType + ", name: " + parameterName + ". ");
 	}
 
+	@Override
+	public void copiedDataFiles(final int copiedFiles, final int skippedFiles, final long copiedBytes, final long durationInMillis) {
+		final double megaBytes = copiedBytes / (1024d * 1024d);
+		final String throughput = durationInMillis > 0 ? String.format(" (%.1f MB/s)", megaBytes * 1000 / durationInMillis) : "";
+		LIVE_OUT.info(String.format("Data files: %d copied, %d up to date, %.1f MB in %d ms", copiedFiles, skippedFiles, megaBytes, durationInMillis)
+				+ throughput);
+	}
+
 	public void printSummary() {
 		final StringBuilder summaryBuilder = new StringBuilder();
 		summaryBuilder.append(System.lineSeparator()).append("***********").append(System.lineSeparator())
@@ -203,6 +243,15 @@ public class CmdEventListener implements EventListener {
 		}
 	}
 
+	private static final class ScriptProgress {
+		private final long startTime;
+		private final SupportLevelCounter functionsCounter = new SupportLevelCounter();
+
+		private ScriptProgress(final long startTime) {
+			this.startTime = startTime;
+		}
+	}
+
 	private static final List<String> getLogFiles(){
 		final List<String> logFileLocations = new ArrayList<>();
 		final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
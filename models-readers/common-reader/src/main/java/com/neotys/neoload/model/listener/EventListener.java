@@ -7,6 +7,13 @@ public interface EventListener {
 	
 	public void startScript(final String scriptPath);
 	public void endScript();
+
+	/**
+	 * End of the script started with the same path, several scripts being possibly read at the same time.
+	 */
+	public default void endScript(final String scriptPath) {
+		endScript();
+	}
 	
 	public void readSupportedAction(final String actionName);
 	public void readUnsupportedAction(final String actionName);
@@ -18,5 +25,12 @@ public interface EventListener {
 	public void readSupportedParameter(final String scriptName, final String parameterType, final String parameterName);
 	public void readSupportedParameterWithWarn(final String scriptName, final String parameterType, final String parameterName, final String warning);
 	public void readUnsupportedParameter(final String scriptName, final String parameterType, final String parameterName);
+
+	/**
+	 * Progress of the copy of the data files, nothing to do by default.
+	 */
+	public default void copiedDataFiles(final int copiedFiles, final int skippedFiles, final long copiedBytes, final long durationInMillis) {
+		// nothing to do
+	}
 		
 }
@@ -0,0 +1,94 @@
+package com.neotys.neoload.model.listener;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Serializes the calls to a delegate listener so that it can be notified by several script readers at the same time.
+ */
+public class SynchronizedEventListener implements EventListener {
+
+	private final EventListener delegate;
+
+	private SynchronizedEventListener(final EventListener delegate) {
+		this.delegate = Preconditions.checkNotNull(delegate);
+	}
+
+	public static EventListener of(final EventListener eventListener) {
+		if (eventListener instanceof SynchronizedEventListener) {
+			return eventListener;
+		}
+		return new SynchronizedEventListener(eventListener);
+	}
+
+	@Override
+	public synchronized void startReadingScripts(final int totalScriptNumber) {
+		delegate.startReadingScripts(totalScriptNumber);
+	}
+
+	@Override
+	public synchronized void endReadingScripts() {
+		delegate.endReadingScripts();
+	}
+
+	@Override
+	public synchronized void startScript(final String scriptPath) {
+		delegate.startScript(scriptPath);
+	}
+
+	@Override
+	public synchronized void endScript() {
+		delegate.endScript();
+	}
+
+	@Override
+	public synchronized void endScript(final String scriptPath) {
+		delegate.endScript(scriptPath);
+	}
+
+	@Override
+	public synchronized void readSupportedAction(final String actionName) {
+		delegate.readSupportedAction(actionName);
+	}
+
+	@Override
+	public synchronized void readUnsupportedAction(final String actionName) {
+		delegate.readUnsupportedAction(actionName);
+	}
+
+	@Override
+	public synchronized void readSupportedFunction(final String scriptName, final String functionName, final Integer lineNumber) {
+		delegate.readSupportedFunction(scriptName, functionName, lineNumber);
+	}
+
+	@Override
+	public synchronized void readSupportedFunctionWithWarn(final String scriptName, final String functionName, final Integer lineNumber,
+			final String warning) {
+		delegate.readSupportedFunctionWithWarn(scriptName, functionName, lineNumber, warning);
+	}
+
+	@Override
+	public synchronized void readUnsupportedFunction(final String scriptName, final String functionName, final Integer lineNumber) {
+		delegate.readUnsupportedFunction(scriptName, functionName, lineNumber);
+	}
+
+	@Override
+	public synchronized void readSupportedParameter(final String scriptName, final String parameterType, final String parameterName) {
+		delegate.readSupportedParameter(scriptName, parameterType, parameterName);
+	}
+
+	@Override
+	public synchronized void readSupportedParameterWithWarn(final String scriptName, final String parameterType, final String parameterName,
+			final String warning) {
+		delegate.readSupportedParameterWithWarn(scriptName, parameterType, parameterName, warning);
+	}
+
+	@Override
+	public synchronized void readUnsupportedParameter(final String scriptName, final String parameterType, final String parameterName) {
+		delegate.readUnsupportedParameter(scriptName, parameterType, parameterName);
+	}
+
+	@Override
+	public synchronized void copiedDataFiles(final int copiedFiles, final int skippedFiles, final long copiedBytes, final long durationInMillis) {
+		delegate.copiedDataFiles(copiedFiles, skippedFiles, copiedBytes, durationInMillis);
+	}
+}
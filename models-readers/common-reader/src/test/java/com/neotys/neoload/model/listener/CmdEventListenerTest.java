@@ -0,0 +1,96 @@
+package com.neotys.neoload.model.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+public class CmdEventListenerTest {
+
+	private final Logger liveLogger = (Logger) LoggerFactory.getLogger("LIVE");
+	private final ListAppender<ILoggingEvent> liveOut = new ListAppender<>();
+
+	@Before
+	public void addAppender() {
+		liveOut.start();
+		liveLogger.addAppender(liveOut);
+	}
+
+	@After
+	public void removeAppender() {
+		liveLogger.detachAppender(liveOut);
+	}
+
+	private static void readScript(final EventListener listener, final CyclicBarrier barrier, final String scriptName,
+			final int supportedFunctions, final int unsupportedFunctions) throws Exception {
+		listener.startScript(scriptName);
+		// both scripts are started before their functions are read
+		barrier.await();
+		for (int i = 0; i < supportedFunctions; i++) {
+			listener.readSupportedFunction(scriptName, "web_url", i);
+		}
+		for (int i = 0; i < unsupportedFunctions; i++) {
+			listener.readUnsupportedFunction(scriptName, "lr_unknown", i);
+		}
+		// and ended once the functions of both are read
+		barrier.await();
+		listener.endScript(scriptName);
+	}
+
+	@Test
+	public void scriptsReadInParallelTest() throws Exception {
+		final CmdEventListener cmdListener = new CmdEventListener("source", "destination", "project");
+		final EventListener listener = SynchronizedEventListener.of(cmdListener);
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<?> script1 = executor.submit(() -> {
+				readScript(listener, barrier, "script1", 3, 0);
+				return null;
+			});
+			final Future<?> script2 = executor.submit(() -> {
+				readScript(listener, barrier, "script2", 1, 2);
+				return null;
+			});
+			script1.get();
+			script2.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		final List<String> summaries = liveOut.list.stream()
+				.map(ILoggingEvent::getFormattedMessage)
+				.filter(message -> message.startsWith("Script "))
+				.sorted()
+				.collect(Collectors.toList());
+		assertEquals(2, summaries.size());
+		assertTrue(summaries.get(0), summaries.get(0).matches("Script script1 done in \\d+ ms\\. "
+				+ "Functions supported: 3 \\(without warning\\) \\+ 0 \\(with warning\\)\\. Unsupported: 0"));
+		assertTrue(summaries.get(1), summaries.get(1).matches("Script script2 done in \\d+ ms\\. "
+				+ "Functions supported: 1 \\(without warning\\) \\+ 0 \\(with warning\\)\\. Unsupported: 2"));
+	}
+
+	@Test
+	public void endScriptWithoutPathTest() {
+		final CmdEventListener listener = new CmdEventListener("source", "destination", "project");
+		listener.startScript("script");
+		listener.readSupportedFunction("script", "web_url", 1);
+		listener.endScript();
+		assertTrue(liveOut.list.stream().map(ILoggingEvent::getFormattedMessage)
+				.anyMatch(message -> message.startsWith("Script script done in ")));
+	}
+}
@@ -0,0 +1,182 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Decoding of the action files mapped in memory, in the encoding detected from:
+ * <ol>
+ * <li>the byte order mark of the file, UTF-8 or UTF-16,</li>
+ * <li>the encoding of the script declared in the ".usr" file,</li>
+ * <li>UTF-8 when the file is valid UTF-8, as the files saved by the recent versions of VuGen,</li>
+ * <li>the legacy code page of the script locale, as the files saved by the old versions of VuGen,</li>
+ * <li>UTF-8 otherwise.</li>
+ * </ol>
+ * The mapped bytes are decoded directly in the buffers of the caller of the reader.
+ */
+final class ActionFileDecoder {
+
+	private static final byte[] UTF_8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+	private static final byte[] UTF_16BE_BOM = {(byte) 0xFE, (byte) 0xFF};
+	private static final byte[] UTF_16LE_BOM = {(byte) 0xFF, (byte) 0xFE};
+
+	private ActionFileDecoder() {
+	}
+
+	/**
+	 * @param file the action file
+	 * @param encoding the encoding declared for the script, if any
+	 * @param legacyEncoding the code page of the script locale, if any
+	 * @return a reader of the decoded file, the malformed input being replaced as {@link java.io.InputStreamReader} does.
+	 */
+	static Reader open(final Path file, final Optional<Charset> encoding, final Optional<Charset> legacyEncoding) throws IOException {
+		final ByteBuffer bytes;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// the mapping stays valid once the channel is closed
+			bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		final Charset charset = detectCharset(bytes, encoding, legacyEncoding);
+		return new ByteBufferReader(bytes, charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE));
+	}
+
+	/**
+	 * @return the charset of the bytes, whose position is moved after the byte order mark if any.
+	 */
+	static Charset detectCharset(final ByteBuffer bytes, final Optional<Charset> encoding, final Optional<Charset> legacyEncoding) {
+		if (skipIfStartsWith(bytes, UTF_8_BOM)) {
+			return StandardCharsets.UTF_8;
+		}
+		if (skipIfStartsWith(bytes, UTF_16BE_BOM)) {
+			return StandardCharsets.UTF_16BE;
+		}
+		if (skipIfStartsWith(bytes, UTF_16LE_BOM)) {
+			return StandardCharsets.UTF_16LE;
+		}
+		if (encoding.isPresent()) {
+			return encoding.get();
+		}
+		if (legacyEncoding.isPresent() && !isValidUtf8(bytes)) {
+			return legacyEncoding.get();
+		}
+		return StandardCharsets.UTF_8;
+	}
+
+	private static boolean skipIfStartsWith(final ByteBuffer bytes, final byte[] prefix) {
+		if (bytes.remaining() < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (bytes.get(bytes.position() + i) != prefix[i]) {
+				return false;
+			}
+		}
+		bytes.position(bytes.position() + prefix.length);
+		return true;
+	}
+
+	/**
+	 * Check the structure of the UTF-8 sequences without decoding them, the bytes of the legacy code pages
+	 * above 0x7F hardly form valid sequences.
+	 */
+	static boolean isValidUtf8(final ByteBuffer bytes) {
+		final int limit = bytes.limit();
+		int i = bytes.position();
+		while (i < limit) {
+			final int b = bytes.get(i++) & 0xFF;
+			if (b < 0x80) {
+				continue;
+			}
+			final int continuations;
+			if (b >= 0xC2 && b <= 0xDF) {
+				continuations = 1;
+			} else if (b >= 0xE0 && b <= 0xEF) {
+				continuations = 2;
+			} else if (b >= 0xF0 && b <= 0xF4) {
+				continuations = 3;
+			} else {
+				return false;
+			}
+			if (i + continuations > limit) {
+				return false;
+			}
+			for (int j = 0; j < continuations; j++) {
+				if ((bytes.get(i++) & 0xC0) != 0x80) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reader decoding a buffer, its whole content being available the decoder is never waiting for more input.
+	 */
+	private static final class ByteBufferReader extends Reader {
+
+		private final ByteBuffer bytes;
+		private final CharsetDecoder decoder;
+		private boolean flushed = false;
+		// low surrogate decoded when a single char was requested
+		private final CharBuffer surrogatePair = CharBuffer.allocate(2);
+
+		private ByteBufferReader(final ByteBuffer bytes, final CharsetDecoder decoder) {
+			this.bytes = bytes;
+			this.decoder = decoder;
+			surrogatePair.flip();
+		}
+
+		@Override
+		public int read(final char[] cbuf, final int off, final int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (surrogatePair.hasRemaining()) {
+				cbuf[off] = surrogatePair.get();
+				return 1;
+			}
+			final CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+			decode(out);
+			if (out.position() == off && !flushed) {
+				// a surrogate pair does not fit in a single char
+				surrogatePair.clear();
+				decode(surrogatePair);
+				surrogatePair.flip();
+				if (surrogatePair.hasRemaining()) {
+					cbuf[off] = surrogatePair.get();
+					return 1;
+				}
+			}
+			final int count = out.position() - off;
+			return count == 0 ? -1 : count;
+		}
+
+		private void decode(final CharBuffer out) {
+			if (flushed) {
+				return;
+			}
+			CoderResult result = decoder.decode(bytes, out, true);
+			if (result.isUnderflow()) {
+				result = decoder.flush(out);
+				flushed = result.isUnderflow();
+			}
+		}
+
+		@Override
+		public void close() {
+			// the mapping is released with the buffer
+		}
+	}
+}
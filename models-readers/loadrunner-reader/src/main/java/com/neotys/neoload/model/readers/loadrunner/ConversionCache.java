@@ -0,0 +1,144 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.immutables.value.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.neotys.neoload.model.ProjectSerializer;
+import com.neotys.neoload.model.repository.Container;
+
+/**
+ * Containers read from the init, action and end files by a previous conversion, stored in a JSON file, usually next
+ * to the converted project.
+ * A container is reused as long as the content hash of its file, of the ".usr" and ".prm" files of its script and the
+ * version of the converter are unchanged. Only the containers used by the last conversion are saved, the deleted
+ * files are forgotten.
+ * Thread safe, the scripts being read in parallel.
+ */
+public final class ConversionCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConversionCache.class);
+
+	// to change when the cached containers of a same converter version may not be read back
+	private static final int FORMAT_VERSION = 1;
+	private static final String CONVERTER_VERSION = Optional.ofNullable(ConversionCache.class.getPackage().getImplementationVersion()).orElse("");
+	private static final HashFunction HASH_FUNCTION = Hashing.sha256();
+	private static final TypeReference<Map<String, CachedContainer>> CONTENT_TYPE = new TypeReference<Map<String, CachedContainer>>() {};
+
+	private final Path file;
+	private final ObjectMapper mapper;
+	private final Map<String, CachedContainer> previousContainers;
+	private final Map<String, CachedContainer> containers = new ConcurrentHashMap<>();
+
+	private ConversionCache(final Path file, final ObjectMapper mapper, final Map<String, CachedContainer> previousContainers) {
+		this.file = file;
+		this.mapper = mapper;
+		this.previousContainers = previousContainers;
+	}
+
+	/**
+	 * @param file the cache file, created by {@link #save()} when it does not exist
+	 * @return the cache of the previous conversion, empty if the file does not exist or cannot be read.
+	 */
+	public static ConversionCache load(final Path file) {
+		final ObjectMapper mapper = ProjectSerializer.newObjectMapper(new JsonFactory());
+		Map<String, CachedContainer> previousContainers = new ConcurrentHashMap<>();
+		if (Files.isRegularFile(file)) {
+			try {
+				previousContainers = new ConcurrentHashMap<>(mapper.<Map<String, CachedContainer>>readValue(file.toFile(), CONTENT_TYPE));
+			} catch (final IOException e) {
+				logger.warn("Cannot read the conversion cache " + file + ", all the files will be read", e);
+			}
+		}
+		return new ConversionCache(file, mapper, previousContainers);
+	}
+
+	/**
+	 * @return the hash of the ".usr" and ".prm" files of the script, on which depends the reading of its other files.
+	 */
+	static HashCode hashScript(final File projectFolder) throws IOException {
+		final File[] files = projectFolder.listFiles((folder, name) -> name.endsWith(".usr") || name.endsWith(".prm"));
+		final Hasher hasher = HASH_FUNCTION.newHasher().putInt(FORMAT_VERSION).putUnencodedChars(CONVERTER_VERSION);
+		if (files != null) {
+			Arrays.sort(files);
+			for (final File scriptFile : files) {
+				hasher.putUnencodedChars(scriptFile.getName()).putBytes(MoreFiles.asByteSource(scriptFile.toPath()).hash(HASH_FUNCTION).asBytes());
+			}
+		}
+		return hasher.hash();
+	}
+
+	/**
+	 * @return the hash of a file read as the container of the given name in a script.
+	 */
+	static HashCode hashFile(final HashCode scriptHash, final Path file, final String containerName) throws IOException {
+		return HASH_FUNCTION.newHasher()
+				.putBytes(scriptHash.asBytes())
+				.putUnencodedChars(containerName)
+				.putBytes(MoreFiles.asByteSource(file).hash(HASH_FUNCTION).asBytes())
+				.hash();
+	}
+
+	/**
+	 * @return the container read from the file by the previous conversion, if the file hash did not change.
+	 */
+	Optional<Container> get(final Path file, final HashCode hash) {
+		final String key = keyOf(file);
+		final CachedContainer cachedContainer = previousContainers.get(key);
+		if (cachedContainer == null || !cachedContainer.getHash().equals(hash.toString())) {
+			return Optional.empty();
+		}
+		containers.put(key, cachedContainer);
+		return Optional.of(cachedContainer.getContainer());
+	}
+
+	void put(final Path file, final HashCode hash, final Container container) {
+		containers.put(keyOf(file), ImmutableCachedContainer.builder().hash(hash.toString()).container(container).build());
+	}
+
+	private static String keyOf(final Path file) {
+		return file.toAbsolutePath().normalize().toString();
+	}
+
+	/**
+	 * Write the containers used by the conversion, replacing the previous ones.
+	 */
+	public void save() throws IOException {
+		final Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		mapper.writeValue(file.toFile(), containers);
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	@Value.Immutable
+	@JsonSerialize(as = ImmutableCachedContainer.class)
+	@JsonDeserialize(as = ImmutableCachedContainer.class)
+	interface CachedContainer {
+		String getHash();
+		Container getContainer();
+	}
+}
@@ -0,0 +1,351 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import com.google.common.collect.ImmutableSet;
+import com.neotys.neoload.model.parsers.CPP14Parser;
+
+/**
+ * Fast path of the action files reading, without the C++ parser, for the most common action files: a single function
+ * "name() { ... }" whose body is a flat sequence of function calls taking string, identifier or integer literals, as
+ * "web_url(...);" or "lr_start_transaction(...);", and of "return" statements.
+ * The calls are extracted as the {@link LoadRunnerVUVisitor} extracts them from the parse tree, with the same
+ * parameters and line numbers. Anything else (control flow, declarations, expressions, macros, char literals,
+ * keywords...) makes the scanner give up, the file has then to be parsed.
+ */
+final class FlatActionScanner {
+
+	// the C++ keywords of the grammar, they are not identifiers
+	private static final Set<String> KEYWORDS = ImmutableSet.of("alignas", "alignof", "asm", "auto", "bool", "break", "case",
+			"catch", "char", "char16_t", "char32_t", "class", "const", "constexpr", "const_cast", "continue", "decltype",
+			"default", "delete", "do", "double", "dynamic_cast", "else", "enum", "explicit", "export", "extern", "false",
+			"final", "float", "for", "friend", "goto", "if", "inline", "int", "long", "mutable", "namespace", "new",
+			"noexcept", "nullptr", "operator", "override", "private", "protected", "public", "register",
+			"reinterpret_cast", "return", "short", "signed", "sizeof", "static", "static_assert", "static_cast", "struct",
+			"switch", "template", "this", "thread_local", "throw", "true", "try", "typedef", "typeid", "typename", "union",
+			"unsigned", "using", "virtual", "void", "volatile", "wchar_t", "while");
+	private static final String RETURN = "return";
+
+	private final CharStream input;
+	private int line = 1;
+
+	private FlatActionScanner(final CharStream input) {
+		this.input = input;
+	}
+
+	/**
+	 * @param input the action file, consumed by the scanner
+	 * @return the calls of the action file, or empty when the action file is not a flat sequence of calls.
+	 */
+	static Optional<List<Call>> scan(final CharStream input) {
+		return Optional.ofNullable(new FlatActionScanner(input).scanFunction());
+	}
+
+	private List<Call> scanFunction() {
+		// header: name() {
+		final String functionName = scanIdentifier();
+		if (functionName == null || KEYWORDS.contains(functionName)
+				|| !skipBlanksAndExpect('(') || !skipBlanksAndExpect(')') || !skipBlanksAndExpect('{')) {
+			return null;
+		}
+		final List<Call> calls = new ArrayList<>();
+		while (true) {
+			if (!skipBlanks()) {
+				return null;
+			}
+			final int next = input.LA(1);
+			if (next == '}') {
+				input.consume();
+				break;
+			}
+			if (next == ';') {
+				input.consume();
+				continue;
+			}
+			final int statementLine = line;
+			final String identifier = scanIdentifier();
+			if (identifier == null) {
+				return null;
+			}
+			if (RETURN.equals(identifier)) {
+				if (!scanReturnStatement()) {
+					return null;
+				}
+				continue;
+			}
+			if (KEYWORDS.contains(identifier)) {
+				return null;
+			}
+			final List<String> parameters = scanParameters();
+			if (parameters == null || !skipBlanksAndExpect(';')) {
+				return null;
+			}
+			calls.add(new Call(ImmutableMethodCall.builder().name(identifier).addAllParameters(parameters).build(), statementLine));
+		}
+		// what follows the function is not read by the parser, but must not hide an error
+		if (!skipBlanks() || input.LA(1) != IntStream.EOF) {
+			return null;
+		}
+		return calls;
+	}
+
+	private boolean scanReturnStatement() {
+		if (!skipBlanks()) {
+			return false;
+		}
+		if (isDigit(input.LA(1)) && scanInteger() == null) {
+			return false;
+		}
+		return skipBlanksAndExpect(';');
+	}
+
+	/**
+	 * @return the parameters between parenthesis, or null if one of them is not a literal or an identifier.
+	 */
+	private List<String> scanParameters() {
+		if (!skipBlanksAndExpect('(') || !skipBlanks()) {
+			return null;
+		}
+		final List<String> parameters = new ArrayList<>();
+		if (input.LA(1) == ')') {
+			input.consume();
+			return parameters;
+		}
+		while (true) {
+			final String parameter = scanParameter();
+			if (parameter == null || !skipBlanks()) {
+				return null;
+			}
+			parameters.add(parameter);
+			final int next = input.LA(1);
+			if (next == ')') {
+				input.consume();
+				return parameters;
+			}
+			if (next != ',') {
+				return null;
+			}
+			input.consume();
+			if (!skipBlanks()) {
+				return null;
+			}
+		}
+	}
+
+	private String scanParameter() {
+		final int next = input.LA(1);
+		if (next == '"') {
+			return scanStringLiteral();
+		}
+		if (isDigit(next)) {
+			return scanInteger();
+		}
+		final String identifier = scanIdentifier();
+		return identifier == null || KEYWORDS.contains(identifier) ? null : identifier;
+	}
+
+	private String scanIdentifier() {
+		final int start = input.index();
+		if (!isIdentifierStart(input.LA(1))) {
+			return null;
+		}
+		while (isIdentifierPart(input.LA(1))) {
+			input.consume();
+		}
+		// prefixed literals and universal character names
+		final int next = input.LA(1);
+		if (next == '"' || next == '\'' || next == '\\') {
+			return null;
+		}
+		return textFrom(start);
+	}
+
+	private String scanInteger() {
+		final int start = input.index();
+		final boolean isZero = input.LA(1) == '0';
+		input.consume();
+		while (!isZero && isDigit(input.LA(1))) {
+			input.consume();
+		}
+		// octal, hexadecimal, floating or suffixed literals
+		final int next = input.LA(1);
+		if (isIdentifierPart(next) || next == '.' || next == '\'' || next == '"' || next == '\\') {
+			return null;
+		}
+		return textFrom(start);
+	}
+
+	private String scanStringLiteral() {
+		final int start = input.index();
+		input.consume();
+		while (true) {
+			final int c = input.LA(1);
+			if (c == IntStream.EOF || c == '\r' || c == '\n') {
+				return null;
+			}
+			input.consume();
+			if (c == '"') {
+				break;
+			}
+			if (c == '\\' && !scanEscapeSequence()) {
+				return null;
+			}
+		}
+		// user defined literals
+		if (isIdentifierStart(input.LA(1))) {
+			return null;
+		}
+		return textFrom(start);
+	}
+
+	/**
+	 * Check the escape sequence following a backslash, only its first characters are consumed: the next ones are
+	 * valid string characters anyway.
+	 */
+	private boolean scanEscapeSequence() {
+		final int c = input.LA(1);
+		switch (c) {
+			case '\'':
+			case '"':
+			case '?':
+			case '\\':
+			case 'a':
+			case 'b':
+			case 'f':
+			case 'n':
+			case 'r':
+			case 't':
+			case 'v':
+				input.consume();
+				return true;
+			case 'x':
+				input.consume();
+				return isHexDigit(input.LA(1));
+			case 'u':
+				input.consume();
+				return areHexDigits(4);
+			case 'U':
+				input.consume();
+				return areHexDigits(8);
+			default:
+				if (c >= '0' && c <= '7') {
+					input.consume();
+					return true;
+				}
+				return false;
+		}
+	}
+
+	private boolean areHexDigits(final int count) {
+		for (int i = 1; i <= count; i++) {
+			if (!isHexDigit(input.LA(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Skip the white spaces, new lines and comments skipped by the lexer.
+	 * @return false on a preprocessor directive or an unterminated comment.
+	 */
+	private boolean skipBlanks() {
+		while (true) {
+			final int c = input.LA(1);
+			if (c == ' ' || c == '\t' || c == '\r') {
+				input.consume();
+			} else if (c == '\n') {
+				input.consume();
+				line++;
+			} else if (c == '/' && input.LA(2) == '/') {
+				while (input.LA(1) != '\r' && input.LA(1) != '\n' && input.LA(1) != IntStream.EOF) {
+					input.consume();
+				}
+			} else if (c == '/' && input.LA(2) == '*') {
+				input.consume();
+				input.consume();
+				while (!(input.LA(1) == '*' && input.LA(2) == '/')) {
+					if (input.LA(1) == IntStream.EOF) {
+						return false;
+					}
+					if (input.LA(1) == '\n') {
+						line++;
+					}
+					input.consume();
+				}
+				input.consume();
+				input.consume();
+			} else {
+				return c != '#';
+			}
+		}
+	}
+
+	private boolean skipBlanksAndExpect(final char expected) {
+		if (!skipBlanks() || input.LA(1) != expected) {
+			return false;
+		}
+		input.consume();
+		return true;
+	}
+
+	private String textFrom(final int start) {
+		return input.getText(Interval.of(start, input.index() - 1));
+	}
+
+	private static boolean isIdentifierStart(final int c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+	}
+
+	private static boolean isIdentifierPart(final int c) {
+		return isIdentifierStart(c) || isDigit(c);
+	}
+
+	private static boolean isDigit(final int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isHexDigit(final int c) {
+		return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
+	/**
+	 * A function call of the action file.
+	 */
+	static final class Call {
+		private final MethodCall method;
+		private final int line;
+
+		private Call(final MethodCall method, final int line) {
+			this.method = method;
+			this.line = line;
+		}
+
+		MethodCall getMethod() {
+			return method;
+		}
+
+		int getLine() {
+			return line;
+		}
+
+		/**
+		 * @return a parse tree node of the call, giving its line to the {@link LoadRunnerVUVisitor} events.
+		 */
+		CPP14Parser.MethodcallContext toContext() {
+			final CPP14Parser.MethodcallContext context = new CPP14Parser.MethodcallContext(null, 0);
+			final CommonToken start = new CommonToken(CPP14Parser.Identifier, method.getName());
+			start.setLine(line);
+			context.start = start;
+			return context;
+		}
+	}
+}
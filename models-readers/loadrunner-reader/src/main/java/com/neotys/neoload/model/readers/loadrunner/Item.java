@@ -3,13 +3,21 @@ package com.neotys.neoload.model.readers.loadrunner;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 public class Item {
 
-    private List<String> attributes;
+    private final List<String> attributes;
+    // applied to an attribute when it is looked for, the attributes of an item of ItemLists being the parameters as read
+    private final UnaryOperator<String> normalizer;
 
     public Item() {
-        attributes = new ArrayList<>();
+        this(new ArrayList<>(), UnaryOperator.identity());
+    }
+
+    Item(final List<String> attributes, final UnaryOperator<String> normalizer) {
+        this.attributes = attributes;
+        this.normalizer = normalizer;
     }
 
     public static Item of(List<String> attributes) {
@@ -22,7 +30,24 @@ public class Item {
         return attributes;
     }
 
+    /**
+     * @return the value of the first attribute "name=value", name being case insensitive and the attribute being
+     * possibly quoted.
+     */
     Optional<String> getAttribute(String name) {
-        return attributes.stream().filter(s -> s.toLowerCase().startsWith(name.toLowerCase()+"=")).map(s -> s.substring((name+"=").length())).findFirst();
+        for (final String attribute : attributes) {
+            if (startsWithName(attribute, 0, name) || (attribute.startsWith("\"") && startsWithName(attribute, 1, name))) {
+                final String normalizedAttribute = normalizer.apply(attribute);
+                if (startsWithName(normalizedAttribute, 0, name)) {
+                    return Optional.of(normalizedAttribute.substring(name.length() + 1));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean startsWithName(final String attribute, final int offset, final String name) {
+        return attribute.regionMatches(true, offset, name, 0, name.length())
+                && attribute.length() > offset + name.length() && attribute.charAt(offset + name.length()) == '=';
     }
 }
@@ -0,0 +1,114 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sections ITEMDATA and EXTRARES of the parameters of a {@link MethodCall}, found in one pass over the parameters
+ * with the ENDITEM ending their items. The sections and the items are ranges of the parameters, an attribute of an
+ * item being normalized only when it is looked for.
+ */
+public final class ItemLists {
+
+	private static final String END_ITEM = "ENDITEM";
+	// longest keyword, EXTRARES or ITEMDATA, quoted
+	private static final int MAX_KEYWORD_LENGTH = 10;
+
+	private final List<String> parameters;
+	// first index of the section by ordinal of ITEM_BOUNDARY, -1 if the call has no such section
+	private final int[] sectionStarts;
+	// index of the boundary ending the section, the number of parameters if none
+	private final int[] sectionEnds;
+	private final int[] itemEnds;
+
+	private ItemLists(final List<String> parameters, final int[] sectionStarts, final int[] sectionEnds, final int[] itemEnds) {
+		this.parameters = parameters;
+		this.sectionStarts = sectionStarts;
+		this.sectionEnds = sectionEnds;
+		this.itemEnds = itemEnds;
+	}
+
+	static ItemLists of(final List<String> parameters) {
+		final int size = parameters.size();
+		final int[] sectionStarts = new int[MethodUtils.ITEM_BOUNDARY.values().length];
+		final int[] sectionEnds = new int[sectionStarts.length];
+		Arrays.fill(sectionStarts, -1);
+		Arrays.fill(sectionEnds, size);
+		int[] itemEnds = new int[8];
+		int itemCount = 0;
+		for (int i = 0; i < size; i++) {
+			final String parameter = parameters.get(i);
+			if (parameter.length() > MAX_KEYWORD_LENGTH && parameter.indexOf('\\') < 0) {
+				continue;
+			}
+			final String keyword = MethodUtils.unescape(MethodUtils.unquote(parameter));
+			if (END_ITEM.equals(keyword)) {
+				if (itemCount == itemEnds.length) {
+					itemEnds = Arrays.copyOf(itemEnds, itemCount * 2);
+				}
+				itemEnds[itemCount++] = i;
+				continue;
+			}
+			final MethodUtils.ITEM_BOUNDARY boundary = toBoundary(keyword);
+			if (boundary == null) {
+				continue;
+			}
+			for (int section = 0; section < sectionStarts.length; section++) {
+				if (sectionStarts[section] >= 0 && sectionEnds[section] == size) {
+					sectionEnds[section] = i;
+				}
+			}
+			// a section starts at the first parameter being exactly its name
+			if (sectionStarts[boundary.ordinal()] < 0 && boundary.name().equals(parameter)) {
+				sectionStarts[boundary.ordinal()] = i + 1;
+			}
+		}
+		return new ItemLists(parameters, sectionStarts, sectionEnds, Arrays.copyOf(itemEnds, itemCount));
+	}
+
+	private static MethodUtils.ITEM_BOUNDARY toBoundary(final String keyword) {
+		for (final MethodUtils.ITEM_BOUNDARY boundary : MethodUtils.ITEM_BOUNDARY.values()) {
+			if (boundary.name().equals(keyword)) {
+				return boundary;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the parameters of the section, ENDITEM included, empty if the call has no such section.
+	 */
+	Optional<List<String>> getSection(final MethodUtils.ITEM_BOUNDARY section) {
+		final int start = sectionStarts[section.ordinal()];
+		if (start < 0) {
+			return Optional.empty();
+		}
+		return Optional.of(parameters.subList(start, sectionEnds[section.ordinal()]));
+	}
+
+	/**
+	 * @return the items of the section ended by an ENDITEM, empty if the call has no such section.
+	 */
+	Optional<List<Item>> getItems(final String leftBrace, final String rightBrace, final MethodUtils.ITEM_BOUNDARY section) {
+		final int start = sectionStarts[section.ordinal()];
+		if (start < 0) {
+			return Optional.empty();
+		}
+		final int end = sectionEnds[section.ordinal()];
+		final List<Item> items = new ArrayList<>();
+		int itemStart = start;
+		for (final int itemEnd : itemEnds) {
+			if (itemEnd >= end) {
+				break;
+			}
+			if (itemEnd >= start) {
+				items.add(new Item(parameters.subList(itemStart, itemEnd),
+						attribute -> MethodUtils.unescape(MethodUtils.unquote(MethodUtils.normalizeString(leftBrace, rightBrace, attribute)))));
+				itemStart = itemEnd + 1;
+			}
+		}
+		return Optional.of(items);
+	}
+}
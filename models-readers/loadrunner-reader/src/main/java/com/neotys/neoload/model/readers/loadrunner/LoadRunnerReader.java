@@ -1,71 +1,130 @@
 package com.neotys.neoload.model.readers.loadrunner;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
+import java.io.InputStreamReader;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CodePointBuffer;
+import org.antlr.v4.runtime.CodePointCharStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ConsoleErrorListener;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.IntStream;
 import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
+import com.google.common.hash.HashCode;
+import com.google.common.primitives.Ints;
 import com.neotys.neoload.model.ImmutableProject;
 import com.neotys.neoload.model.Project;
+import com.neotys.neoload.model.core.Element;
 import com.neotys.neoload.model.listener.EventListener;
+import com.neotys.neoload.model.listener.SynchronizedEventListener;
 import com.neotys.neoload.model.parsers.CPP14Lexer;
 import com.neotys.neoload.model.parsers.CPP14Parser;
 import com.neotys.neoload.model.readers.Reader;
 import com.neotys.neoload.model.readers.loadrunner.filereader.ParameterFileReader;
 import com.neotys.neoload.model.readers.loadrunner.filereader.ProjectFileReader;
 import com.neotys.neoload.model.repository.Container;
+import com.neotys.neoload.model.repository.IContainer;
 import com.neotys.neoload.model.repository.ImmutableContainer;
 import com.neotys.neoload.model.repository.ImmutableUserPath;
+import com.neotys.neoload.model.repository.Page;
+import com.neotys.neoload.model.repository.Request;
 import com.neotys.neoload.model.repository.Server;
+import com.neotys.neoload.model.repository.UserPath;
+import com.neotys.neoload.model.repository.Variable;
 
 public class LoadRunnerReader extends Reader {
 
 	private static final Logger logger = LoggerFactory.getLogger(LoadRunnerReader.class);
 
-	private static final String PATTERN = "\"\\s*\\n\\s*\"";
 	private static final String LOAD_PATTERN = "Load \"%s\"";
 	private static final Container DEFAULT_INIT_CONTAINER = ImmutableContainer.builder().name("Init").build();
 	private static final Container DEFAULT_END_CONTAINER = ImmutableContainer.builder().name("End").build();
+	private static final int DECODED_CHARS_BUFFER_SIZE = 8192;
 
 	private final EventListener eventListener;
 	private final String projectName;
-	private String currentScriptName = null;
+	private final int parallelism;
+	private final Optional<ConversionCache> conversionCache;
+	// each script is read on a single thread, so the script name is kept per thread
+	private final ThreadLocal<String> currentScriptName = new ThreadLocal<>();
+	// hash of the files of the current script, set when the containers are cached
+	private final ThreadLocal<HashCode> currentScriptHash = new ThreadLocal<>();
+	// servers of the current script in their first use order, registered in the project once all the scripts are read
+	private final ThreadLocal<Map<Server, Server>> currentScriptServers = new ThreadLocal<>();
 
 	@VisibleForTesting
-	protected List<Server> currentProjectServers = new ArrayList<>();
-	private Map<String, Integer> nameIndexes = new HashMap<>();
+	protected final ServerRegistry currentProjectServers = new ServerRegistry();
+	private final ParsingStatistics parsingStatistics = new ParsingStatistics();
 
-	private List<File> dataFilesToCopy = new ArrayList<>();
+	private final List<File> dataFilesToCopy = Collections.synchronizedList(new ArrayList<>());
 
 	public LoadRunnerReader(final EventListener eventListener, final String folder, final String projectName) {
+		this(eventListener, folder, projectName, 1);
+	}
+
+	/**
+	 * @param parallelism number of scripts read at the same time. With a value greater than 1, each script folder is read
+	 * on its own worker thread and the event listener is wrapped in a {@link SynchronizedEventListener}.
+	 */
+	public LoadRunnerReader(final EventListener eventListener, final String folder, final String projectName, final int parallelism) {
+		this(eventListener, folder, projectName, parallelism, Optional.empty());
+	}
+
+	/**
+	 * Incremental conversion: the containers of the files unchanged since the previous conversion are taken from the
+	 * cache instead of being read again, the cache being saved at the end of {@link #read()}. The functions of the
+	 * cached files are not reported again to the event listener.
+	 * @param conversionCache the cache of the previous conversion
+	 */
+	public LoadRunnerReader(final EventListener eventListener, final String folder, final String projectName, final int parallelism,
+			final ConversionCache conversionCache) {
+		this(eventListener, folder, projectName, parallelism, Optional.of(conversionCache));
+	}
+
+	private LoadRunnerReader(final EventListener eventListener, final String folder, final String projectName, final int parallelism,
+			final Optional<ConversionCache> conversionCache) {
 		super(folder);
-		this.eventListener = eventListener;
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be greater than 0");
+		}
+		this.eventListener = parallelism > 1 ? SynchronizedEventListener.of(eventListener) : eventListener;
 		this.projectName = projectName;
+		this.parallelism = parallelism;
+		this.conversionCache = conversionCache;
 	}
 
 	/**
@@ -109,25 +168,89 @@ public class LoadRunnerReader extends Reader {
 				throw new IllegalStateException("No Load Runner project found.");
 			}
 
-			for (final File projectFolder : projectFolders) {
-				readScript(projectBuilder, projectFolder);
-			}
-			projectBuilder.servers(currentProjectServers);
+			final List<Optional<ScriptContent>> scriptContents = parallelism > 1 && projectFolders.size() > 1
+					? readScriptsInParallel(projectFolders) : readScripts(projectFolders);
+			// merge in the folders order so that the project, and the names of its servers, do not depend on the threads scheduling
+			scriptContents.forEach(scriptContent -> scriptContent.ifPresent(content ->
+					projectBuilder.addAllVariables(content.variables).addUserPaths(withRegisteredServers(content))));
+			projectBuilder.servers(currentProjectServers.getServers());
+			logger.info("Parsing: " + parsingStatistics);
+			conversionCache.ifPresent(LoadRunnerReader::saveConversionCache);
 			return projectBuilder.build();
 		} finally {
 			eventListener.endReadingScripts();
 		}
 	}
 
-	private void readScript(final ImmutableProject.Builder projectBuilder, final File projectFolder) {
+	/**
+	 * Register the servers of a script in the project.
+	 * @return the user path of the script, its requests using the registered servers
+	 */
+	private UserPath withRegisteredServers(final ScriptContent content) {
+		final Map<Server, Server> renamedServers = new HashMap<>();
+		for (final Server server : content.servers) {
+			final Server registeredServer = currentProjectServers.getOrAdd(server);
+			if (!registeredServer.getName().equals(server.getName())) {
+				renamedServers.put(server, registeredServer);
+			}
+		}
+		return renamedServers.isEmpty() ? content.userPath : ServerRenamer.rename(content.userPath, renamedServers);
+	}
+
+	private static void saveConversionCache(final ConversionCache cache) {
 		try {
-			currentScriptName = projectFolder.getName();
-			eventListener.startScript(currentScriptName);
+			cache.save();
+		} catch (final IOException e) {
+			logger.warn("Cannot save the conversion cache " + cache.getFile(), e);
+		}
+	}
+
+	private List<Optional<ScriptContent>> readScripts(final List<File> projectFolders) {
+		final List<Optional<ScriptContent>> scriptContents = new ArrayList<>();
+		for (final File projectFolder : projectFolders) {
+			scriptContents.add(readScript(projectFolder));
+		}
+		return scriptContents;
+	}
+
+	private List<Optional<ScriptContent>> readScriptsInParallel(final List<File> projectFolders) {
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, projectFolders.size()));
+		try {
+			final List<Future<Optional<ScriptContent>>> futures = new ArrayList<>();
+			for (final File projectFolder : projectFolders) {
+				futures.add(executor.submit(() -> readScript(projectFolder)));
+			}
+			final List<Optional<ScriptContent>> scriptContents = new ArrayList<>();
+			for (final Future<Optional<ScriptContent>> future : futures) {
+				scriptContents.add(future.get());
+			}
+			return scriptContents;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while reading scripts", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Error while reading scripts", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Optional<ScriptContent> readScript(final File projectFolder) {
+		try {
+			currentScriptName.set(projectFolder.getName());
+			currentScriptServers.set(new LinkedHashMap<>());
+			eventListener.startScript(projectFolder.getName());
+			if (conversionCache.isPresent()) {
+				hashScript(projectFolder);
+			}
 			final ProjectFileReader projectFileReader = new ProjectFileReader(this, eventListener, projectFolder);
 			final Map<String, String> actionsMap = projectFileReader.getActions();
 			if (actionsMap.isEmpty()) {
 				logger.error("No action in the map. Ignore the script.");
-				return;
+				return Optional.empty();
 			}
 			final ParameterFileReader parameterFileReader = new ParameterFileReader(this, projectFileReader, projectFolder);
 
@@ -142,12 +265,16 @@ public class LoadRunnerReader extends Reader {
 
 			if(!hasInit && !hasAction && !hasEnd){
 				logger.error("No Init / Actions / End. Ignore the script.");
-				return;
+				return Optional.empty();
 			}
-			projectBuilder.addAllVariables(parameterFileReader.getAllVariables()).addUserPaths(
-					userPathBuilder.name(projectFileReader.getVirtualUserName()).build());
+			return Optional.of(new ScriptContent(userPathBuilder.name(projectFileReader.getVirtualUserName()).build(),
+					parameterFileReader.getAllVariables(), new ArrayList<>(currentScriptServers.get().keySet())));
 		} finally {
-			eventListener.endScript();
+			eventListener.endScript(projectFolder.getName());
+			currentScriptName.remove();
+			currentScriptHash.remove();
+			currentScriptServers.remove();
+			MethodUtils.clearVariableMapping();
 		}
 	}
 
@@ -156,9 +283,9 @@ public class LoadRunnerReader extends Reader {
 		if (vuserEndFile != null) {
 			if (vuserEndFile.endsWith(".c")) {
 				Path pathUserEnd = Paths.get(projectFolder.getAbsolutePath(), vuserEndFile);
-				try (FileInputStream targetStream = new FileInputStream(pathUserEnd.toFile())) {
-					userPathBuilder.endContainer(Optional.ofNullable(parseCppFile(projectFileReader.getLeftBrace(),
-							projectFileReader.getRightBrace(), targetStream, "End")).orElse(DEFAULT_END_CONTAINER));
+				try {
+					userPathBuilder.endContainer(Optional.ofNullable(parseCppFile(projectFileReader, pathUserEnd, "End"))
+							.orElse(DEFAULT_END_CONTAINER));
 					logger.info(String.format(LOAD_PATTERN, pathUserEnd));
 					eventListener.readSupportedAction(vuserEndFile);
 					return true;
@@ -180,9 +307,8 @@ public class LoadRunnerReader extends Reader {
 				(actionName, actionFile) -> {
 					if (actionFile.endsWith(".c")) {
 						Path pathAction = Paths.get(projectFolder.getAbsolutePath(), actionFile);
-						try (FileInputStream targetStream = new FileInputStream(pathAction.toFile())) {
-							final Container container = parseCppFile(projectFileReader.getLeftBrace(), projectFileReader.getRightBrace(),
-									targetStream, actionName);
+						try {
+							final Container container = parseCppFile(projectFileReader, pathAction, actionName);
 							actionsContainerBuilder.addChilds(container);
 							logger.info(String.format(LOAD_PATTERN, pathAction));
 							eventListener.readSupportedAction(actionFile);
@@ -206,9 +332,9 @@ public class LoadRunnerReader extends Reader {
 			if (vuserInitFile.endsWith(".c")) {
 				final Path pathUserInit = Paths.get(projectFolder.getAbsolutePath(), vuserInitFile);
 
-				try (FileInputStream targetStream = new FileInputStream(pathUserInit.toFile())) {
-					userPathBuilder.initContainer(Optional.ofNullable(parseCppFile(projectFileReader.getLeftBrace(),
-							projectFileReader.getRightBrace(), targetStream, "Init")).orElse(DEFAULT_INIT_CONTAINER));
+				try {
+					userPathBuilder.initContainer(Optional.ofNullable(parseCppFile(projectFileReader, pathUserInit, "Init"))
+							.orElse(DEFAULT_INIT_CONTAINER));
 					logger.info(String.format(LOAD_PATTERN, pathUserInit));
 					eventListener.readSupportedAction(vuserInitFile);
 					return true;
@@ -226,64 +352,190 @@ public class LoadRunnerReader extends Reader {
 	/**
 	 * Check if a identical server already exist, if exist the function return it
 	 * If not but there exist a server with the same "uid", we create a new server with a different uid.
+	 * While a script is read, its servers are only collected: they are registered in the project, and renamed if
+	 * needed, once all the scripts are read.
 	 * @param newServer to test
 	 * @return the unique server to use
 	 */
 	public Server getOrAddServerIfNotExist(Server newServer) {
-		Server foundServer = null;
-		Iterator<Server> it = currentProjectServers.iterator();
-		while (it.hasNext()) {
-			Server serv = it.next();
-			// equals without UUID
-			if (serv.getHost().equals(newServer.getHost())
-					&& serv.getPort().equals(newServer.getPort())
-					&& serv.getScheme().equals(newServer.getScheme())
-					&& serv.getName().equals(newServer.getName())) {
-				foundServer = serv;
-				break;
-			}
+		final Map<Server, Server> scriptServers = currentScriptServers.get();
+		if (scriptServers == null) {
+			return currentProjectServers.getOrAdd(newServer);
 		}
-		if (foundServer != null) {
-			return foundServer;
+		return scriptServers.computeIfAbsent(newServer, server -> server);
+	}
+
+	private void hashScript(final File projectFolder) {
+		try {
+			currentScriptHash.set(ConversionCache.hashScript(projectFolder));
+		} catch (final IOException e) {
+			logger.warn("Cannot hash the script " + projectFolder + ", its files will not be cached", e);
 		}
-		currentProjectServers.add(newServer);
+	}
 
-		return newServer;
+	private Container parseCppFile(final ProjectFileReader projectFileReader, final Path file, final String name) throws IOException {
+		final HashCode scriptHash = currentScriptHash.get();
+		if (scriptHash == null) {
+			return readCppFile(projectFileReader, file, name);
+		}
+		final HashCode fileHash = ConversionCache.hashFile(scriptHash, file, name);
+		final Optional<Container> cachedContainer = conversionCache.get().get(file, fileHash);
+		if (cachedContainer.isPresent()) {
+			registerServers(cachedContainer.get());
+			parsingStatistics.cached();
+			logger.debug(name + " taken from the conversion cache");
+			return cachedContainer.get();
+		}
+		final Container container = readCppFile(projectFileReader, file, name);
+		conversionCache.get().put(file, fileHash, container);
+		return container;
+	}
+
+	/**
+	 * Register the servers of the requests of a cached container, a server renamed in the project being renamed
+	 * again in the requests when the script is merged.
+	 */
+	private void registerServers(final Element element) {
+		if (element instanceof Request) {
+			((Request) element).getServer().ifPresent(this::getOrAddServerIfNotExist);
+		}
+		final List<? extends Element> childs;
+		if (element instanceof IContainer) {
+			childs = ((IContainer) element).getChilds();
+		} else if (element instanceof Page) {
+			childs = ((Page) element).getChilds();
+		} else {
+			return;
+		}
+		childs.forEach(this::registerServers);
+	}
+
+	private Container readCppFile(final ProjectFileReader projectFileReader, final Path file, final String name) throws IOException {
+		final CharStream input = loadAndCorrectGrammarFromLR(file, projectFileReader.getEncoding(), projectFileReader.getLegacyEncoding());
+		return parseCppFile(projectFileReader.getLeftBrace(), projectFileReader.getRightBrace(), input, name, true);
 	}
 
 	@VisibleForTesting
 	protected Container parseCppFile(final String leftBrace, final String rightBrace, final InputStream stream,
 			final String name) throws IOException {
+		return parseCppFile(leftBrace, rightBrace, stream, name, true);
+	}
 
-		CPP14Lexer lexer = new CPP14Lexer(loadAndCorrectGrammarFromLR(stream));
-		CommonTokenStream tokens = new CommonTokenStream(lexer);
-		CPP14Parser parser = new CPP14Parser(tokens);
-		ParseTree tree = parser.declaration();
-		if (tree instanceof CPP14Parser.DeclarationContext) {
-			final RecognitionException exception = ((CPP14Parser.DeclarationContext) tree).exception;
-			if (exception != null) {
-				throw exception;
+	/**
+	 * @param scanFlatActions when true, the action file is first read by the {@link FlatActionScanner}, and parsed only
+	 * if it is not a flat sequence of calls.
+	 */
+	@VisibleForTesting
+	protected Container parseCppFile(final String leftBrace, final String rightBrace, final InputStream stream,
+			final String name, final boolean scanFlatActions) throws IOException {
+		return parseCppFile(leftBrace, rightBrace, loadAndCorrectGrammarFromLR(stream), name, scanFlatActions);
+	}
+
+	private Container parseCppFile(final String leftBrace, final String rightBrace, final CharStream input,
+			final String name, final boolean scanFlatActions) {
+		final LoadRunnerVUVisitor visitor = new LoadRunnerVUVisitor(this, leftBrace, rightBrace, name);
+		final Optional<List<FlatActionScanner.Call>> calls = scanFlatActions ? FlatActionScanner.scan(input) : Optional.empty();
+		if (calls.isPresent()) {
+			parsingStatistics.scanned();
+			logger.debug(name + " read without parsing");
+			for (final FlatActionScanner.Call call : calls.get()) {
+				visitor.addMethodCall(call.getMethod(), call.toContext());
+			}
+		} else {
+			input.seek(0);
+			CPP14Lexer lexer = new CPP14Lexer(input);
+			CommonTokenStream tokens = new CommonTokenStream(lexer);
+			ParseTree tree = parseDeclaration(tokens, name);
+			if (tree instanceof CPP14Parser.DeclarationContext) {
+				final RecognitionException exception = ((CPP14Parser.DeclarationContext) tree).exception;
+				if (exception != null) {
+					throw exception;
+				}
 			}
+			visitor.visit(tree);
 		}
-		LoadRunnerVUVisitor visitor = new LoadRunnerVUVisitor(this, leftBrace, rightBrace, name);
-		Container container = (Container) visitor.visit(tree);
-		// end unended container
-		while(visitor.getCurrentContainers().size()>1){
-			container = visitor.getCurrentContainers().remove(visitor.getCurrentContainers().size() - 1).build();
-			final Container parent = visitor.getCurrentContainers().get(visitor.getCurrentContainers().size() - 1).build();
-			container = (Container) LoadRunnerVUVisitor.setUniqueNameInContainer(container, parent);
-			container = visitor.getCurrentContainers().get(visitor.getCurrentContainers().size() - 1).addChilds(container).build();			
+		return visitor.buildMainContainer();
+	}
+
+	/**
+	 * Two stage parsing: the SLL prediction, much faster on the grammar, gives the same tree as the LL prediction when
+	 * it succeeds. On the first syntax error, SLL bails out and the tokens are parsed again with the LL prediction and
+	 * the default error reporting and recovery.
+	 */
+	private ParseTree parseDeclaration(final CommonTokenStream tokens, final String name) {
+		final CPP14Parser parser = new CPP14Parser(tokens);
+		parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+		parser.removeErrorListeners();
+		parser.setErrorHandler(new BailErrorStrategy());
+		try {
+			final ParseTree tree = parser.declaration();
+			parsingStatistics.sllSucceeded();
+			logger.debug(name + " parsed with SLL prediction");
+			return tree;
+		} catch (ParseCancellationException e) {
+			logger.debug(name + " cannot be parsed with SLL prediction, parsing it with LL prediction");
 		}
-		return container;
+		// seeks the tokens back to the start of the file
+		parser.reset();
+		parser.addErrorListener(ConsoleErrorListener.INSTANCE);
+		parser.setErrorHandler(new DefaultErrorStrategy());
+		parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+		final ParseTree tree = parser.declaration();
+		parsingStatistics.llNeeded();
+		return tree;
+	}
 
+	/**
+	 * The generated lexer and parser keep the DFA and the prediction context cache of their ATN simulators in static
+	 * fields: what is learned while parsing a file is reused by the next files, on any thread and for any script read
+	 * in the JVM. The simulators synchronize on these shared structures when they update them.
+	 * Clearing them releases their memory, the next parsed file paying the warm-up again. Not to be called while a file
+	 * is parsed.
+	 */
+	public static void clearParserCaches() {
+		final CPP14Lexer lexer = new CPP14Lexer(CharStreams.fromString(""));
+		lexer.getInterpreter().clearDFA();
+		new CPP14Parser(new CommonTokenStream(lexer)).getInterpreter().clearDFA();
 	}
 
+	/**
+	 * Decode the UTF-8 stream into a char stream, joining the string literals split on several lines in the same pass.
+	 */
 	@VisibleForTesting
 	protected static CharStream loadAndCorrectGrammarFromLR(InputStream stream) throws IOException {
-		StringWriter writer = new StringWriter();
-		IOUtils.copy(stream, writer, StandardCharsets.UTF_8);
-		String loadedFileAsString = writer.toString();
-		return CharStreams.fromString(loadedFileAsString.replaceAll(PATTERN, ""));
+		try (java.io.Reader reader = new StringLiteralJoiningReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+			return toCharStream(reader, stream.available(), IntStream.UNKNOWN_SOURCE_NAME);
+		}
+	}
+
+	/**
+	 * Decode the file mapped in memory into a char stream, in the encoding detected by the {@link ActionFileDecoder},
+	 * joining the string literals split on several lines in the same pass.
+	 */
+	@VisibleForTesting
+	protected static CharStream loadAndCorrectGrammarFromLR(final Path file, final Optional<Charset> encoding,
+			final Optional<Charset> legacyEncoding) throws IOException {
+		try (java.io.Reader reader = new StringLiteralJoiningReader(ActionFileDecoder.open(file, encoding, legacyEncoding))) {
+			// the decoded file has at most as many chars as bytes
+			return toCharStream(reader, Ints.saturatedCast(Files.size(file)), file.getFileName().toString());
+		}
+	}
+
+	/**
+	 * Decode the chars of the reader in the code points of the char stream, their buffer being allocated for
+	 * expectedChars so that it is not grown and copied again and again while a large file is decoded.
+	 * The code points are built by the buffer of ANTLR rather than by wrapping the chars, which would split the
+	 * surrogate pairs.
+	 */
+	private static CharStream toCharStream(final java.io.Reader reader, final int expectedChars, final String sourceName) throws IOException {
+		final CodePointBuffer.Builder codePoints = CodePointBuffer.builder(Math.max(expectedChars, DECODED_CHARS_BUFFER_SIZE));
+		final CharBuffer chars = CharBuffer.allocate(DECODED_CHARS_BUFFER_SIZE);
+		while (reader.read(chars) != -1) {
+			chars.flip();
+			codePoints.append(chars);
+			chars.compact();
+		}
+		return CodePointCharStream.fromBuffer(codePoints.build(), sourceName);
 	}
 
 	public void addDataFilesToCopy(final File file) {
@@ -296,7 +548,10 @@ public class LoadRunnerReader extends Reader {
 
 	public void clear() {
 		currentProjectServers.clear();
-		nameIndexes.clear();
+	}
+
+	public ParsingStatistics getParsingStatistics() {
+		return parsingStatistics;
 	}
 
 	public EventListener getEventListener() {
@@ -304,6 +559,21 @@ public class LoadRunnerReader extends Reader {
 	}
 
 	public String getCurrentScriptName() {
-		return currentScriptName;
+		return currentScriptName.get();
+	}
+
+	/**
+	 * What a script brings to the project, kept apart until all the scripts are read.
+	 */
+	private static final class ScriptContent {
+		private final UserPath userPath;
+		private final List<Variable> variables;
+		private final List<Server> servers;
+
+		private ScriptContent(final UserPath userPath, final List<Variable> variables, final List<Server> servers) {
+			this.userPath = userPath;
+			this.variables = variables;
+			this.servers = servers;
+		}
 	}
 }
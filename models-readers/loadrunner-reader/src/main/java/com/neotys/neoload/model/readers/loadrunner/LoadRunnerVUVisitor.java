@@ -1,9 +1,12 @@
 package com.neotys.neoload.model.readers.loadrunner;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
 
 import com.neotys.neoload.model.core.Element;
 import com.neotys.neoload.model.listener.EventListener;
@@ -22,6 +25,8 @@ public class LoadRunnerVUVisitor extends CPP14BaseVisitor<Element> {
 
 	private final ImmutableContainer.Builder mainContainer;
 	private final List<ImmutableContainer.Builder> currentContainers = new ArrayList<>();
+	// names of the children of each container builder, by identity as the builders are mutable
+	private final Map<ImmutableContainer.Builder, UniqueNames> childNames = new IdentityHashMap<>();
 	private List<VariableExtractor> currentExtractors;
 	private List<Validator> currentValidators;
 	private List<Header> currentHeaders;
@@ -49,12 +54,20 @@ public class LoadRunnerVUVisitor extends CPP14BaseVisitor<Element> {
 	public Element visitMethodcall(CPP14Parser.MethodcallContext ctx) {
 		String methodName = ctx.Identifier().getText();
 		ImmutableMethodCall.Builder methodBuilder = ImmutableMethodCall.builder().name(methodName);
-		ParametersVisitor paramsVisitor = new ParametersVisitor();
 		if (ctx.expressionlist() != null) {
-			List<String> params = ctx.expressionlist().accept(paramsVisitor);
+			final List<String> params = new ArrayList<>();
+			addParameters(ctx.expressionlist().initializerlist(), params);
 			methodBuilder.addAllParameters(params);
 		}
-		final MethodCall method = methodBuilder.build();
+		return addMethodCall(methodBuilder.build(), ctx);
+	}
+
+	/**
+	 * Convert a call of the action and add the resulting element to the current container.
+	 * @param ctx the parse tree node of the call, giving its line to the events
+	 * @return the added element, null if the call is not supported or does not give any element
+	 */
+	Element addMethodCall(final MethodCall method, final CPP14Parser.MethodcallContext ctx) {
 		final LoadRunnerMethod lrMethod = LoadRunnerSupportedMethods.get(method.getName());
 		Element elt;
 		if(lrMethod == null){
@@ -62,66 +75,79 @@ public class LoadRunnerVUVisitor extends CPP14BaseVisitor<Element> {
 			return null;
 		}	
 		elt = lrMethod.getElement(this, method, ctx);
-		if(elt != null){
-			elt = setUniqueNameInContainer(elt,	currentContainers.get(currentContainers.size() - 1).build());
-			currentContainers.get(currentContainers.size() - 1).addChilds(elt);
-		}
-		return elt;
-	}
-
-	@Override
-	protected Element aggregateResult(final Element aggregate, final Element nextResult) {
-		return currentContainers.get(0).build();
+		return addToCurrentContainer(elt);
 	}
 
-	static Element setUniqueNameInContainer(final Element element, final Container container) {
-		if (element == null)
-			return element;
-		int i = 0;
-		Element elementWithUniqueName = element;
-		while (!isUniqueInContainer(elementWithUniqueName, container)) {
-			elementWithUniqueName = element.withName(element.getName() + "_" + (++i));
+	/**
+	 * Add the element to the current container, renamed if another child of the container has its name.
+	 * @return the added element, null if element is null
+	 */
+	Element addToCurrentContainer(final Element element) {
+		if (element == null) {
+			return null;
 		}
+		final ImmutableContainer.Builder currentContainer = currentContainers.get(currentContainers.size() - 1);
+		final Element elementWithUniqueName = childNames.computeIfAbsent(currentContainer, builder -> new UniqueNames()).add(element);
+		currentContainer.addChilds(elementWithUniqueName);
 		return elementWithUniqueName;
 	}
 
-	private static boolean isUniqueInContainer(final Element element, final Container container) {
-		return container.getChilds().stream().filter(element1 -> element1.getName().equals(element.getName())).count() == 0;
+	/**
+	 * The elements are added to the containers while visiting the calls, the visit of a parse tree gives no result.
+	 */
+	@Override
+	protected Element aggregateResult(final Element aggregate, final Element nextResult) {
+		return null;
 	}
 
-	private static class ParametersVisitor extends CPP14BaseVisitor<List<String>> {
-
-		@Override
-		public List<String> visitExpressionlist(CPP14Parser.ExpressionlistContext ctx) {
-			InitializeListVisitor listVisitor = new InitializeListVisitor();
-			return ctx.initializerlist().accept(listVisitor);
+	/**
+	 * End the containers not ended by the action and build the main container, once the whole action is visited.
+	 */
+	Container buildMainContainer() {
+		while (currentContainers.size() > 1) {
+			addToCurrentContainer(currentContainers.remove(currentContainers.size() - 1).build());
+		}
+		return mainContainer.build();
+	}
+
+	private static final String PARAMETER_SEPARATOR = ",";
+
+	/**
+	 * Add the parameters of the list to params in one walk of the tree, the parameters of an initializer list nested
+	 * in a parameter being added as parameters of the call.
+	 */
+	private static void addParameters(final CPP14Parser.InitializerlistContext ctx, final List<String> params) {
+		for (final ParseTree child : ctx.children) {
+			final CPP14Parser.InitializerlistContext nestedList = getNestedList(child);
+			if (nestedList != null) {
+				addParameters(nestedList, params);
+			} else {
+				ParseTree leaf = child;
+				while (leaf.getChildCount() > 0) {
+					leaf = leaf.getChild(0);
+				}
+				if (!PARAMETER_SEPARATOR.equals(leaf.getText())) {
+					params.add(leaf.getText());
+				}
+			}
 		}
 	}
 
-	private static class InitializeListVisitor extends CPP14BaseVisitor<List<String>> {
-
-		private static final String PARAMETER_SEPARATOR = ",";
-
-		@Override
-		public List<String> visitInitializerlist(CPP14Parser.InitializerlistContext ctx) {
-			return ctx.children.stream().flatMap(parseTree -> {
-				InitializeListVisitor listVisitor = new InitializeListVisitor();
-				// if a child is an InitializerList then append all the childs leaf as a new parameter
-				List<String> params = parseTree.accept(listVisitor);
-				if (params == null) {
-					params = new ArrayList<>();
-					while (parseTree.getChildCount() > 0) {
-						parseTree = parseTree.getChild(0);
-					}
-					if (!PARAMETER_SEPARATOR.equals(parseTree.getText())) {
-						params.add(parseTree.getText());
-					}
-				}
-				return params.stream();
-			}).collect(Collectors.toList());
+	/**
+	 * @return the initializer list reached from tree through the last children, as the result of the visit of the
+	 * last child is the result of the visit of a node, null if there is none.
+	 */
+	private static CPP14Parser.InitializerlistContext getNestedList(final ParseTree tree) {
+		ParseTree node = tree;
+		while (!(node instanceof CPP14Parser.InitializerlistContext)) {
+			if (node instanceof TerminalNode || node.getChildCount() == 0) {
+				return null;
+			}
+			node = node.getChild(node.getChildCount() - 1);
 		}
+		return (CPP14Parser.InitializerlistContext) node;
 	}
-		
+
 	public LoadRunnerReader getReader() {
 		return reader;
 	}
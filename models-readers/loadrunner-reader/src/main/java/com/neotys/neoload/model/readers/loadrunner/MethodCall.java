@@ -8,4 +8,14 @@ import java.util.List;
 public interface MethodCall {
     String getName();
     List<String> getParameters();
+
+    @Value.Lazy
+    default MethodParameters getIndexedParameters() {
+        return MethodParameters.of(getParameters());
+    }
+
+    @Value.Lazy
+    default ItemLists getItemLists() {
+        return ItemLists.of(getParameters());
+    }
 }
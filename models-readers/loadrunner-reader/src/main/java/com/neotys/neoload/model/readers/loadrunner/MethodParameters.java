@@ -0,0 +1,54 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Parameters of a {@link MethodCall} indexed once per call: the "Name=Value" parameters, quoted or not, are found by
+ * their case insensitive name without going through the parameters again.
+ */
+public final class MethodParameters {
+
+	private final List<String> parameters;
+	// first parameter having the name, names compared ignoring case
+	private final Map<String, String> namedParameters;
+
+	private MethodParameters(final List<String> parameters, final Map<String, String> namedParameters) {
+		this.parameters = parameters;
+		this.namedParameters = namedParameters;
+	}
+
+	static MethodParameters of(final List<String> parameters) {
+		final Map<String, String> namedParameters = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (final String parameter : parameters) {
+			final int nameStart = parameter.startsWith("\"") ? 1 : 0;
+			final int nameEnd = parameter.indexOf('=', nameStart);
+			if (nameEnd >= 0) {
+				namedParameters.putIfAbsent(parameter.substring(nameStart, nameEnd), parameter);
+			}
+		}
+		return new MethodParameters(parameters, namedParameters);
+	}
+
+	/**
+	 * @return the first parameter "name=value" or "\"name=value", name being case insensitive.
+	 */
+	Optional<String> getWithName(final String name) {
+		return Optional.ofNullable(namedParameters.get(name));
+	}
+
+	/**
+	 * @return the first parameter starting with prefix or with a quote and prefix, prefix being case insensitive.
+	 */
+	Optional<String> getStartingWith(final String prefix) {
+		for (final String parameter : parameters) {
+			if (parameter.regionMatches(true, 0, prefix, 0, prefix.length())
+					|| (parameter.startsWith("\"") && parameter.regionMatches(true, 1, prefix, 0, prefix.length()))) {
+				return Optional.of(parameter);
+			}
+		}
+		return Optional.empty();
+	}
+}
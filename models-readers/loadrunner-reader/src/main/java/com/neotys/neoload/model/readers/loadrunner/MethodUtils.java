@@ -7,14 +7,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.neotys.neoload.model.repository.ImmutableParameter;
 import com.neotys.neoload.model.repository.Parameter;
-import org.apache.commons.lang3.mutable.MutableInt;
-import org.apache.commons.lang3.text.translate.LookupTranslator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,7 +30,8 @@ public class MethodUtils {
 		LAST
 	}
 
-	private static Map<String, String> variablesMapping = null;
+	// set per script by the ParameterFileReader and cleared by the LoadRunnerReader, scripts can be read on different threads
+	private static final ThreadLocal<Map<String, String>> variablesMapping = new ThreadLocal<>();
 	
 	static Logger logger = LoggerFactory.getLogger(MethodUtils.class);
 
@@ -44,21 +42,28 @@ public class MethodUtils {
 	}
 
 	public static Optional<String> getParameterStartingWith(MethodCall method, String name) {
-		return method.getParameters().stream().filter(s -> s.toLowerCase().startsWith(name.toLowerCase()) || s.toLowerCase().startsWith("\"" + name.toLowerCase())).findFirst();
+		return method.getIndexedParameters().getStartingWith(name);
 	}
 
 	protected static Optional<String> getParameterWithName(MethodCall method, String name) {
-		return getParameterStartingWith(method, name+"=");
+		return method.getIndexedParameters().getWithName(name);
 	}
 
 	public static Optional<String> getParameterValueWithName(final String leftBrace, final String rightBrace, MethodCall method, String name) {
 		Optional<String> parameter = getParameterWithName(method, name);
-		return parameter.map(param -> MethodUtils.normalizeString(leftBrace, rightBrace, param)).map(s -> s.substring((name+"=").length()));
+		return parameter.map(param -> MethodUtils.normalizeString(leftBrace, rightBrace, param)).map(s -> s.substring(name.length() + 1));
 	}
 
 	
 	public static void setVariableMapping(Map<String, String> localVariablesMapping) {
-		variablesMapping = localVariablesMapping;
+		variablesMapping.set(localVariablesMapping);
+	}
+
+	/**
+	 * Forget the mapping of the script read on the current thread, once it is read.
+	 */
+	public static void clearVariableMapping() {
+		variablesMapping.remove();
 	}
 	
 	/**
@@ -67,10 +72,11 @@ public class MethodUtils {
 	 * @return the name that needs to be used in neoload parameters
 	 */
 	public static String getCorrespondingVariableNameForNL(String lrName) {
-		if(variablesMapping == null) {
+		final Map<String, String> currentVariablesMapping = variablesMapping.get();
+		if(currentVariablesMapping == null) {
 			return lrName;
 		}
-		String correspondingName = variablesMapping.get(lrName);
+		String correspondingName = currentVariablesMapping.get(lrName);
 		if (correspondingName != null)
 			return correspondingName;
 		return lrName;
@@ -82,16 +88,8 @@ public class MethodUtils {
 	 * @return a List of elements between the typeListName and the end boundary
 	 */
 	protected static Optional<List<String>> extractItemListAsStringList(final String leftBrace, final String rightBrace, List<String> parameters, final String typeListName) {
-
-		if(!parameters.contains(typeListName)) return Optional.empty();
-		// split the list to get only the part after the "typeListName"
-		List<String> result = parameters.subList(parameters.indexOf(typeListName)+1, parameters.size())
-				.stream().map(param -> MethodUtils.normalizeString(leftBrace, rightBrace, param)).collect(Collectors.toList());
-		// compute last index (end boundaries can be EXTRARES, ITEMDATA, LAST)
-		final MutableInt boundaryIndex = new MutableInt(result.size());
-		ImmutableList.copyOf(ITEM_BOUNDARY.values()).forEach(itemBoundary -> boundaryIndex.setValue(result.indexOf(itemBoundary.toString())>=0 ? Math.min(boundaryIndex.intValue(), result.indexOf(itemBoundary.toString())) : boundaryIndex));
-
-		return Optional.of(result.subList(0, boundaryIndex.getValue()));
+		return ItemLists.of(parameters).getSection(ITEM_BOUNDARY.valueOf(typeListName))
+				.map(section -> section.stream().map(param -> MethodUtils.normalizeString(leftBrace, rightBrace, param)).collect(Collectors.toList()));
 	}
 	
 	protected static String unquote(String param) {
@@ -101,31 +99,82 @@ public class MethodUtils {
 		return param;
 	}
 
+	/**
+	 * Replace the LR variables "leftBrace name rightBrace" of param by NeoLoad variables "${name}".
+	 * Same matching as {@link #getVariablePatternWithBrace(String, String)}: the name is not empty and has no line terminator.
+	 */
 	protected static String normalizeVariables(final String leftBrace, final String rightBrace, String param) {
-		Matcher m = getVariablePatternWithBrace(leftBrace, rightBrace).matcher(param);
-		StringBuilder sb = new StringBuilder();
+		StringBuilder sb = null;
 		int lastIndex = 0;
-		while (m.find()) {
-			String paramName = param.substring(m.start() + leftBrace.length(), m.end() - rightBrace.length());
-			sb.append(param.substring(lastIndex, m.start())).append("${").append(getCorrespondingVariableNameForNL(paramName)).append("}");
-			lastIndex = m.end();
+		int start = param.indexOf(leftBrace);
+		while (start >= 0 && start < param.length()) {
+			final int nameStart = start + leftBrace.length();
+			final int nameEnd = param.indexOf(rightBrace, nameStart);
+			if (nameEnd < 0) {
+				break;
+			}
+			if (nameEnd > nameStart && !containsLineTerminator(param, nameStart, nameEnd)) {
+				if (sb == null) {
+					sb = new StringBuilder(param.length() + 8);
+				}
+				sb.append(param, lastIndex, start).append("${").append(getCorrespondingVariableNameForNL(param.substring(nameStart, nameEnd))).append("}");
+				lastIndex = nameEnd + rightBrace.length();
+				start = param.indexOf(leftBrace, lastIndex);
+			} else {
+				start = param.indexOf(leftBrace, start + 1);
+			}
 		}
-		if (lastIndex == 0) {
+		if (sb == null) {
 			return param;
 		}
-		return sb.append(param.substring(lastIndex)).toString();		
+		return sb.append(param, lastIndex, param.length()).toString();
+	}
+
+	private static boolean containsLineTerminator(final String s, final int start, final int end) {
+		for (int i = start; i < end; i++) {
+			switch (s.charAt(i)) {
+				case '\n':
+				case '\r':
+				case '\u0085':
+				case '\u2028':
+				case '\u2029':
+					return true;
+				default:
+					break;
+			}
+		}
+		return false;
 	}
 
+	/**
+	 * Unescape the C string escapes \\, \" and \' and remove the other backslashes.
+	 * @return param itself when it contains no backslash.
+	 */
 	protected static String unescape(String param) {
-		LookupTranslator transaltor = new LookupTranslator(
-		                      new String[][] {
-		                            {"\\\\", "\\"},
-		                            {"\\\"", "\""},
-		                            {"\\'", "'"},
-		                            {"\\", ""}
-		                      });
-		return transaltor.translate(param);
+		if (param == null) {
+			return null;
+		}
+		final int firstBackslash = param.indexOf('\\');
+		if (firstBackslash < 0) {
+			return param;
+		}
+		final int length = param.length();
+		final char[] unescaped = new char[length];
+		param.getChars(0, firstBackslash, unescaped, 0);
+		int unescapedLength = firstBackslash;
+		for (int i = firstBackslash; i < length; i++) {
+			final char c = param.charAt(i);
+			if (c != '\\') {
+				unescaped[unescapedLength++] = c;
+			} else if (i + 1 < length && isEscapedChar(param.charAt(i + 1))) {
+				unescaped[unescapedLength++] = param.charAt(++i);
+			}
+		}
+		return new String(unescaped, 0, unescapedLength);
+	}
 
+	private static boolean isEscapedChar(final char c) {
+		return c == '\\' || c == '"' || c == '\'';
 	}
 
 	public static String normalizeString(final String leftBrace, final String rightBrace, final String param) {
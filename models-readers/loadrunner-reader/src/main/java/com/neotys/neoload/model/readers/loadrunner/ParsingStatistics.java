@@ -0,0 +1,74 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread safe counters of the files read by a {@link LoadRunnerReader}: the unchanged files are taken from the
+ * {@link ConversionCache} when there is one, the flat action files are read by the
+ * {@link FlatActionScanner}, the other ones are parsed with the fast SLL prediction, and parsed again with the full LL
+ * prediction only when SLL fails.
+ */
+public class ParsingStatistics {
+
+	private final AtomicInteger cachedFiles = new AtomicInteger();
+	private final AtomicInteger scannedFiles = new AtomicInteger();
+	private final AtomicInteger sllParsedFiles = new AtomicInteger();
+	private final AtomicInteger llParsedFiles = new AtomicInteger();
+
+	void cached() {
+		cachedFiles.incrementAndGet();
+	}
+
+	void scanned() {
+		scannedFiles.incrementAndGet();
+	}
+
+	void sllSucceeded() {
+		sllParsedFiles.incrementAndGet();
+	}
+
+	void llNeeded() {
+		llParsedFiles.incrementAndGet();
+	}
+
+	/**
+	 * @return the number of files taken from the conversion cache.
+	 */
+	public int getCachedFiles() {
+		return cachedFiles.get();
+	}
+
+	/**
+	 * @return the number of files read without being parsed.
+	 */
+	public int getScannedFiles() {
+		return scannedFiles.get();
+	}
+
+	/**
+	 * @return the number of files parsed with the SLL prediction mode only.
+	 */
+	public int getSllParsedFiles() {
+		return sllParsedFiles.get();
+	}
+
+	/**
+	 * @return the number of files on which SLL failed, parsed again with the LL prediction mode.
+	 */
+	public int getLlParsedFiles() {
+		return llParsedFiles.get();
+	}
+
+	public void clear() {
+		cachedFiles.set(0);
+		scannedFiles.set(0);
+		sllParsedFiles.set(0);
+		llParsedFiles.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return getCachedFiles() + " file(s) taken from the cache, " + getScannedFiles() + " read without parsing, "
+				+ getSllParsedFiles() + " parsed with SLL prediction, " + getLlParsedFiles() + " with LL prediction";
+	}
+}
@@ -0,0 +1,115 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableList;
+import com.neotys.neoload.model.repository.ImmutableServer;
+import com.neotys.neoload.model.repository.Server;
+
+/**
+ * Thread safe registry of the servers of a project.
+ * A server is identified by its scheme, host, port and name. As the name is used as uid by NeoLoad, a server which
+ * has the name of a server of another host is renamed with a "_1", "_2"... suffix, the servers of a host on
+ * different ports or schemes keeping the same name.
+ * Servers are returned in the order of their first registration, the lookups of registered servers taking no lock.
+ */
+public class ServerRegistry {
+
+	private final ConcurrentMap<ServerKey, Server> serversByKey = new ConcurrentHashMap<>();
+	private final Map<String, String> hostsByName = new HashMap<>();
+	private final List<Server> orderedServers = new ArrayList<>();
+
+	/**
+	 * @param newServer the server to register
+	 * @return the registered server identical to newServer, with a name not used by another host
+	 */
+	public Server getOrAdd(final Server newServer) {
+		final Server server = serversByKey.get(ServerKey.of(newServer));
+		return server != null ? server : add(newServer);
+	}
+
+	private synchronized Server add(final Server newServer) {
+		final ServerKey key = ServerKey.of(newServer);
+		final Server registeredServer = serversByKey.get(key);
+		if (registeredServer != null) {
+			return registeredServer;
+		}
+		final String name = uniqueName(newServer);
+		Server server = name.equals(newServer.getName()) ? newServer : ImmutableServer.copyOf(newServer).withName(name);
+		// a renamed server given back to the registry must be found as is
+		final Server renamedServer = serversByKey.putIfAbsent(ServerKey.of(server), server);
+		if (renamedServer != null) {
+			server = renamedServer;
+		} else {
+			orderedServers.add(server);
+		}
+		serversByKey.put(key, server);
+		return server;
+	}
+
+	private String uniqueName(final Server server) {
+		String name = server.getName();
+		int i = 0;
+		String host;
+		while ((host = hostsByName.putIfAbsent(name, server.getHost())) != null && !host.equals(server.getHost())) {
+			name = server.getName() + "_" + (++i);
+		}
+		return name;
+	}
+
+	public synchronized List<Server> getServers() {
+		return ImmutableList.copyOf(orderedServers);
+	}
+
+	public synchronized int size() {
+		return orderedServers.size();
+	}
+
+	public synchronized void clear() {
+		serversByKey.clear();
+		hostsByName.clear();
+		orderedServers.clear();
+	}
+
+	private static final class ServerKey {
+		private final Optional<String> scheme;
+		private final String host;
+		private final String port;
+		private final String name;
+
+		private ServerKey(final Optional<String> scheme, final String host, final String port, final String name) {
+			this.scheme = scheme;
+			this.host = host;
+			this.port = port;
+			this.name = name;
+		}
+
+		private static ServerKey of(final Server server) {
+			return new ServerKey(server.getScheme(), server.getHost(), server.getPort(), server.getName());
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ServerKey)) {
+				return false;
+			}
+			final ServerKey other = (ServerKey) obj;
+			return scheme.equals(other.scheme) && host.equals(other.host) && port.equals(other.port) && name.equals(other.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(scheme, host, port, name);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.neotys.neoload.model.core.Element;
+import com.neotys.neoload.model.repository.Container;
+import com.neotys.neoload.model.repository.GetFollowLinkRequest;
+import com.neotys.neoload.model.repository.GetPlainRequest;
+import com.neotys.neoload.model.repository.ImmutableContainer;
+import com.neotys.neoload.model.repository.ImmutableGetFollowLinkRequest;
+import com.neotys.neoload.model.repository.ImmutableGetPlainRequest;
+import com.neotys.neoload.model.repository.ImmutablePage;
+import com.neotys.neoload.model.repository.ImmutablePostBinaryRequest;
+import com.neotys.neoload.model.repository.ImmutablePostFormRequest;
+import com.neotys.neoload.model.repository.ImmutablePostTextRequest;
+import com.neotys.neoload.model.repository.ImmutableUserPath;
+import com.neotys.neoload.model.repository.Page;
+import com.neotys.neoload.model.repository.PageElement;
+import com.neotys.neoload.model.repository.PostBinaryRequest;
+import com.neotys.neoload.model.repository.PostFormRequest;
+import com.neotys.neoload.model.repository.PostTextRequest;
+import com.neotys.neoload.model.repository.Request;
+import com.neotys.neoload.model.repository.Server;
+import com.neotys.neoload.model.repository.UserPath;
+
+/**
+ * Replaces the servers of the requests of a user path by the servers they are renamed to when the script is merged
+ * in the project.
+ */
+final class ServerRenamer {
+
+	private final Map<Server, Server> renamedServers;
+
+	private ServerRenamer(final Map<Server, Server> renamedServers) {
+		this.renamedServers = renamedServers;
+	}
+
+	static UserPath rename(final UserPath userPath, final Map<Server, Server> renamedServers) {
+		final ServerRenamer renamer = new ServerRenamer(renamedServers);
+		return ImmutableUserPath.copyOf(userPath)
+				.withInitContainer(renamer.renameContainer(userPath.getInitContainer()))
+				.withActionsContainer(renamer.renameContainer(userPath.getActionsContainer()))
+				.withEndContainer(renamer.renameContainer(userPath.getEndContainer()));
+	}
+
+	private Container renameContainer(final Container container) {
+		return ImmutableContainer.copyOf(container)
+				.withChilds(container.getChilds().stream().map(this::renameElement).collect(Collectors.toList()));
+	}
+
+	private Element renameElement(final Element element) {
+		if (element instanceof Container) {
+			return renameContainer((Container) element);
+		}
+		if (element instanceof PageElement) {
+			return renamePageElement((PageElement) element);
+		}
+		return element;
+	}
+
+	private PageElement renamePageElement(final PageElement element) {
+		if (element instanceof Page) {
+			final Page page = (Page) element;
+			return ImmutablePage.copyOf(page)
+					.withChilds(page.getChilds().stream().map(this::renamePageElement).collect(Collectors.toList()));
+		}
+		if (element instanceof Request) {
+			return renameRequest((Request) element);
+		}
+		return element;
+	}
+
+	private Request renameRequest(final Request request) {
+		final Optional<Server> server = request.getServer().map(renamedServers::get);
+		if (!server.isPresent()) {
+			return request;
+		}
+		if (request instanceof GetPlainRequest) {
+			return ImmutableGetPlainRequest.copyOf((GetPlainRequest) request).withServer(server.get());
+		}
+		if (request instanceof GetFollowLinkRequest) {
+			return ImmutableGetFollowLinkRequest.copyOf((GetFollowLinkRequest) request).withServer(server.get());
+		}
+		if (request instanceof PostFormRequest) {
+			return ImmutablePostFormRequest.copyOf((PostFormRequest) request).withServer(server.get());
+		}
+		if (request instanceof PostBinaryRequest) {
+			return ImmutablePostBinaryRequest.copyOf((PostBinaryRequest) request).withServer(server.get());
+		}
+		if (request instanceof PostTextRequest) {
+			return ImmutablePostTextRequest.copyOf((PostTextRequest) request).withServer(server.get());
+		}
+		throw new IllegalArgumentException("Unknown request type: " + request.getClass().getName());
+	}
+}
@@ -0,0 +1,103 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader joining on the fly the string literals split on several lines by LoadRunner, as "abc"\n\t\t"def", which
+ * the C++ grammar does not accept: a double quote, white spaces including at least one new line and a double quote are
+ * removed, like the {@code "\s*\n\s*"} regular expression replaced by an empty string.
+ * Only the white spaces following a double quote are buffered, the file is read in a single pass.
+ */
+final class StringLiteralJoiningReader extends Reader {
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final int NONE = -2;
+
+	private final Reader in;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position = 0;
+	private int limit = 0;
+
+	// a double quote and the white spaces following it, removed if they are followed by a double quote
+	private final StringBuilder pending = new StringBuilder();
+	private boolean pendingHasNewLine = false;
+	// index of the next pending character to output once they are known to be kept
+	private int pendingOutput = -1;
+	// character read after the pending ones, to process again once they are output
+	private int held = NONE;
+
+	StringLiteralJoiningReader(final Reader in) {
+		this.in = in;
+	}
+
+	@Override
+	public int read(final char[] cbuf, final int off, final int len) throws IOException {
+		int count = 0;
+		while (count < len) {
+			if (pendingOutput >= 0) {
+				final int toCopy = Math.min(len - count, pending.length() - pendingOutput);
+				pending.getChars(pendingOutput, pendingOutput + toCopy, cbuf, off + count);
+				count += toCopy;
+				pendingOutput += toCopy;
+				if (pendingOutput == pending.length()) {
+					clearPending();
+				}
+				continue;
+			}
+			final int c = nextChar();
+			if (pending.length() > 0) {
+				if (isWhiteSpace(c)) {
+					pending.append((char) c);
+					pendingHasNewLine |= c == '\n';
+				} else if (c == '"' && pendingHasNewLine) {
+					// the second double quote is removed too, it cannot start another join
+					clearPending();
+				} else {
+					held = c;
+					pendingOutput = 0;
+				}
+			} else if (c == -1) {
+				break;
+			} else if (c == '"') {
+				pending.append('"');
+			} else {
+				cbuf[off + count++] = (char) c;
+			}
+		}
+		return count == 0 && len > 0 ? -1 : count;
+	}
+
+	private int nextChar() throws IOException {
+		if (held != NONE) {
+			final int c = held;
+			held = NONE;
+			return c;
+		}
+		if (position == limit) {
+			limit = in.read(buffer, 0, BUFFER_SIZE);
+			position = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return -1;
+			}
+		}
+		return buffer[position++];
+	}
+
+	private void clearPending() {
+		pending.setLength(0);
+		pendingHasNewLine = false;
+		pendingOutput = -1;
+	}
+
+	private static boolean isWhiteSpace(final int c) {
+		// the \s characters of the regular expressions
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
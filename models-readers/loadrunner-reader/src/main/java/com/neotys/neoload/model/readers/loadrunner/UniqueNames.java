@@ -0,0 +1,38 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.neotys.neoload.model.core.Element;
+
+/**
+ * Names of the children of a container being built: a child whose name is already used is renamed with the first
+ * free "_1", "_2"... suffix.
+ * The names being never removed, the suffixes already tried for a name are not tried again, so that naming N
+ * children with the same name is linear.
+ */
+final class UniqueNames {
+
+	private final Set<String> names = new HashSet<>();
+	// last suffix given to a name, the lower ones being all used
+	private final Map<String, Integer> lastSuffixes = new HashMap<>();
+
+	/**
+	 * @return the element with a name not used by the previous ones, its name being used from now on.
+	 */
+	Element add(final Element element) {
+		final String name = element.getName();
+		if (names.add(name)) {
+			return element;
+		}
+		int suffix = lastSuffixes.getOrDefault(name, 0);
+		String uniqueName;
+		do {
+			uniqueName = name + "_" + (++suffix);
+		} while (!names.add(uniqueName));
+		lastSuffixes.put(name, suffix);
+		return element.withName(uniqueName);
+	}
+}
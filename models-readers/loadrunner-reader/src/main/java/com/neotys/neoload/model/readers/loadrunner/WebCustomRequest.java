@@ -1,8 +1,7 @@
 package com.neotys.neoload.model.readers.loadrunner;
 
 import java.net.URL;
-
-import org.apache.commons.lang.StringUtils;
+import java.util.Arrays;
 
 import com.google.common.base.Preconditions;
 import com.neotys.neoload.model.core.Element;
@@ -14,6 +13,19 @@ import com.neotys.neoload.model.repository.PostRequest;
 public class WebCustomRequest extends WebRequest {
 	
 	public static final String LR_HEXA_STR_PATTERN = "\\x";
+	private static final char HEXA_ESCAPE_PREFIX = '\\';
+	// "\\x" and two digits
+	private static final int HEXA_ESCAPE_LENGTH = LR_HEXA_STR_PATTERN.length() + 2;
+	// value of the ASCII chars being hexadecimal digits, -1 for the other chars
+	private static final byte[] HEXA_DIGITS = new byte[128];
+
+	static {
+		Arrays.fill(HEXA_DIGITS, (byte) -1);
+		for (int digit = 0; digit < 16; digit++) {
+			HEXA_DIGITS[Character.forDigit(digit, 16)] = (byte) digit;
+			HEXA_DIGITS[Character.toUpperCase(Character.forDigit(digit, 16))] = (byte) digit;
+		}
+	}
 	
     public static Element toElement(final LoadRunnerVUVisitor visitor, final MethodCall method) {
         Preconditions.checkNotNull(method);
@@ -21,8 +33,8 @@ public class WebCustomRequest extends WebRequest {
 
         pageBuilder.addChilds(buildPostRequest(visitor, method));
         
-        MethodUtils.extractItemListAsStringList(visitor.getLeftBrace(), visitor.getRightBrace(), method.getParameters(), MethodUtils.ITEM_BOUNDARY.EXTRARES.toString())
-				.ifPresent(stringList -> getUrlList(stringList, getUrlFromMethodParameters(visitor.getLeftBrace(), visitor.getRightBrace(), method)).stream().forEach(url -> pageBuilder.addChilds(buildGetRequestFromURL(visitor, url))));
+        method.getItemLists().getItems(visitor.getLeftBrace(), visitor.getRightBrace(), MethodUtils.ITEM_BOUNDARY.EXTRARES)
+				.ifPresent(items -> getUrlListFromItems(items, getUrlFromMethodParameters(visitor.getLeftBrace(), visitor.getRightBrace(), method)).stream().forEach(url -> pageBuilder.addChilds(buildGetRequestFromURL(visitor, url))));
         
         return pageBuilder.name(MethodUtils.normalizeString(visitor.getLeftBrace(), visitor.getRightBrace(), method.getParameters().get(0)))
                 .thinkTime(0)
@@ -78,28 +90,29 @@ public class WebCustomRequest extends WebRequest {
 		return hexStringToByteArray(MethodUtils.getParameterValueWithName(leftBrace, rightBrace, method, "BodyBinary").orElse(""));
     }
     
+    /**
+     * Decode the LR binary string s, in which a byte is either a char or an escape "\\x" followed by two hexadecimal
+     * digits. A malformed escape is kept as chars.
+     * The bytes are decoded in a right-sized array without intermediate strings, the escapes being counted first.
+     */
     public static byte[] hexStringToByteArray(String s) {
-    	int stringPointer = 0;
+    	final int length = s.length();
+    	int escapes = 0;
+    	for (int i = 0; i < length; i++) {
+    		if (hexaEscapeValue(s, i) >= 0) {
+    			escapes++;
+    			i += HEXA_ESCAPE_LENGTH - 1;
+    		}
+    	}
+    	final byte[] rawData = new byte[length - escapes * (HEXA_ESCAPE_LENGTH - 1)];
     	int dataPointer = 0;
-    	int globalSize = s.length();
-    	int hexaStringSize = LR_HEXA_STR_PATTERN.length() + 2;
-    	int nbHexa = StringUtils.countMatches(s, LR_HEXA_STR_PATTERN);
-    	int byteSize = (globalSize - nbHexa*hexaStringSize) + nbHexa;
-    	byte[] rawData = new byte[byteSize];
-    	
-    	while (stringPointer<globalSize) {
-    		if(stringPointer + hexaStringSize - 1 < globalSize) {
-    			String hexaString = s.substring(stringPointer, stringPointer + hexaStringSize);
-    			if (hexaString.startsWith(LR_HEXA_STR_PATTERN)) {
-    				hexaString = hexaString.replace(LR_HEXA_STR_PATTERN, "");
-    				rawData[dataPointer] = (byte) ((Character.digit(hexaString.charAt(0), 16) << 4)
-                            + Character.digit(hexaString.charAt(1), 16));
-    				stringPointer = hexaStringSize + stringPointer;
-    			}else {
-    				rawData[dataPointer] = (byte) s.charAt(stringPointer);
-    				stringPointer++;
-    			}
-    		}else {
+    	int stringPointer = 0;
+    	while (stringPointer < length) {
+    		final int value = hexaEscapeValue(s, stringPointer);
+    		if (value >= 0) {
+    			rawData[dataPointer] = (byte) value;
+    			stringPointer += HEXA_ESCAPE_LENGTH;
+    		} else {
     			rawData[dataPointer] = (byte) s.charAt(stringPointer);
     			stringPointer++;
     		}
@@ -107,4 +120,19 @@ public class WebCustomRequest extends WebRequest {
     	}
         return rawData;
     }
+
+    /**
+     * @return the byte of the escape at index of s, -1 if there is no escape at index.
+     */
+    private static int hexaEscapeValue(final String s, final int index) {
+    	if (s.charAt(index) != HEXA_ESCAPE_PREFIX || index + HEXA_ESCAPE_LENGTH > s.length() || s.charAt(index + 1) != 'x') {
+    		return -1;
+    	}
+    	// negative if one of the digits is not an hexadecimal digit
+    	return (hexaDigit(s.charAt(index + 2)) << 4) | hexaDigit(s.charAt(index + 3));
+    }
+
+    private static int hexaDigit(final char c) {
+    	return c < HEXA_DIGITS.length ? HEXA_DIGITS[c] : -1;
+    }
 }
@@ -2,10 +2,10 @@ package com.neotys.neoload.model.readers.loadrunner;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -115,23 +115,24 @@ public abstract class WebRequest {
 	 */
     @VisibleForTesting
 	protected static List<URL> getUrlList(final List<String> extraresPart, final URL context) {
-
-		return MethodUtils.parseItemList(extraresPart).stream()
-				.filter(item -> item.getAttribute("URL").isPresent())
-				.map(item -> getURLFromItem(context, item))
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.collect(Collectors.toList());
-
+		return getUrlListFromItems(MethodUtils.parseItemList(extraresPart), context);
 	}
 
-	private static Optional<URL> getURLFromItem(final URL context, final Item item) {
-		return getURLFromItem(context, item, "URL");
+	/**
+	 * generate URLs from the items of the extrares of a "web_url", "web_submit_data" or "web_custom_request"
+	 */
+	protected static List<URL> getUrlListFromItems(final List<Item> extraresItems, final URL context) {
+
+		final List<URL> urls = new ArrayList<>(extraresItems.size());
+		for (final Item item : extraresItems) {
+			item.getAttribute("URL").flatMap(url -> getURL(context, url)).ifPresent(urls::add);
+		}
+		return urls;
 	}
 
-	private static Optional<URL> getURLFromItem(final URL context, final Item item,  final String urlTag) {
+	private static Optional<URL> getURL(final URL context, final String url) {
 		try {
-			return Optional.ofNullable(new URL(context, item.getAttribute(urlTag).get()));
+			return Optional.of(new URL(context, url));
 		} catch (MalformedURLException e) {
 			logger.warn("Invalid URL found in request, could be a variable in the host");
 		}
@@ -1,8 +1,8 @@
 package com.neotys.neoload.model.readers.loadrunner;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -30,8 +30,8 @@ public class WebSubmitData extends WebRequest {
 
         pageBuilder.addChilds(buildPostRequest(visitor, method));
         
-        MethodUtils.extractItemListAsStringList(visitor.getLeftBrace(), visitor.getRightBrace(), method.getParameters(), MethodUtils.ITEM_BOUNDARY.EXTRARES.toString()).ifPresent(stringList ->
-        		getUrlList(stringList, getUrl(visitor.getLeftBrace(), visitor.getRightBrace(), method)).stream().forEach(url -> pageBuilder.addChilds(buildGetRequestFromURL(visitor, url))));
+        method.getItemLists().getItems(visitor.getLeftBrace(), visitor.getRightBrace(), MethodUtils.ITEM_BOUNDARY.EXTRARES).ifPresent(items ->
+        		getUrlListFromItems(items, getUrl(visitor.getLeftBrace(), visitor.getRightBrace(), method)).stream().forEach(url -> pageBuilder.addChilds(buildGetRequestFromURL(visitor, url))));
         
         return pageBuilder.name(MethodUtils.normalizeString(visitor.getLeftBrace(), visitor.getRightBrace(), method.getParameters().get(0)))
                 .thinkTime(0)
@@ -58,7 +58,7 @@ public class WebSubmitData extends WebRequest {
     	visitor.getCurrentHeaders().clear();
     	requestBuilder.addAllHeaders(visitor.getGlobalHeaders());
     	
-    	MethodUtils.extractItemListAsStringList(visitor.getLeftBrace(), visitor.getRightBrace(), method.getParameters(), MethodUtils.ITEM_BOUNDARY.ITEMDATA.toString()).ifPresent(stringList -> buildPostParamsFromExtract(stringList)
+    	method.getItemLists().getItems(visitor.getLeftBrace(), visitor.getRightBrace(), MethodUtils.ITEM_BOUNDARY.ITEMDATA).ifPresent(items -> buildPostParamsFromItems(items)
 				.stream().forEach(requestBuilder::addPostParameters));
         
     	MethodUtils.queryToParameterList(mainUrl.getQuery()).forEach(requestBuilder::addParameters);
@@ -73,13 +73,18 @@ public class WebSubmitData extends WebRequest {
 	 */
     @VisibleForTesting
 	public static List<Parameter> buildPostParamsFromExtract(List<String> extractPart) {
-
-        List<Item> items = MethodUtils.parseItemList(extractPart);
-        return items.stream()
-                .filter(item -> item.getAttribute("Name").isPresent())
-                .<Parameter>map(item -> ImmutableParameter.builder().name(item.getAttribute("Name").get()).value(item.getAttribute("Value")).build())
-                .collect(Collectors.toList());
-
+        return buildPostParamsFromItems(MethodUtils.parseItemList(extractPart));
 	}
 
+    /**
+     * generate parameters from the items of the "ITEM_DATA" of a "web_submit_data"
+     */
+    static List<Parameter> buildPostParamsFromItems(List<Item> items) {
+        final List<Parameter> parameters = new ArrayList<>(items.size());
+        for (final Item item : items) {
+            item.getAttribute("Name").ifPresent(name -> parameters.add(ImmutableParameter.builder().name(name).value(item.getAttribute("Value")).build()));
+        }
+        return parameters;
+    }
+
 }
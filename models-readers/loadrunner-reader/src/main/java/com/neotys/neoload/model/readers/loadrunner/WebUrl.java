@@ -20,8 +20,8 @@ public class WebUrl extends WebRequest {
         final URL mainUrl = Preconditions.checkNotNull(getUrlFromMethodParameters(visitor.getLeftBrace(), visitor.getRightBrace(), method));
         pageBuilder.addChilds(buildGetRequestFromURL(visitor, mainUrl));
 
-        MethodUtils.extractItemListAsStringList(visitor.getLeftBrace(), visitor.getRightBrace(), method.getParameters(), MethodUtils.ITEM_BOUNDARY.EXTRARES.toString()).ifPresent(stringList ->
-                pageBuilder.addAllChilds(getUrlList(stringList, mainUrl).stream().map(url -> WebRequest.buildGetRequestFromURL(visitor, url)).collect(Collectors.toList())));
+        method.getItemLists().getItems(visitor.getLeftBrace(), visitor.getRightBrace(), MethodUtils.ITEM_BOUNDARY.EXTRARES).ifPresent(items ->
+                pageBuilder.addAllChilds(getUrlListFromItems(items, mainUrl).stream().map(url -> WebRequest.buildGetRequestFromURL(visitor, url)).collect(Collectors.toList())));
 
         return pageBuilder.name(MethodUtils.normalizeString(visitor.getLeftBrace(), visitor.getRightBrace(), method.getParameters().get(0)))
                 .thinkTime(0)
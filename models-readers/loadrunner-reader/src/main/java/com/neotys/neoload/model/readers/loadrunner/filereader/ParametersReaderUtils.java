@@ -2,18 +2,22 @@ package com.neotys.neoload.model.readers.loadrunner.filereader;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableList;
 import com.neotys.neoload.model.readers.loadrunner.MethodUtils;
 import com.neotys.neoload.model.repository.FileVariable;
+import com.neotys.neoload.model.repository.FileVariableRows;
 import com.neotys.neoload.model.repository.ImmutableFileVariable;
 import com.neotys.neoload.model.repository.Variable;
 import org.ini4j.Ini;
@@ -160,41 +164,60 @@ public class ParametersReaderUtils {
 	}
 
 	public static String[][] loadColumnOfDataFile(String fileName, List<String> columnsNames, String columnsDelimiter) {
-		List<String[]> tempData = new ArrayList<>();
-		List<Integer> colomnIndexs = new ArrayList<>();
-		
+		try (Stream<String[]> rows = openColumnsOfDataFile(fileName, columnsNames, columnsDelimiter)) {
+			return rows.toArray(String[][]::new);
+		} catch (UncheckedIOException e) {
+			logger.error("An arror occured while reading the file \"" + fileName + "\" :\n", e);
+			return new String[0][];
+		}
+	}
+
+	/**
+	 * @return the rows of the given columns of the data file, read as the stream is consumed, empty if the file cannot
+	 * be read.
+	 */
+	static Stream<String[]> openColumnsOfDataFile(String fileName, List<String> columnsNames, String columnsDelimiter) {
+		final int[] colomnIndexs = new int[columnsNames.size()];
 		try {
 			//get column indices for data
 			try(Stream<String> fileStream = Files.lines(Paths.get(fileName))){
 				List<String> columns = Arrays.asList(fileStream.findFirst().orElseThrow(IllegalStateException::new).split(columnsDelimiter));
-				columnsNames.stream().map(columns::indexOf).forEach(index -> {
-					if(index == -1) {
-						StringBuilder sb = new StringBuilder();
-						columnsNames.forEach(colName -> sb.append(colName).append(", "));
-						logger.error("Some needed columns in the list \"" + sb.substring(0, sb.length() - 2) + "\" are not in the file \"" + fileName + "\". The values will be changed to a void string");
-					}
-					colomnIndexs.add(index);
-				});
+				for (int i = 0; i < colomnIndexs.length; i++) {
+					colomnIndexs[i] = columns.indexOf(columnsNames.get(i));
+				}
+				if (Arrays.stream(colomnIndexs).anyMatch(index -> index == -1)) {
+					logger.error("Some needed columns in the list \"" + String.join(", ", columnsNames) + "\" are not in the file \"" + fileName + "\". The values will be changed to a void string");
+				}
 			}
 			
 			//get data
-			try(Stream<String> fileStream = Files.lines(Paths.get(fileName))){
-				fileStream.skip(1).forEach(line -> {
-					String[] fields = line.split(columnsDelimiter);
-					String[] neededFields = new String[columnsNames.size()];
-					for (int i = 0 ; i < columnsNames.size() ; i++) {
-						int idx = colomnIndexs.get(i);
-						neededFields[i] = (idx == -1 || idx>=fields.length) ? "" : fields[idx];
-					}
-					tempData.add(neededFields);
-				});
-			}
-		} catch (IOException e) {
+			return Files.lines(Paths.get(fileName)).skip(1).map(line -> {
+				String[] fields = line.split(columnsDelimiter);
+				String[] neededFields = new String[colomnIndexs.length];
+				for (int i = 0 ; i < colomnIndexs.length ; i++) {
+					int idx = colomnIndexs[i];
+					neededFields[i] = (idx == -1 || idx>=fields.length) ? "" : fields[idx];
+				}
+				return neededFields;
+			});
+		} catch (IOException | UncheckedIOException e) {
 			logger.error("An arror occured while reading the file \"" + fileName + "\" :\n", e);
 		}
-		
-		String[][] tempArr = new String[tempData.size()][];
-		return tempData.toArray(tempArr);
+		return Stream.empty();
+	}
+
+	/**
+	 * @return the rows of the data of the variable, read from its file if it has no data in memory.
+	 */
+	private static FileVariableRows getRows(final FileVariable variable) {
+		if (variable.getRows().isPresent()) {
+			return variable.getRows().get();
+		}
+		if (variable.getData().isPresent()) {
+			return FileVariableRows.of(variable.getData().get());
+		}
+		final String fileName = variable.getFileName().orElseThrow(IllegalStateException::new);
+		return () -> openColumnsOfDataFile(fileName, variable.getColumnsNames(), variable.getColumnsDelimiter());
 	}
 
 	public static FileVariable handleVariableColumns(final String leftBrace, final String rightBrace, final Ini.Section paramSection, final FileVariable refVarFile) {
@@ -209,48 +232,58 @@ public class ParametersReaderUtils {
 	}
 	
 	/**
-	 * 
+	 * Add the column of the "Same line as" parameter to the rows of the reference parameter. The files are read when
+	 * the rows are written, row by row.
 	 * @param paramSection
 	 * @param refVarFile
 	 * @param lrFolder
 	 * @return
 	 */
 	public static FileVariable handleDataForFileVariable(final String leftBrace, final String rightBrace, final Ini.Section paramSection, final FileVariable refVarFile, final File lrFolder) {
-		//load file in memory and add it to the data of the parameter
-		String [][] currentData = refVarFile.getData()
-				.orElseGet(() -> loadColumnOfDataFile(refVarFile.getFileName().orElseThrow(IllegalStateException::new),
-						refVarFile.getColumnsNames(),
-						refVarFile.getColumnsDelimiter()));
-
-		List<String> newCol = new ArrayList<>();
-		newCol.add(MethodUtils.normalizeString(leftBrace, rightBrace, paramSection.get(COLUMNNAME)));
-		String [][] newColumnData = loadColumnOfDataFile(lrFolder.getPath() + File.separator + MethodUtils.normalizeString(leftBrace, rightBrace, paramSection.get(TABLE)),
-				newCol, MethodUtils.normalizeString(leftBrace, rightBrace, paramSection.get(DELIMITER)));
-		
-		//create and fill the newData Array
-		if(newColumnData.length != currentData.length) {
-			logger.warn("The parameter \"" + paramSection.get("ParamName") + "\"which use the option \"Same line as\" does not have the same number of line of the reference parameter. Values will be completed with void string");
-		}
-		boolean newDataIsBigger = newColumnData.length > currentData.length;
-		int maxRow = Math.max(newColumnData.length, currentData.length);
-		int minRow = Math.min(newColumnData.length, currentData.length);
-		String [][] newData = new String[maxRow][];
-		int currentDataColumns = refVarFile.getColumnsNames().size(); 
+		final FileVariableRows currentRows = getRows(refVarFile);
+		final int currentDataColumns = refVarFile.getColumnsNames().size();
+		final String paramName = paramSection.get("ParamName");
+		final String newColumnFileName = lrFolder.getPath() + File.separator + MethodUtils.normalizeString(leftBrace, rightBrace, paramSection.get(TABLE));
+		final List<String> newCol = ImmutableList.of(MethodUtils.normalizeString(leftBrace, rightBrace, paramSection.get(COLUMNNAME)));
+		final String newColumnDelimiter = MethodUtils.normalizeString(leftBrace, rightBrace, paramSection.get(DELIMITER));
 
-		//Here we don't use maxRow but currentData.length because we don't need the exceeding value (which are never used)
-		for(int i = 0 ; i < currentData.length ; i++) {
-			String[] newLine = new String[currentDataColumns + 1];
-			for (int j = 0 ; j < currentDataColumns ; j++) {
-				newLine[j] = i < minRow || !newDataIsBigger ? currentData[i][j] : "";
+		final FileVariableRows newRows = () -> {
+			final Stream<String[]> newColumnRows = openColumnsOfDataFile(newColumnFileName, newCol, newColumnDelimiter);
+			final Stream<String[]> currentData;
+			try {
+				currentData = currentRows.open();
+			} catch (IOException | RuntimeException e) {
+				newColumnRows.close();
+				throw e;
 			}
-			newLine[currentDataColumns] = i < minRow || newDataIsBigger ? newColumnData[i][0] : "";
-			newData[i] = newLine;
-		}
-		
-		//recreate an immutable with the new data in memory
+			final Iterator<String[]> newColumnData = newColumnRows.iterator();
+			final AtomicBoolean missingValues = new AtomicBoolean();
+			//the exceeding values of the new column are never used
+			return currentData.map(currentLine -> {
+				final String[] newLine = Arrays.copyOf(currentLine, currentDataColumns + 1);
+				if (newColumnData.hasNext()) {
+					newLine[currentDataColumns] = newColumnData.next()[0];
+				} else {
+					newLine[currentDataColumns] = "";
+					missingValues.set(true);
+				}
+				return newLine;
+			}).onClose(() -> {
+				try {
+					if (missingValues.get() || newColumnData.hasNext()) {
+						logger.warn("The parameter \"" + paramName + "\"which use the option \"Same line as\" does not have the same number of line of the reference parameter. Values will be completed with void string");
+					}
+				} finally {
+					newColumnRows.close();
+				}
+			});
+		};
+
+		//recreate an immutable with the rows to be read
 		return  ImmutableFileVariable.builder()
 				.from(refVarFile)
-				.data(newData)
+				.data(Optional.empty())
+				.rows(newRows)
 				.fileName(Optional.empty())
 				.build();
 	}
@@ -1,9 +1,14 @@
 package com.neotys.neoload.model.readers.loadrunner.filereader;
 
 import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 import com.neotys.neoload.model.listener.EventListener;
@@ -13,17 +18,45 @@ import org.ini4j.Ini;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 
 public class ProjectFileReader extends IniFileReader{
 
 	static Logger logger = LoggerFactory.getLogger(ProjectFileReader.class);
 	public static final String FILE_EXT = ".usr";
+	// Windows ANSI code page of the languages, in which VuGen saved the scripts before supporting UTF-8
+	private static final Map<String, String> LEGACY_CODE_PAGES = ImmutableMap.<String, String>builder()
+			.put("ja", "windows-31j")
+			.put("ko", "x-windows-949")
+			.put("zh-CN", "GBK")
+			.put("zh-SG", "GBK")
+			.put("zh-TW", "x-windows-950")
+			.put("zh-HK", "x-windows-950")
+			.put("th", "x-windows-874")
+			.put("vi", "windows-1258")
+			.put("ar", "windows-1256")
+			.put("he", "windows-1255")
+			.put("tr", "windows-1254")
+			.put("el", "windows-1253")
+			.put("ru", "windows-1251")
+			.put("uk", "windows-1251")
+			.put("bg", "windows-1251")
+			.put("pl", "windows-1250")
+			.put("cs", "windows-1250")
+			.put("sk", "windows-1250")
+			.put("hu", "windows-1250")
+			.put("ro", "windows-1250")
+			.build();
+	private static final String DEFAULT_LEGACY_CODE_PAGE = "windows-1252";
 	private final EventListener eventListener;
 	private final LoadRunnerReader reader;
 	private Pattern variablePattern;
 	private String leftBrace;
 	private String rightBrace;
 	private String parameterFile;
+	private Optional<Charset> encoding = Optional.empty();
+	private Optional<Charset> legacyEncoding = Optional.empty();
 	// key: action name, value: action file
 	private LinkedHashMap<String,String> actions;
 	private Ini.Section actionsSection;
@@ -50,6 +83,8 @@ public class ProjectFileReader extends IniFileReader{
 			this.leftBrace = MethodUtils.normalizeString(leftBrace, rightBrace, generalSection.getOrDefault("ParamLeftBrace", "{"));
 			this.rightBrace = MethodUtils.normalizeString(leftBrace, rightBrace, generalSection.getOrDefault("ParamRightBrace", "}"));
 			this.parameterFile = MethodUtils.normalizeString(leftBrace, rightBrace, generalSection.getOrDefault("ParameterFile", ""));
+			this.encoding = toCharset(generalSection.get("Encoding"));
+			this.legacyEncoding = Optional.ofNullable(generalSection.get("ScriptLocale")).flatMap(ProjectFileReader::toLegacyCharset);
 		}
 		
 		//load of actions
@@ -64,6 +99,30 @@ public class ProjectFileReader extends IniFileReader{
 		}
 	}
 
+	private Optional<Charset> toCharset(final String charsetName) {
+		if (Strings.isNullOrEmpty(charsetName)) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(Charset.forName(charsetName.trim()));
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			logger.warn("Unsupported encoding " + charsetName + " in the file : " + getFileName() + ", the encoding of the action files will be detected");
+			return Optional.empty();
+		}
+	}
+
+	private static Optional<Charset> toLegacyCharset(final String scriptLocale) {
+		if (Strings.isNullOrEmpty(scriptLocale)) {
+			return Optional.empty();
+		}
+		final Locale locale = Locale.forLanguageTag(scriptLocale.trim());
+		String codePage = LEGACY_CODE_PAGES.get(locale.getLanguage() + "-" + locale.getCountry());
+		if (codePage == null) {
+			codePage = LEGACY_CODE_PAGES.getOrDefault(locale.getLanguage(), DEFAULT_LEGACY_CODE_PAGE);
+		}
+		return Charset.isSupported(codePage) ? Optional.of(Charset.forName(codePage)) : Optional.empty();
+	}
+
 	private void addAction(final String action) {
 		actions.put(action,actionsSection.get(action));				
 	}
@@ -96,6 +155,20 @@ public class ProjectFileReader extends IniFileReader{
 		return parameterFile;
 	}
 
+	/**
+	 * @return the encoding of the action files declared by the "Encoding" key, if any.
+	 */
+	public Optional<Charset> getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * @return the code page of the "ScriptLocale" language, used by the old versions of VuGen to save the action files.
+	 */
+	public Optional<Charset> getLegacyEncoding() {
+		return legacyEncoding;
+	}
+
 	public Map<String,String> getActions() {
 		return actions;
 	}
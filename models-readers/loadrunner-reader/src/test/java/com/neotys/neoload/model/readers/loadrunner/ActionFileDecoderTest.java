@@ -0,0 +1,100 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.antlr.v4.runtime.CharStream;
+import org.junit.Test;
+
+public class ActionFileDecoderTest {
+
+	private static final String ACTION = "Action()\n{\n\tweb_url(\"ログイン\", \"URL=http://host/été\", LAST);\n\treturn 0;\n}\n";
+	private static final Charset SHIFT_JIS = Charset.forName("windows-31j");
+	private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+	private static String decode(final byte[] content, final Optional<Charset> encoding, final Optional<Charset> legacyEncoding,
+			final int chunkSize) throws IOException {
+		final Path file = Files.createTempFile("action", ".c");
+		try {
+			Files.write(file, content);
+			final StringBuilder sb = new StringBuilder();
+			try (Reader reader = ActionFileDecoder.open(file, encoding, legacyEncoding)) {
+				final char[] chunk = new char[chunkSize];
+				int read;
+				while ((read = reader.read(chunk, 0, chunkSize)) != -1) {
+					sb.append(chunk, 0, read);
+				}
+			}
+			return sb.toString();
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static byte[] concat(final byte[] bom, final byte[] content) {
+		return ByteBuffer.allocate(bom.length + content.length).put(bom).put(content).array();
+	}
+
+	@Test
+	public void byteOrderMarkTest() throws IOException {
+		final byte[] utf8 = concat(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, ACTION.getBytes(StandardCharsets.UTF_8));
+		assertThat(decode(utf8, Optional.of(SHIFT_JIS), Optional.empty(), 1024)).isEqualTo(ACTION);
+		final byte[] utf16be = concat(new byte[]{(byte) 0xFE, (byte) 0xFF}, ACTION.getBytes(StandardCharsets.UTF_16BE));
+		assertThat(decode(utf16be, Optional.empty(), Optional.of(SHIFT_JIS), 1024)).isEqualTo(ACTION);
+		final byte[] utf16le = concat(new byte[]{(byte) 0xFF, (byte) 0xFE}, ACTION.getBytes(StandardCharsets.UTF_16LE));
+		assertThat(decode(utf16le, Optional.empty(), Optional.empty(), 7)).isEqualTo(ACTION);
+	}
+
+	@Test
+	public void declaredEncodingTest() throws IOException {
+		final String action = "Action()\n{\n\tweb_url(\"été\", LAST);\n}\n";
+		assertThat(decode(action.getBytes(WINDOWS_1252), Optional.of(WINDOWS_1252), Optional.empty(), 1024)).isEqualTo(action);
+	}
+
+	@Test
+	public void legacyEncodingTest() throws IOException {
+		final String action = "Action()\n{\n\tweb_url(\"ログイン\", LAST);\n}\n";
+		// valid UTF-8 is not decoded with the code page of the locale
+		assertThat(decode(ACTION.getBytes(StandardCharsets.UTF_8), Optional.empty(), Optional.of(SHIFT_JIS), 1024)).isEqualTo(ACTION);
+		assertThat(decode(action.getBytes(SHIFT_JIS), Optional.empty(), Optional.of(SHIFT_JIS), 1024)).isEqualTo(action);
+		assertThat(decode(action.getBytes(SHIFT_JIS), Optional.empty(), Optional.empty(), 1024)).isNotEqualTo(action);
+	}
+
+	@Test
+	public void surrogatePairTest() throws IOException {
+		final String action = "web_url(\"😀\", LAST);";
+		assertThat(decode(action.getBytes(StandardCharsets.UTF_8), Optional.empty(), Optional.empty(), 1)).isEqualTo(action);
+		assertThat(decode(new byte[0], Optional.empty(), Optional.empty(), 1)).isEmpty();
+	}
+
+	@Test
+	public void charStreamOfFileTest() throws IOException {
+		final String action = "Action()\n{\n\tweb_url(\"😀 ログイン\", LAST);\n}\n";
+		final Path file = Files.createTempFile("action", ".c");
+		try {
+			Files.write(file, action.getBytes(StandardCharsets.UTF_8));
+			final CharStream stream = LoadRunnerReader.loadAndCorrectGrammarFromLR(file, Optional.empty(), Optional.empty());
+			// one symbol per code point, as the char streams of ANTLR
+			assertThat(stream.size()).isEqualTo(action.codePointCount(0, action.length()));
+			assertThat(stream.toString()).isEqualTo(action);
+			assertThat(stream.getSourceName()).isEqualTo(file.getFileName().toString());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void isValidUtf8Test() {
+		assertThat(ActionFileDecoder.isValidUtf8(ByteBuffer.wrap(ACTION.getBytes(StandardCharsets.UTF_8)))).isTrue();
+		assertThat(ActionFileDecoder.isValidUtf8(ByteBuffer.wrap("été".getBytes(WINDOWS_1252)))).isFalse();
+		assertThat(ActionFileDecoder.isValidUtf8(ByteBuffer.wrap(new byte[]{'a', (byte) 0xE3, (byte) 0x83}))).isFalse();
+	}
+}
@@ -0,0 +1,79 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.google.common.hash.HashCode;
+import com.google.common.io.Files;
+import com.neotys.neoload.model.repository.Container;
+import com.neotys.neoload.model.repository.ImmutableContainer;
+import com.neotys.neoload.model.repository.ImmutableDelay;
+import com.neotys.neoload.model.repository.ImmutableGetPlainRequest;
+import com.neotys.neoload.model.repository.ImmutablePage;
+import com.neotys.neoload.model.repository.ImmutableServer;
+import com.neotys.neoload.model.repository.ImmutableTextValidator;
+import com.neotys.neoload.model.repository.Request;
+
+public class ConversionCacheTest {
+
+	private static final Container CONTAINER = ImmutableContainer.builder()
+			.name("Action")
+			.addChilds(ImmutablePage.builder()
+					.name("page")
+					.thinkTime(0)
+					.addChilds(ImmutableGetPlainRequest.builder()
+							.name("/index.html")
+							.path("/index.html")
+							.httpMethod(Request.HttpMethod.GET)
+							.server(ImmutableServer.builder().name("host").host("host").port("80").scheme("http").build())
+							.addValidators(ImmutableTextValidator.builder().name("check").validationText("Welcome").haveToContains(true).build())
+							.build())
+					.build())
+			.addChilds(ImmutableDelay.builder().name("delay").delay("1000").build())
+			.build();
+
+	@Test
+	public void saveAndLoadTest() throws IOException {
+		final File scriptFolder = Files.createTempDir();
+		final Path action = new File(scriptFolder, "Action.c").toPath();
+		Files.write("Action()\n{\n\treturn 0;\n}\n", action.toFile(), StandardCharsets.UTF_8);
+		Files.write("[General]\n", new File(scriptFolder, "script.usr"), StandardCharsets.UTF_8);
+		final Path cacheFile = new File(Files.createTempDir(), "cache.json").toPath();
+
+		final ConversionCache cache = ConversionCache.load(cacheFile);
+		final HashCode hash = ConversionCache.hashFile(ConversionCache.hashScript(scriptFolder), action, "Action");
+		assertThat(cache.get(action, hash)).isEqualTo(Optional.empty());
+		cache.put(action, hash, CONTAINER);
+		cache.save();
+
+		final ConversionCache loadedCache = ConversionCache.load(cacheFile);
+		assertThat(loadedCache.get(action, hash)).isEqualTo(Optional.of(CONTAINER));
+		// same file read as another container
+		assertThat(loadedCache.get(action, ConversionCache.hashFile(ConversionCache.hashScript(scriptFolder), action, "Action2")))
+				.isEqualTo(Optional.empty());
+		// modified script
+		Files.write("[General]\nParamLeftBrace=(\n", new File(scriptFolder, "script.usr"), StandardCharsets.UTF_8);
+		assertThat(loadedCache.get(action, ConversionCache.hashFile(ConversionCache.hashScript(scriptFolder), action, "Action")))
+				.isEqualTo(Optional.empty());
+		// entries not used by the last conversion are not saved again
+		loadedCache.save();
+		assertThat(ConversionCache.load(cacheFile).get(action, hash)).isEqualTo(Optional.of(CONTAINER));
+		ConversionCache.load(cacheFile).save();
+		assertThat(ConversionCache.load(cacheFile).get(action, hash)).isEqualTo(Optional.empty());
+	}
+
+	@Test
+	public void unreadableCacheTest() throws IOException {
+		final File cacheFile = new File(Files.createTempDir(), "cache.json");
+		Files.write("{ not json", cacheFile, StandardCharsets.UTF_8);
+		final Path action = cacheFile.toPath();
+		assertThat(ConversionCache.load(cacheFile.toPath()).get(action, HashCode.fromInt(0))).isEqualTo(Optional.empty());
+	}
+}
@@ -0,0 +1,85 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.Test;
+
+public class FlatActionScannerTest {
+
+	private static Optional<List<FlatActionScanner.Call>> scan(final String action) {
+		return FlatActionScanner.scan(CharStreams.fromString(action));
+	}
+
+	@Test
+	public void scanFlatActionTest() {
+		final Optional<List<FlatActionScanner.Call>> calls = scan("Action()\n"
+				+ "{\n"
+				+ "\t// comment\n"
+				+ "\tweb_add_cookie();\n"
+				+ "\t/* multi\n"
+				+ "\tline comment */\n"
+				+ "\tlr_think_time( 10 );\n"
+				+ "\t;\n"
+				+ "\tweb_url(\"page\",\n"
+				+ "\t\t\"URL=http://host/{param}?q=\\\"a\\\\b\\x41\\101\\u00e9\",\n"
+				+ "\t\tLAST);\n"
+				+ "\treturn 0;\n"
+				+ "}\n");
+		assertThat(calls).isPresent();
+		assertThat(calls.get()).hasSize(3);
+		assertThat(calls.get().get(0).getMethod()).isEqualTo(ImmutableMethodCall.builder().name("web_add_cookie").build());
+		assertThat(calls.get().get(0).getLine()).isEqualTo(4);
+		assertThat(calls.get().get(1).getMethod()).isEqualTo(ImmutableMethodCall.builder().name("lr_think_time").addParameters("10").build());
+		assertThat(calls.get().get(1).getLine()).isEqualTo(7);
+		assertThat(calls.get().get(2).getMethod()).isEqualTo(ImmutableMethodCall.builder().name("web_url")
+				.addParameters("\"page\"", "\"URL=http://host/{param}?q=\\\"a\\\\b\\x41\\101\\u00e9\"", "LAST").build());
+		assertThat(calls.get().get(2).getLine()).isEqualTo(9);
+		assertThat(calls.get().get(2).toContext().getStart().getLine()).isEqualTo(9);
+	}
+
+	@Test
+	public void scanActionFileTest() throws IOException {
+		try (InputStream stream = this.getClass().getResourceAsStream("ActionRequest.c")) {
+			final Optional<List<FlatActionScanner.Call>> calls = FlatActionScanner.scan(LoadRunnerReader.loadAndCorrectGrammarFromLR(stream));
+			assertThat(calls).isPresent();
+			assertThat(calls.get()).hasSize(1);
+			assertThat(calls.get().get(0).getMethod().getName()).isEqualTo("web_url");
+			assertThat(calls.get().get(0).getMethod().getParameters()).hasSize(43);
+			assertThat(calls.get().get(0).getLine()).isEqualTo(4);
+		}
+	}
+
+	@Test
+	public void notFlatActionTest() {
+		// expressions
+		assertThat(scan("Action()\n{\n\tmyMetthod(\"test\"+test,toto);\n\treturn 0;\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tlr_think_time(-1);\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tweb_url(lr_eval_string(\"{a}\"), LAST);\n}")).isEmpty();
+		// control flow and declarations
+		assertThat(scan("Action()\n{\n\tif (a) {\n\t\tweb_add_cookie();\n\t}\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tint i;\n}")).isEmpty();
+		assertThat(scan("int Action()\n{\n}")).isEmpty();
+		// macros
+		assertThat(scan("#include \"globals.h\"\nAction()\n{\n}")).isEmpty();
+		// literals not read as a single token
+		assertThat(scan("Action()\n{\n\tweb_url(\"a\" \"b\");\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tweb_url(\"a\\q\");\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tweb_url(L\"a\");\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tweb_url('a');\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tlr_think_time(010);\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tlr_think_time(1.5);\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tweb_url(true);\n}")).isEmpty();
+		// syntax errors
+		assertThat(scan("Action()\n{\n\tweb_url(\"a\")\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n\tweb_url(\"a\");\n")).isEmpty();
+		assertThat(scan("Action()\n{\n\tweb_url(\"a\n\");\n}")).isEmpty();
+		assertThat(scan("Action()\n{\n}\nint i;")).isEmpty();
+		assertThat(scan("")).isEmpty();
+	}
+}
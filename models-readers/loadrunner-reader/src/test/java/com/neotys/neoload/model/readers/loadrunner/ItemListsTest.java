@@ -0,0 +1,69 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class ItemListsTest {
+
+	private static final List<String> PARAMETERS = ImmutableList.of(
+			"\"submit\"",
+			"\"Action=https://host/login\"",
+			"ITEMDATA",
+			"\"Name=login\"", "\"Value={user}\"", "ENDITEM",
+			"\"Name=comment\"", "\"Value=a \\\"quoted\\\" text\"", "ENDITEM",
+			"\"Value=no name\"", "ENDITEM",
+			"\"Name=not ended\"",
+			"EXTRARES",
+			"\"URL=/style.css\"", "ENDITEM",
+			"\"Url=/image.png\"", "\"Referer=https://host/\"", "ENDITEM",
+			"LAST");
+
+	@Test
+	public void getSectionTest() {
+		final ItemLists itemLists = ItemLists.of(PARAMETERS);
+		assertThat(itemLists.getSection(MethodUtils.ITEM_BOUNDARY.ITEMDATA)).isEqualTo(Optional.of(PARAMETERS.subList(3, 12)));
+		assertThat(itemLists.getSection(MethodUtils.ITEM_BOUNDARY.EXTRARES)).isEqualTo(Optional.of(PARAMETERS.subList(13, 18)));
+		assertThat(ItemLists.of(PARAMETERS.subList(0, 2)).getSection(MethodUtils.ITEM_BOUNDARY.EXTRARES)).isEqualTo(Optional.empty());
+		// a quoted boundary ends a section without starting one
+		final ItemLists quoted = ItemLists.of(ImmutableList.of("EXTRARES", "\"URL=/a\"", "ENDITEM", "\"ITEMDATA\"", "\"URL=/b\""));
+		assertThat(quoted.getSection(MethodUtils.ITEM_BOUNDARY.EXTRARES)).isEqualTo(Optional.of(ImmutableList.of("\"URL=/a\"", "ENDITEM")));
+		assertThat(quoted.getSection(MethodUtils.ITEM_BOUNDARY.ITEMDATA)).isEqualTo(Optional.empty());
+	}
+
+	@Test
+	public void getItemsTest() {
+		final ItemLists itemLists = ItemLists.of(PARAMETERS);
+		final List<Item> items = itemLists.getItems("{", "}", MethodUtils.ITEM_BOUNDARY.ITEMDATA).get();
+		assertThat(items).hasSize(3);
+		assertThat(items.get(0).getAttribute("Name")).isEqualTo(Optional.of("login"));
+		assertThat(items.get(0).getAttribute("value")).isEqualTo(Optional.of("${user}"));
+		assertThat(items.get(1).getAttribute("Value")).isEqualTo(Optional.of("a \"quoted\" text"));
+		assertThat(items.get(2).getAttribute("Name")).isEqualTo(Optional.empty());
+
+		final List<Item> resources = itemLists.getItems("{", "}", MethodUtils.ITEM_BOUNDARY.EXTRARES).get();
+		assertThat(resources).hasSize(2);
+		assertThat(resources.get(0).getAttribute("URL")).isEqualTo(Optional.of("/style.css"));
+		assertThat(resources.get(1).getAttribute("URL")).isEqualTo(Optional.of("/image.png"));
+		assertThat(itemLists.getItems("{", "}", MethodUtils.ITEM_BOUNDARY.LAST)).isEqualTo(Optional.of(ImmutableList.of()));
+	}
+
+	@Test
+	public void sameAsNormalizedItemsTest() {
+		for (final MethodUtils.ITEM_BOUNDARY section : MethodUtils.ITEM_BOUNDARY.values()) {
+			final List<Item> items = ItemLists.of(PARAMETERS).getItems("{", "}", section).get();
+			final List<Item> normalizedItems = MethodUtils.parseItemList(MethodUtils.extractItemListAsStringList("{", "}", PARAMETERS, section.name()).get());
+			assertThat(items).hasSize(normalizedItems.size());
+			for (int i = 0; i < items.size(); i++) {
+				for (final String name : ImmutableList.of("Name", "Value", "URL", "Referer")) {
+					assertThat(items.get(i).getAttribute(name)).isEqualTo(normalizedItems.get(i).getAttribute(name));
+				}
+			}
+		}
+	}
+}
@@ -6,6 +6,9 @@ import static org.assertj.core.api.Assertions.fail;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
 
 import com.neotys.neoload.model.listener.TestEventListener;
 import org.apache.commons.io.FileUtils;
@@ -16,10 +19,21 @@ import com.neotys.neoload.model.repository.Container;
 import com.neotys.neoload.model.repository.Delay;
 import com.neotys.neoload.model.repository.ImmutableServer;
 import com.neotys.neoload.model.repository.Page;
+import com.neotys.neoload.model.repository.Request;
 import com.neotys.neoload.model.Project;
 import com.neotys.neoload.model.repository.Server;
+import com.neotys.neoload.model.repository.UserPath;
 
 public class LoadRunnerReaderTest {
+
+    private static final Pattern REQUEST_NAME = Pattern.compile("name=[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    /**
+     * The requests are named with random UUIDs, the elements read twice from the same file are compared without them.
+     */
+    private static String withoutRequestNames(final Object element) {
+        return REQUEST_NAME.matcher(element.toString()).replaceAll("name=<request>");
+    }
 	
     @Test
     public void methodReaderTest() {
@@ -60,6 +74,51 @@ public class LoadRunnerReaderTest {
         }
     }
 
+    @Test
+    public void flatActionsAreReadAsParsedTest() throws IOException {
+        for (final String action : new String[]{"Action.c", "ActionRequest.c", "ActionTransaction.c", "ActionSubTransaction.c",
+                "sample/Action.c", "sample/ActionTransaction.c", "sample/vuser_init.c", "sample/vuser_end.c"}) {
+            final LoadRunnerReader scanningReader = new LoadRunnerReader(new TestEventListener(), "", "");
+            final LoadRunnerReader parsingReader = new LoadRunnerReader(new TestEventListener(), "", "");
+            try (InputStream scannedStream = this.getClass().getResourceAsStream(action);
+                 InputStream parsedStream = this.getClass().getResourceAsStream(action)) {
+                assertThat(withoutRequestNames(scanningReader.parseCppFile("{", "}", scannedStream, "MyContainer")))
+                        .isEqualTo(withoutRequestNames(parsingReader.parseCppFile("{", "}", parsedStream, "MyContainer", false)));
+            }
+        }
+        final LoadRunnerReader reader = new LoadRunnerReader(new TestEventListener(), "", "");
+        try (InputStream targetStream = this.getClass().getResourceAsStream("ActionRequest.c")) {
+            reader.parseCppFile("{", "}", targetStream, "MyContainer");
+        }
+        assertThat(reader.getParsingStatistics().getScannedFiles()).isEqualTo(1);
+    }
+
+    @Test
+    public void sharedParserCachesTest() throws Exception {
+        final LoadRunnerReader reader = new LoadRunnerReader(new TestEventListener(), "", "");
+        final Container firstParse;
+        try (InputStream targetStream = this.getClass().getResourceAsStream("ActionRequest.c")) {
+            firstParse = reader.parseCppFile("{", "}", targetStream, "MyContainer", false);
+        }
+        // parsed again on another thread with the caches learned on the first parse
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Container secondParse = executor.submit(() -> {
+                try (InputStream targetStream = this.getClass().getResourceAsStream("ActionRequest.c")) {
+                    return reader.parseCppFile("{", "}", targetStream, "MyContainer", false);
+                }
+            }).get();
+            assertThat(withoutRequestNames(secondParse)).isEqualTo(withoutRequestNames(firstParse));
+        } finally {
+            executor.shutdown();
+        }
+        LoadRunnerReader.clearParserCaches();
+        try (InputStream targetStream = this.getClass().getResourceAsStream("ActionRequest.c")) {
+            assertThat(withoutRequestNames(reader.parseCppFile("{", "}", targetStream, "MyContainer", false)))
+                    .isEqualTo(withoutRequestNames(firstParse));
+        }
+    }
+
     @Test
     public void readTest() throws IOException {
         File myTempDir = Files.createTempDir();
@@ -79,6 +138,96 @@ public class LoadRunnerReaderTest {
         assertThat(project.getUserPaths().get(0).getActionsContainer().getChilds().get(1).getName()).isEqualTo("ActionTransaction");
         assertThat(((Container)project.getUserPaths().get(0).getActionsContainer().getChilds().get(0)).getChilds().get(0).getName()).isEqualTo("My transaction");
         assertThat(project.getUserPaths().get(0).getEndContainer().getChilds().size()).isEqualTo(1);
+        // init, 2 actions and end
+        assertThat(reader.getParsingStatistics().getScannedFiles() + reader.getParsingStatistics().getSllParsedFiles()
+                + reader.getParsingStatistics().getLlParsedFiles()).isEqualTo(4);
+        // the variables of the script are not kept by the thread which read it
+        assertThat(MethodUtils.getCorrespondingVariableNameForNL("NewParam")).isEqualTo("NewParam");
+    }
+
+    @Test
+    public void readInParallelTest() throws IOException {
+        File myTempDir = Files.createTempDir();
+        for (final String scriptName : new String[]{"script1", "script2", "script3"}) {
+            final File scriptDir = new File(myTempDir, scriptName);
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/vuser_init.c"), new File(scriptDir, "vuser_init.c"));
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/Action.c"), new File(scriptDir, "Action.c"));
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/ActionTransaction.c"), new File(scriptDir, "ActionTransaction.c"));
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/vuser_end.c"), new File(scriptDir, "vuser_end.c"));
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("projectTest/projectTest.usr"), new File(scriptDir, scriptName + ".usr"));
+        }
+
+        final Project sequentialProject = new LoadRunnerReader(new TestEventListener(), myTempDir.getPath(), "myProject").read();
+        final Project parallelProject = new LoadRunnerReader(new TestEventListener(), myTempDir.getPath(), "myProject", 3).read();
+        assertThat(parallelProject.getUserPaths().size()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(parallelProject.getUserPaths().get(i).getName()).isEqualTo(sequentialProject.getUserPaths().get(i).getName());
+            assertThat(parallelProject.getUserPaths().get(i).getActionsContainer().getChilds().size())
+                    .isEqualTo(sequentialProject.getUserPaths().get(i).getActionsContainer().getChilds().size());
+        }
+        assertThat(parallelProject.getServers()).isEqualTo(sequentialProject.getServers());
+    }
+
+    @Test
+    public void readServersInParallelTest() throws IOException {
+        File myTempDir = Files.createTempDir();
+        // the three hosts are normalized to the same server name
+        final String[] hosts = {"my*host.com", "my_host.com", "my|host.com"};
+        for (int i = 0; i < hosts.length; i++) {
+            final File scriptDir = new File(myTempDir, "script" + (i + 1));
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/vuser_init.c"), new File(scriptDir, "vuser_init.c"));
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/ActionTransaction.c"), new File(scriptDir, "ActionTransaction.c"));
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/vuser_end.c"), new File(scriptDir, "vuser_end.c"));
+            FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("projectTest/projectTest.usr"), new File(scriptDir, "script" + (i + 1) + ".usr"));
+            FileUtils.write(new File(scriptDir, "Action.c"), "Action()\n{\n\tweb_url(\"page\",\n\t\t\"URL=http://" + hosts[i]
+                    + "/index.html\");\n\n\treturn 0;\n}\n", "UTF-8");
+        }
+
+        final Project firstProject = new LoadRunnerReader(new TestEventListener(), myTempDir.getPath(), "myProject", 3).read();
+        final Project secondProject = new LoadRunnerReader(new TestEventListener(), myTempDir.getPath(), "myProject", 3).read();
+        final Project sequentialProject = new LoadRunnerReader(new TestEventListener(), myTempDir.getPath(), "myProject").read();
+        assertThat(secondProject.getServers()).isEqualTo(firstProject.getServers());
+        assertThat(sequentialProject.getServers()).isEqualTo(firstProject.getServers());
+        // the servers are named in the order of the scripts, and the requests use the renamed servers
+        for (int i = 0; i < hosts.length; i++) {
+            final UserPath userPath = firstProject.getUserPaths().get(i);
+            final String name = i == 0 ? "my_host.com" : "my_host.com_" + i;
+            final Server server = firstProject.getServers().stream().filter(s -> s.getName().equals(name)).findFirst().get();
+            assertThat(server.getHost()).isEqualTo(hosts[Integer.parseInt(userPath.getName().substring("script".length())) - 1]);
+            final Container action = (Container) userPath.getActionsContainer().getChilds().get(0);
+            final Request request = (Request) ((Page) action.getChilds().get(0)).getChilds().get(0);
+            assertThat(request.getServer().get()).isEqualTo(server);
+        }
+    }
+
+    @Test
+    public void incrementalReadTest() throws IOException {
+        File myTempDir = Files.createTempDir();
+        FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/vuser_init.c"), new File(myTempDir.getPath(),"vuser_init.c"));
+        FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/Action.c"), new File(myTempDir.getPath(),"Action.c"));
+        FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/ActionTransaction.c"), new File(myTempDir.getPath(),"ActionTransaction.c"));
+        FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("sample/vuser_end.c"), new File(myTempDir.getPath(),"vuser_end.c"));
+        FileUtils.copyInputStreamToFile(LoadRunnerReaderTest.class.getResourceAsStream("projectTest/projectTest.usr"), new File(myTempDir.getPath(),"projectTest.usr"));
+        final File cacheFile = new File(Files.createTempDir(), "conversion-cache.json");
+
+        final LoadRunnerReader firstReader = new LoadRunnerReader(new TestEventListener(), myTempDir.getPath(), "myProject", 1,
+                ConversionCache.load(cacheFile.toPath()));
+        final Project firstProject = firstReader.read();
+        assertThat(firstReader.getParsingStatistics().getCachedFiles()).isEqualTo(0);
+        assertThat(cacheFile).exists();
+
+        final LoadRunnerReader secondReader = new LoadRunnerReader(new TestEventListener(), myTempDir.getPath(), "myProject", 1,
+                ConversionCache.load(cacheFile.toPath()));
+        assertThat(secondReader.read()).isEqualTo(firstProject);
+        assertThat(secondReader.getParsingStatistics().getCachedFiles()).isEqualTo(4);
+
+        // only the modified action is read again
+        FileUtils.write(new File(myTempDir.getPath(), "Action.c"), "\n// modified\n", "UTF-8", true);
+        final LoadRunnerReader thirdReader = new LoadRunnerReader(new TestEventListener(), myTempDir.getPath(), "myProject", 1,
+                ConversionCache.load(cacheFile.toPath()));
+        // the requests of the action read again are named with new UUIDs
+        assertThat(withoutRequestNames(thirdReader.read())).isEqualTo(withoutRequestNames(firstProject));
+        assertThat(thirdReader.getParsingStatistics().getCachedFiles()).isEqualTo(3);
     }
 
     @Test
@@ -0,0 +1,46 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class MethodParametersTest {
+
+	private static final MethodParameters PARAMETERS = MethodParameters.of(ImmutableList.of(
+			"\"first\"",
+			"\"URL=http://host/path?a=b\"",
+			"Method=POST",
+			"\"TextPfx=prefix\"",
+			"\"url=second url\"",
+			"\"Body=a=b\""));
+
+	@Test
+	public void getWithNameTest() {
+		assertThat(PARAMETERS.getWithName("URL")).isEqualTo(Optional.of("\"URL=http://host/path?a=b\""));
+		assertThat(PARAMETERS.getWithName("url")).isEqualTo(Optional.of("\"URL=http://host/path?a=b\""));
+		assertThat(PARAMETERS.getWithName("method")).isEqualTo(Optional.of("Method=POST"));
+		assertThat(PARAMETERS.getWithName("Body")).isEqualTo(Optional.of("\"Body=a=b\""));
+		assertThat(PARAMETERS.getWithName("Text")).isEqualTo(Optional.empty());
+		assertThat(PARAMETERS.getWithName("first")).isEqualTo(Optional.empty());
+		assertThat(PARAMETERS.getWithName("a")).isEqualTo(Optional.empty());
+	}
+
+	@Test
+	public void getStartingWithTest() {
+		assertThat(PARAMETERS.getStartingWith("Text")).isEqualTo(Optional.of("\"TextPfx=prefix\""));
+		assertThat(PARAMETERS.getStartingWith("FIRST")).isEqualTo(Optional.of("\"first\""));
+		assertThat(PARAMETERS.getStartingWith("meth")).isEqualTo(Optional.of("Method=POST"));
+		assertThat(PARAMETERS.getStartingWith("TextSfx")).isEqualTo(Optional.empty());
+	}
+
+	@Test
+	public void methodCallTest() {
+		final MethodCall method = ImmutableMethodCall.builder().name("web_url").addParameters("\"URL=http://host\"").build();
+		assertThat(method.getIndexedParameters()).isSameAs(method.getIndexedParameters());
+		assertThat(MethodUtils.getParameterValueWithName("{", "}", method, "URL")).isEqualTo(Optional.of("http://host"));
+	}
+}
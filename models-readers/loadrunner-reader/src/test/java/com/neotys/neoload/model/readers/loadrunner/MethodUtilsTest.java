@@ -61,12 +61,33 @@ public class MethodUtilsTest {
 		assertThat(MethodUtils.normalizeVariables("&", "@", "\"a &custom exemple@ try\"")).isEqualTo("\"a ${custom exemple} try\"");
     }
 
+    @Test
+    public void normalizeVariablesNotMatchingTest() {
+        final String noVariable = "no variable";
+        assertThat(MethodUtils.normalizeVariables("{", "}", noVariable)).isSameAs(noVariable);
+        assertThat(MethodUtils.normalizeVariables("{", "}", "empty {} and {unclosed")).isEqualTo("empty {} and {unclosed");
+        assertThat(MethodUtils.normalizeVariables("{", "}", "{multi\nline} {text}")).isEqualTo("{multi\nline} ${text}");
+        assertThat(MethodUtils.normalizeVariables("{", "}", "{{nested}}")).isEqualTo("${{nested}}");
+        assertThat(MethodUtils.normalizeVariables("{[[", "]]}", "{[[a]]}{[[]]}")).isEqualTo("${a}{[[]]}");
+    }
+
     @Test
 	public void unescapeTest() {
     	assertThat(MethodUtils.unescape(null)).isEqualTo(null);
     	assertThat(MethodUtils.unescape("MyString is \\\"value\\\"")).isEqualTo("MyString is \"value\"");
 		assertThat(MethodUtils.unescape("MyString is \"value\"")).isEqualTo("MyString is \"value\"");
 	}
+
+    @Test
+	public void unescapeEscapesTest() {
+		final String noBackslash = "no backslash";
+		assertThat(MethodUtils.unescape(noBackslash)).isSameAs(noBackslash);
+		assertThat(MethodUtils.unescape("a\\\\b")).isEqualTo("a\\b");
+		assertThat(MethodUtils.unescape("it\\'s")).isEqualTo("it's");
+		assertThat(MethodUtils.unescape("\\r\\n")).isEqualTo("rn");
+		assertThat(MethodUtils.unescape("\\\\\\\"")).isEqualTo("\\\"");
+		assertThat(MethodUtils.unescape("end\\")).isEqualTo("end");
+	}
     
     @Test
     public void queryToParameterListTestWithSingleKeyValue() {
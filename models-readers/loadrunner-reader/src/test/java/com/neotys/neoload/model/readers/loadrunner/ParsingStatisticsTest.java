@@ -0,0 +1,29 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ParsingStatisticsTest {
+
+	@Test
+	public void countersTest() {
+		final ParsingStatistics statistics = new ParsingStatistics();
+		statistics.cached();
+		statistics.scanned();
+		statistics.sllSucceeded();
+		statistics.sllSucceeded();
+		statistics.llNeeded();
+		assertThat(statistics.getCachedFiles()).isEqualTo(1);
+		assertThat(statistics.getScannedFiles()).isEqualTo(1);
+		assertThat(statistics.getSllParsedFiles()).isEqualTo(2);
+		assertThat(statistics.getLlParsedFiles()).isEqualTo(1);
+		assertThat(statistics.toString()).isEqualTo("1 file(s) taken from the cache, 1 read without parsing, 2 parsed with SLL prediction, 1 with LL prediction");
+
+		statistics.clear();
+		assertThat(statistics.getCachedFiles()).isEqualTo(0);
+		assertThat(statistics.getScannedFiles()).isEqualTo(0);
+		assertThat(statistics.getSllParsedFiles()).isEqualTo(0);
+		assertThat(statistics.getLlParsedFiles()).isEqualTo(0);
+	}
+}
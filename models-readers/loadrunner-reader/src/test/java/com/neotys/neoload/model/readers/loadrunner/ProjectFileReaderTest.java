@@ -4,7 +4,9 @@ import static org.junit.Assert.assertEquals;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.util.Map;
+import java.util.Optional;
 
 import com.neotys.neoload.model.listener.TestEventListener;
 import com.neotys.neoload.model.readers.loadrunner.filereader.ProjectFileReader;
@@ -28,6 +30,9 @@ public class ProjectFileReaderTest {
 		assertEquals(actionsMap.size(), 4);
 		assertEquals(Iterables.get(actionsMap.values(),0), "vuser_init.c");
 		assertEquals(Iterables.get(actionsMap.values(),2), "ActionTransaction.c");
+		// empty encoding, fr-FR locale
+		assertEquals(pfr.getEncoding(), Optional.empty());
+		assertEquals(pfr.getLegacyEncoding(), Optional.of(Charset.forName("windows-1252")));
 	}
 
 }
@@ -0,0 +1,36 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.neotys.neoload.model.repository.ImmutableServer;
+import com.neotys.neoload.model.repository.Server;
+
+public class ServerRegistryTest {
+
+	@Test
+	public void getOrAddIdenticalServerTest() {
+		final ServerRegistry registry = new ServerRegistry();
+		final Server server = registry.getOrAdd(ImmutableServer.builder().host("myhost").port("80").name("myhost").scheme("http").build());
+		assertThat(registry.getOrAdd(ImmutableServer.builder().host("myhost").port("80").name("myhost").scheme("http").build())).isSameAs(server);
+		assertThat(registry.getServers()).containsExactly(server);
+	}
+
+	@Test
+	public void getOrAddServerWithSameNameTest() {
+		final ServerRegistry registry = new ServerRegistry();
+		final Server server1 = registry.getOrAdd(ImmutableServer.builder().host("myhost").port("80").name("myhost").scheme("http").build());
+		final Server server2 = registry.getOrAdd(ImmutableServer.builder().host("myhost").port("443").name("myhost").scheme("https").build());
+		final Server server3 = registry.getOrAdd(ImmutableServer.builder().host("myhost2").port("80").name("myhost").scheme("http").build());
+		final Server server4 = registry.getOrAdd(ImmutableServer.builder().host("myhost3").port("80").name("myhost").scheme("http").build());
+		// the servers of a host share its name
+		assertThat(server2.getName()).isEqualTo("myhost");
+		assertThat(server3.getName()).isEqualTo("myhost_1");
+		assertThat(server3.getHost()).isEqualTo("myhost2");
+		assertThat(server4.getName()).isEqualTo("myhost_2");
+		assertThat(registry.getOrAdd(server3)).isSameAs(server3);
+		assertThat(registry.getOrAdd(ImmutableServer.builder().host("myhost2").port("80").name("myhost_1").scheme("http").build())).isSameAs(server3);
+		assertThat(registry.getServers()).containsExactly(server1, server2, server3, server4);
+	}
+}
@@ -0,0 +1,53 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class StringLiteralJoiningReaderTest {
+
+	private static final String PATTERN = "\"\\s*\\n\\s*\"";
+
+	private static String join(final String text, final int chunkSize) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		try (Reader reader = new StringLiteralJoiningReader(new StringReader(text))) {
+			final char[] chunk = new char[chunkSize];
+			int read;
+			while ((read = reader.read(chunk, 0, chunkSize)) != -1) {
+				sb.append(chunk, 0, read);
+			}
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void joinTest() throws IOException {
+		assertThat(join("web_url(\"a\",\n\t\"Body=abc\"\n\t\t\"def\"\r\n  \"ghi\",\n\tLAST);", 1024))
+				.isEqualTo("web_url(\"a\",\n\t\"Body=abcdefghi\",\n\tLAST);");
+		// a new line is needed
+		assertThat(join("\"abc\" \"def\"", 1024)).isEqualTo("\"abc\" \"def\"");
+		assertThat(join("\"abc\"\n", 1024)).isEqualTo("\"abc\"\n");
+		assertThat(join("\"a\"\n\"\"\n\"b\"", 1024)).isEqualTo("\"ab\"");
+		assertThat(join("", 1024)).isEmpty();
+	}
+
+	@Test
+	public void sameAsRegularExpressionTest() throws IOException {
+		final Random random = new Random(42);
+		final char[] alphabet = {'"', '"', ' ', '\t', '\n', '\r', 'a', ',', '\f'};
+		for (int i = 0; i < 2000; i++) {
+			final StringBuilder text = new StringBuilder();
+			final int length = random.nextInt(40);
+			for (int j = 0; j < length; j++) {
+				text.append(alphabet[random.nextInt(alphabet.length)]);
+			}
+			final String expected = text.toString().replaceAll(PATTERN, "");
+			assertThat(join(text.toString(), 1 + random.nextInt(5))).isEqualTo(expected);
+		}
+	}
+}
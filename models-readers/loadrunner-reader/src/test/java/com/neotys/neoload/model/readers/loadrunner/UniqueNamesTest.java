@@ -0,0 +1,39 @@
+package com.neotys.neoload.model.readers.loadrunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.neotys.neoload.model.repository.ImmutableDelay;
+
+public class UniqueNamesTest {
+
+	private static String add(final UniqueNames names, final String name) {
+		return names.add(ImmutableDelay.builder().name(name).delay("0").build()).getName();
+	}
+
+	@Test
+	public void addTest() {
+		final UniqueNames names = new UniqueNames();
+		assertThat(add(names, "page")).isEqualTo("page");
+		assertThat(add(names, "page")).isEqualTo("page_1");
+		assertThat(add(names, "page_3")).isEqualTo("page_3");
+		assertThat(add(names, "page")).isEqualTo("page_2");
+		// page_3 is used
+		assertThat(add(names, "page")).isEqualTo("page_4");
+		assertThat(add(names, "page_1")).isEqualTo("page_1_1");
+		assertThat(add(names, "other")).isEqualTo("other");
+
+		// the names of another container are independent
+		assertThat(add(new UniqueNames(), "page")).isEqualTo("page");
+	}
+
+	@Test
+	public void manySameNamesTest() {
+		final UniqueNames names = new UniqueNames();
+		assertThat(add(names, "request")).isEqualTo("request");
+		for (int i = 1; i <= 100_000; i++) {
+			assertThat(add(names, "request")).isEqualTo("request_" + i);
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package com.neotys.neoload.model.readers.loadrunner;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 import org.junit.Test;
@@ -117,6 +119,15 @@ public class WebCustomRequestTest {
 		assertEquals("dGV4dGUgYSBjb252ZXJ0aXIgZW4gYmluYWlyZQ==", Base64.getEncoder().encodeToString(((PostBinaryRequest)pageGenerated.getChilds().get(0)).getBinaryData()));
 	}
 	
+	@Test
+	public void hexStringToByteArrayTest() {
+		assertArrayEquals(new byte[]{'a', 0x00, (byte) 0xFF, 'b', 0x1A}, WebCustomRequest.hexStringToByteArray("a\\x00\\xFFb\\x1a"));
+		assertArrayEquals(new byte[0], WebCustomRequest.hexStringToByteArray(""));
+		// malformed escapes are kept as chars
+		assertArrayEquals("\\xZ1\\x4".getBytes(StandardCharsets.US_ASCII), WebCustomRequest.hexStringToByteArray("\\xZ1\\x4"));
+		assertArrayEquals(new byte[]{'\\', 0x41, '\\', 'x'}, WebCustomRequest.hexStringToByteArray("\\\\x41\\x"));
+	}
+
 	@Test
 	public void toElementTest() {		
 		ImmutablePage pageGenerated = (ImmutablePage) WebCustomRequest.toElement(LOAD_RUNNER_VISITOR, WEB_CUSTOM_DATA_TEST2);
@@ -3,7 +3,9 @@ package com.neotys.neoload.model.readers.loadrunner.filereader;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.util.stream.Stream;
 
 import com.neotys.neoload.model.listener.TestEventListener;
 import com.neotys.neoload.model.readers.loadrunner.LoadRunnerReader;
@@ -72,7 +74,7 @@ public class ParameterFileReaderTest {
 	}
 
 	@Test
-	public void tableVariableColumnsWithDifferentFileTest() {
+	public void tableVariableColumnsWithDifferentFileTest() throws IOException {
 		URL url = this.getClass().getResource("../projectTest");
 		File projectFolder = new File(url.getFile());
 		final LoadRunnerReader reader = new LoadRunnerReader(new TestEventListener(), "", "");
@@ -82,14 +84,14 @@ public class ParameterFileReaderTest {
 		assertThat(pfr.getVariable("NewParam")).isNotNull();
 		assertThat(pfr.getVariable("NewParam")).isInstanceOf(FileVariable.class);
 		assertThat(((FileVariable)pfr.getVariable("NewParam")).getColumnsNames()).containsExactly("param5","Col 3");
-		assertThat(((FileVariable)pfr.getVariable("NewParam")).getData()).isNotEmpty();
+		assertThat(((FileVariable)pfr.getVariable("NewParam")).getRows()).isNotEmpty();
 		String[][] expectedData = {{"value12", "value31"}, {"value15", "value32"}};
-		assertThat(((FileVariable)pfr.getVariable("NewParam")).getData().get()).contains(expectedData);
+		assertThat(readRows((FileVariable)pfr.getVariable("NewParam"))).contains(expectedData);
 
 	}
 
 	@Test
-	public void tableVariableColumnsWithDifferentFileSizeTest() {
+	public void tableVariableColumnsWithDifferentFileSizeTest() throws IOException {
 		URL url = this.getClass().getResource("../projectTest");
 		File projectFolder = new File(url.getFile());
 		final LoadRunnerReader reader = new LoadRunnerReader(new TestEventListener(), "", "");
@@ -99,13 +101,13 @@ public class ParameterFileReaderTest {
 		assertThat(pfr.getVariable("param1")).isNotNull();
 		assertThat(pfr.getVariable("param1")).isInstanceOf(FileVariable.class);
 		assertThat(((FileVariable)pfr.getVariable("param1")).getColumnsNames()).containsExactly("param2","param6");
-		assertThat(((FileVariable)pfr.getVariable("param1")).getData()).isNotEmpty();
+		assertThat(((FileVariable)pfr.getVariable("param1")).getRows()).isNotEmpty();
 		String[][] expectedData = {{"value2", "value13"}, {"value5", "value16"}, {"value8",""}};
-		assertThat(((FileVariable)pfr.getVariable("param1")).getData().get()).contains(expectedData);
+		assertThat(readRows((FileVariable)pfr.getVariable("param1"))).contains(expectedData);
 	}
 
 	@Test
-	public void tableVariableColumnsWithDifferentFileSize2Test() {
+	public void tableVariableColumnsWithDifferentFileSize2Test() throws IOException {
 		URL url = this.getClass().getResource("../projectTest");
 		File projectFolder = new File(url.getFile());
 		final LoadRunnerReader reader = new LoadRunnerReader(new TestEventListener(), "", "");
@@ -115,9 +117,9 @@ public class ParameterFileReaderTest {
 		assertThat(pfr.getVariable("param2_1")).isNotNull();
 		assertThat(pfr.getVariable("param2_1")).isInstanceOf(FileVariable.class);
 		assertThat(((FileVariable)pfr.getVariable("param2_1")).getColumnsNames()).containsExactly("param6","param2");
-		assertThat(((FileVariable)pfr.getVariable("param2_1")).getData()).isNotEmpty();
+		assertThat(((FileVariable)pfr.getVariable("param2_1")).getRows()).isNotEmpty();
 		String[][] expectedData = {{"value13", "value2"}, {"value16", "value5"}};
-		assertThat(((FileVariable)pfr.getVariable("param2_1")).getData().get()).contains(expectedData);
+		assertThat(readRows((FileVariable)pfr.getVariable("param2_1"))).contains(expectedData);
 
 	}
 
@@ -135,4 +137,10 @@ public class ParameterFileReaderTest {
 	}
 	
 	
+
+	private static String[][] readRows(final FileVariable variable) throws IOException {
+		try (Stream<String[]> rows = variable.getRows().get().open()) {
+			return rows.toArray(String[][]::new);
+		}
+	}
 }
@@ -3,16 +3,19 @@ package com.neotys.neoload.model.readers.loadrunner.filereader;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.ini4j.Ini;
 import org.ini4j.Profile;
 import org.junit.Test;
 
 import com.neotys.neoload.model.repository.FileVariable;
+import com.neotys.neoload.model.repository.ImmutableFileVariable;
 import com.neotys.neoload.model.repository.Variable;
 
 public class ParametersReaderUtilsTest {
@@ -127,4 +130,76 @@ public class ParametersReaderUtilsTest {
 	}
 
 	
+	@Test
+	public void handleDataForFileVariableTest() throws IOException {
+		final File folder = new File(this.getClass().getResource("../projectTest").getFile());
+		final FileVariable reference = ImmutableFileVariable.builder()
+				.name("reference")
+				.columnsDelimiter(",")
+				.addColumnsNames("param1")
+				.fileName(folder.getPath() + File.separator + "param1.dat")
+				.firstLineIsColumnName(false)
+				.numOfFirstRowData(1)
+				.policy(Variable.VariablePolicy.EACH_ITERATION)
+				.scope(Variable.VariableScope.GLOBAL)
+				.build();
+		final Ini ini = new Ini();
+		final Profile.Section section = ini.add("parameter:sameLine");
+		section.put("ParamName", "sameLine");
+		section.put("ColumnName", "param3");
+		section.put("Table", "param4.dat");
+		section.put("Delimiter", ",");
+
+		final FileVariable variable = ParametersReaderUtils.handleDataForFileVariable("{", "}", section, reference, folder);
+		assertThat(variable.getData()).isEqualTo(Optional.empty());
+		assertThat(variable.getFileName()).isEqualTo(Optional.empty());
+		final String[][] expectedRows = {
+				{"value1", "value3"},
+				{"value4", ""},
+				{"value7", "value9"}
+		};
+		// the files are read again each time the rows are opened
+		for (int i = 0; i < 2; i++) {
+			try (Stream<String[]> rows = variable.getRows().get().open()) {
+				assertThat(rows.toArray(String[][]::new)).containsExactly(expectedRows);
+			}
+		}
+
+		// reference shorter than the new column
+		final FileVariable shortReference = ImmutableFileVariable.builder().from(reference)
+				.fileName(Optional.empty())
+				.data(new String[][]{{"a"}, {"b"}})
+				.build();
+		try (Stream<String[]> rows = ParametersReaderUtils.handleDataForFileVariable("{", "}", section, shortReference, folder).getRows().get().open()) {
+			assertThat(rows.toArray(String[][]::new)).containsExactly(new String[][]{{"a", "value3"}, {"b", ""}});
+		}
+	}
+
+	@Test
+	public void handleDataForFileVariableEqualityTest() {
+		final File folder = new File(this.getClass().getResource("../projectTest").getFile());
+		final FileVariable reference = ImmutableFileVariable.builder()
+				.name("reference")
+				.columnsDelimiter(",")
+				.addColumnsNames("param1")
+				.fileName(folder.getPath() + File.separator + "param1.dat")
+				.firstLineIsColumnName(false)
+				.numOfFirstRowData(1)
+				.policy(Variable.VariablePolicy.EACH_ITERATION)
+				.scope(Variable.VariableScope.GLOBAL)
+				.build();
+		final Ini ini = new Ini();
+		final Profile.Section section = ini.add("parameter:sameLine");
+		section.put("ParamName", "sameLine");
+		section.put("ColumnName", "param3");
+		section.put("Table", "param4.dat");
+		section.put("Delimiter", ",");
+
+		// each read has its own rows source
+		final FileVariable variable = ParametersReaderUtils.handleDataForFileVariable("{", "}", section, reference, folder);
+		final FileVariable sameVariable = ParametersReaderUtils.handleDataForFileVariable("{", "}", section, reference, folder);
+		assertThat(variable.getRows().get()).isNotSameAs(sameVariable.getRows().get());
+		assertThat(variable).isEqualTo(sameVariable);
+		assertThat(variable.hashCode()).isEqualTo(sameVariable.hashCode());
+	}
 }
@@ -0,0 +1,98 @@
+package com.neotys.neoload.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+
+/**
+ * Persistence of a whole {@link Project} with the Jackson mapping of the model, so that the scripts read once can be
+ * written to NeoLoad many times without being read again.
+ * The binary format is the most compact and the fastest to load, JSON being there to look at a saved project.
+ * Thread safe, an instance is meant to be reused.
+ */
+public final class ProjectSerializer {
+
+	public enum Format {
+		/**
+		 * Binary JSON, the repeated names and short values (servers, headers...) being written once.
+		 */
+		SMILE {
+			@Override
+			JsonFactory newFactory() {
+				return new SmileFactory().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+			}
+		},
+		JSON {
+			@Override
+			JsonFactory newFactory() {
+				return new JsonFactory();
+			}
+		};
+
+		abstract JsonFactory newFactory();
+	}
+
+	private final ObjectReader reader;
+	private final ObjectWriter writer;
+
+	private ProjectSerializer(final ObjectMapper mapper) {
+		this.reader = mapper.readerFor(Project.class).without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+		this.writer = mapper.writerFor(Project.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	public static ProjectSerializer of(final Format format) {
+		return new ProjectSerializer(newObjectMapper(format.newFactory()));
+	}
+
+	/**
+	 * @return a mapper of the model elements, the absent optional values being omitted.
+	 */
+	public static ObjectMapper newObjectMapper(final JsonFactory factory) {
+		return new ObjectMapper(factory)
+				.registerModule(new Jdk8Module())
+				.registerModule(new GuavaModule())
+				.setSerializationInclusion(JsonInclude.Include.NON_ABSENT);
+	}
+
+	/**
+	 * Write the project to the stream, which is not closed.
+	 */
+	public void write(final Project project, final OutputStream stream) throws IOException {
+		writer.writeValue(stream, project);
+	}
+
+	/**
+	 * Read a project from the stream, which is not closed.
+	 */
+	public Project read(final InputStream stream) throws IOException {
+		return reader.readValue(stream);
+	}
+
+	public void save(final Project project, final Path file) throws IOException {
+		try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file))) {
+			write(project, stream);
+		}
+	}
+
+	public Project load(final Path file) throws IOException {
+		try (InputStream stream = new BufferedInputStream(Files.newInputStream(file))) {
+			return read(stream);
+		}
+	}
+}
@@ -3,8 +3,19 @@ package com.neotys.neoload.model.core;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.neotys.neoload.model.ImmutableProject;
+import com.neotys.neoload.model.repository.ImmutableAddCookie;
+import com.neotys.neoload.model.repository.ImmutableClearCache;
+import com.neotys.neoload.model.repository.ImmutableClearCookies;
 import com.neotys.neoload.model.repository.ImmutableContainer;
 import com.neotys.neoload.model.repository.ImmutableDelay;
+import com.neotys.neoload.model.repository.ImmutableGetFollowLinkRequest;
+import com.neotys.neoload.model.repository.ImmutableGetPlainRequest;
+import com.neotys.neoload.model.repository.ImmutableJavascript;
+import com.neotys.neoload.model.repository.ImmutablePage;
+import com.neotys.neoload.model.repository.ImmutablePopulation;
+import com.neotys.neoload.model.repository.ImmutablePostBinaryRequest;
+import com.neotys.neoload.model.repository.ImmutablePostFormRequest;
+import com.neotys.neoload.model.repository.ImmutablePostTextRequest;
 import com.neotys.neoload.model.repository.ImmutableUserPath;
 
 
@@ -15,7 +26,18 @@ import java.util.Optional;
         @JsonSubTypes.Type(value = ImmutableProject.class, name = "Project"),
         @JsonSubTypes.Type(value = ImmutableUserPath.class, name = "UserPath"),
         @JsonSubTypes.Type(value = ImmutableDelay.class, name = "Delay"),
-        @JsonSubTypes.Type(value = ImmutableContainer.class, name = "Container") }
+        @JsonSubTypes.Type(value = ImmutableContainer.class, name = "Container"),
+        @JsonSubTypes.Type(value = ImmutablePage.class, name = "Page"),
+        @JsonSubTypes.Type(value = ImmutableGetPlainRequest.class, name = "GetPlainRequest"),
+        @JsonSubTypes.Type(value = ImmutableGetFollowLinkRequest.class, name = "GetFollowLinkRequest"),
+        @JsonSubTypes.Type(value = ImmutablePostFormRequest.class, name = "PostFormRequest"),
+        @JsonSubTypes.Type(value = ImmutablePostTextRequest.class, name = "PostTextRequest"),
+        @JsonSubTypes.Type(value = ImmutablePostBinaryRequest.class, name = "PostBinaryRequest"),
+        @JsonSubTypes.Type(value = ImmutableJavascript.class, name = "Javascript"),
+        @JsonSubTypes.Type(value = ImmutableAddCookie.class, name = "AddCookie"),
+        @JsonSubTypes.Type(value = ImmutableClearCookies.class, name = "ClearCookies"),
+        @JsonSubTypes.Type(value = ImmutableClearCache.class, name = "ClearCache"),
+        @JsonSubTypes.Type(value = ImmutablePopulation.class, name = "Population") }
 )
 public interface Element {
     String getName();
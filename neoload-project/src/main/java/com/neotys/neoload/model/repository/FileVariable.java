@@ -3,17 +3,24 @@ package com.neotys.neoload.model.repository;
 import java.util.List;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableFileVariable.class)
 public interface FileVariable extends Variable {
 	
 	String getColumnsDelimiter();
 	
 	List<String> getColumnsNames();
 
-	//Either data or filename needs to be filled but not both
+	//Either data, rows or filename needs to be filled but only one of them
 	Optional<String[][]> getData();
+	/**
+	 * The rows are a source read again each time they are opened, they are not compared by equals and hashCode.
+	 */
+	@Value.Auxiliary
+	Optional<FileVariableRows> getRows();
 	Optional<String> getFileName();
 	
 	boolean getFirstLineIsColumnName();
@@ -0,0 +1,64 @@
+package com.neotys.neoload.model.repository;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Rows of the data of a {@link FileVariable}, read again each time they are opened so that a table of millions of
+ * rows goes from the files of the source script to the written project without being held in memory.
+ * Serialized as an array of rows, which are held in memory once deserialized.
+ */
+@FunctionalInterface
+@JsonSerialize(using = FileVariableRows.Serializer.class)
+@JsonDeserialize(using = FileVariableRows.Deserializer.class)
+public interface FileVariableRows {
+
+	/**
+	 * @return a new stream of the rows, to be closed once read.
+	 */
+	Stream<String[]> open() throws IOException;
+
+	static FileVariableRows of(final List<String[]> rows) {
+		return rows::stream;
+	}
+
+	static FileVariableRows of(final String[][] rows) {
+		return () -> Stream.of(rows);
+	}
+
+	class Serializer extends JsonSerializer<FileVariableRows> {
+		@Override
+		public void serialize(final FileVariableRows rows, final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+			generator.writeStartArray();
+			try (Stream<String[]> stream = rows.open()) {
+				final Iterator<String[]> iterator = stream.iterator();
+				while (iterator.hasNext()) {
+					generator.writeStartArray();
+					for (final String value : iterator.next()) {
+						generator.writeString(value);
+					}
+					generator.writeEndArray();
+				}
+			}
+			generator.writeEndArray();
+		}
+	}
+
+	class Deserializer extends JsonDeserializer<FileVariableRows> {
+		@Override
+		public FileVariableRows deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+			return of(parser.readValueAs(String[][].class));
+		}
+	}
+}
@@ -1,8 +1,10 @@
 package com.neotys.neoload.model.repository;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableGetFollowLinkRequest.class)
 public interface GetFollowLinkRequest extends GetRequest {
     String getText(); // The exact text that appears in the hypertext link.
 }
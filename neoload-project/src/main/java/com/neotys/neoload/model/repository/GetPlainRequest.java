@@ -1,7 +1,9 @@
 package com.neotys.neoload.model.repository;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableGetPlainRequest.class)
 public interface GetPlainRequest extends GetRequest {    
 }
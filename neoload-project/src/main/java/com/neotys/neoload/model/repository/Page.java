@@ -1,5 +1,6 @@
 package com.neotys.neoload.model.repository;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 import java.util.List;
@@ -9,6 +10,7 @@ import java.util.List;
  */
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutablePage.class)
 public interface Page extends PageElement {
     List<PageElement> getChilds();
     int getThinkTime();
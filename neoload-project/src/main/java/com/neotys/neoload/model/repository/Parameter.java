@@ -2,9 +2,11 @@ package com.neotys.neoload.model.repository;
 
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableParameter.class)
 public interface Parameter {
 	String getName();
 	//If there is not a value, that means that parameter has not a value
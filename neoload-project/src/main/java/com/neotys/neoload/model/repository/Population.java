@@ -1,11 +1,13 @@
 package com.neotys.neoload.model.repository;
 
 import com.neotys.neoload.model.core.Element;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 import java.util.List;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutablePopulation.class)
 public interface Population extends Element {
     List<PopulationSplit> getSplits();
 
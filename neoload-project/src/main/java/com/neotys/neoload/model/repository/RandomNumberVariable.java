@@ -1,8 +1,10 @@
 package com.neotys.neoload.model.repository;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableRandomNumberVariable.class)
 public interface RandomNumberVariable extends Variable{
 	int getMinValue();
 	int getMaxValue();
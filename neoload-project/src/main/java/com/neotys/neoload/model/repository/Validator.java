@@ -1,5 +1,13 @@
 package com.neotys.neoload.model.repository;
 
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT, property="type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ImmutableTextValidator.class, name = "TextValidator"),
+        @JsonSubTypes.Type(value = ImmutableRegexpValidator.class, name = "RegexpValidator") }
+)
 public interface Validator {
 	String getName();
 	boolean getHaveToContains();
@@ -1,7 +1,17 @@
 package com.neotys.neoload.model.repository;
 
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
 import java.util.Optional;
 
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT, property="type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ImmutableConstantVariable.class, name = "ConstantVariable"),
+        @JsonSubTypes.Type(value = ImmutableCounterNumberVariable.class, name = "CounterNumberVariable"),
+        @JsonSubTypes.Type(value = ImmutableRandomNumberVariable.class, name = "RandomNumberVariable"),
+        @JsonSubTypes.Type(value = ImmutableFileVariable.class, name = "FileVariable") }
+)
 public interface Variable {
 	
 	enum VariablePolicy{
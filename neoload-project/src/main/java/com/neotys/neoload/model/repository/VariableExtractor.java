@@ -2,9 +2,11 @@ package com.neotys.neoload.model.repository;
 
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableVariableExtractor.class)
 public interface VariableExtractor {
 	enum ExtractType {
 		BOTH, 
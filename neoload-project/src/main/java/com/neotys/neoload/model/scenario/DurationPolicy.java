@@ -1,5 +1,13 @@
 package com.neotys.neoload.model.scenario;
 
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT, property="type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ImmutableTimeDurationPolicy.class, name = "TimeDurationPolicy"),
+        @JsonSubTypes.Type(value = ImmutableIterationDurationPolicy.class, name = "IterationDurationPolicy") }
+)
 public interface DurationPolicy {
 }
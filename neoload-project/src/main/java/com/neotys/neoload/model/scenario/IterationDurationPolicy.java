@@ -1,7 +1,9 @@
 package com.neotys.neoload.model.scenario;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableIterationDurationPolicy.class)
 public interface IterationDurationPolicy extends DurationPolicy {
 }
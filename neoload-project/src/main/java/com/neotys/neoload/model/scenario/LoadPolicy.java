@@ -1,7 +1,16 @@
 package com.neotys.neoload.model.scenario;
 
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
 import java.util.Optional;
 
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT, property="type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ImmutableConstantLoadPolicy.class, name = "ConstantLoadPolicy"),
+        @JsonSubTypes.Type(value = ImmutablePeaksLoadPolicy.class, name = "PeaksLoadPolicy"),
+        @JsonSubTypes.Type(value = ImmutableRampupLoadPolicy.class, name = "RampupLoadPolicy") }
+)
 public interface LoadPolicy {
     Optional<Integer> getIterationNumber();
 }
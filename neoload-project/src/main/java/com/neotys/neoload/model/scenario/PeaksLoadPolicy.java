@@ -1,10 +1,12 @@
 package com.neotys.neoload.model.scenario;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 import java.util.Optional;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutablePeaksLoadPolicy.class)
 public interface PeaksLoadPolicy extends LoadPolicy {
 
     enum StartPolicy {
@@ -1,10 +1,12 @@
 package com.neotys.neoload.model.scenario;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 import java.util.Map;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableScenario.class)
 public interface Scenario {
 
     String getName();
@@ -1,8 +1,10 @@
 package com.neotys.neoload.model.scenario;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.immutables.value.Value;
 
 @Value.Immutable
+@JsonDeserialize(as = ImmutableScenarioPolicies.class)
 public interface ScenarioPolicies {
 
     DurationPolicy getDurationPolicy();
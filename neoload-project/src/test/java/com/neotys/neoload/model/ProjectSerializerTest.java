@@ -0,0 +1,251 @@
+package com.neotys.neoload.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.neotys.neoload.model.repository.ConstantVariable;
+import com.neotys.neoload.model.repository.Container;
+import com.neotys.neoload.model.repository.FileVariable;
+import com.neotys.neoload.model.repository.FileVariableRows;
+import com.neotys.neoload.model.repository.ImmutableAddCookie;
+import com.neotys.neoload.model.repository.ImmutableClearCache;
+import com.neotys.neoload.model.repository.ImmutableClearCookies;
+import com.neotys.neoload.model.repository.ImmutableConstantVariable;
+import com.neotys.neoload.model.repository.ImmutableContainer;
+import com.neotys.neoload.model.repository.ImmutableCounterNumberVariable;
+import com.neotys.neoload.model.repository.ImmutableDelay;
+import com.neotys.neoload.model.repository.ImmutableFileVariable;
+import com.neotys.neoload.model.repository.ImmutableGetFollowLinkRequest;
+import com.neotys.neoload.model.repository.ImmutableGetPlainRequest;
+import com.neotys.neoload.model.repository.ImmutableHeader;
+import com.neotys.neoload.model.repository.ImmutableJavascript;
+import com.neotys.neoload.model.repository.ImmutablePage;
+import com.neotys.neoload.model.repository.ImmutableParameter;
+import com.neotys.neoload.model.repository.ImmutablePopulation;
+import com.neotys.neoload.model.repository.ImmutablePopulationSplit;
+import com.neotys.neoload.model.repository.ImmutablePostBinaryRequest;
+import com.neotys.neoload.model.repository.ImmutablePostFormRequest;
+import com.neotys.neoload.model.repository.ImmutablePostTextRequest;
+import com.neotys.neoload.model.repository.ImmutableRandomNumberVariable;
+import com.neotys.neoload.model.repository.ImmutableRegexpValidator;
+import com.neotys.neoload.model.repository.ImmutableServer;
+import com.neotys.neoload.model.repository.ImmutableTextValidator;
+import com.neotys.neoload.model.repository.ImmutableUserPath;
+import com.neotys.neoload.model.repository.ImmutableVariableExtractor;
+import com.neotys.neoload.model.repository.Request;
+import com.neotys.neoload.model.repository.Server;
+import com.neotys.neoload.model.repository.Variable;
+import com.neotys.neoload.model.repository.VariableExtractor;
+import com.neotys.neoload.model.scenario.ImmutableConstantLoadPolicy;
+import com.neotys.neoload.model.scenario.ImmutableIterationDurationPolicy;
+import com.neotys.neoload.model.scenario.ImmutablePeaksLoadPolicy;
+import com.neotys.neoload.model.scenario.ImmutableRampupLoadPolicy;
+import com.neotys.neoload.model.scenario.ImmutableScenario;
+import com.neotys.neoload.model.scenario.ImmutableScenarioPolicies;
+import com.neotys.neoload.model.scenario.ImmutableTimeDurationPolicy;
+import com.neotys.neoload.model.scenario.PeaksLoadPolicy;
+
+public class ProjectSerializerTest {
+
+	private static final Server SERVER = ImmutableServer.builder().name("host").host("host").port("8080").scheme("https").build();
+	private static final byte[] BINARY_DATA = {0, 1, 2, (byte) 0xFF};
+
+	private static Project project() {
+		final Container actions = ImmutableContainer.builder()
+				.name("Actions")
+				.addChilds(ImmutablePage.builder()
+						.name("page")
+						.thinkTime(1000)
+						.addChilds(ImmutableGetPlainRequest.builder()
+								.name("/index.html")
+								.path("/index.html")
+								.server(SERVER)
+								.httpMethod(Request.HttpMethod.GET)
+								.addParameters(ImmutableParameter.builder().name("id").value("1").build())
+								.addParameters(ImmutableParameter.builder().name("flag").build())
+								.addHeaders(ImmutableHeader.builder().headerName("Accept").headerValue("*/*").build())
+								.addValidators(ImmutableTextValidator.builder().name("text").validationText("Welcome").haveToContains(true).build())
+								.addValidators(ImmutableRegexpValidator.builder().name("regexp").validationRegex("W.*e").haveToContains(false).build())
+								.addExtractors(ImmutableVariableExtractor.builder()
+										.name("token")
+										.startExpression("token=")
+										.endExpression("&")
+										.extractType(VariableExtractor.ExtractType.BODY)
+										.nbOccur(1)
+										.exitOnError(true)
+										.build())
+								.build())
+						.addChilds(ImmutableGetFollowLinkRequest.builder()
+								.name("link")
+								.text("Next")
+								.httpMethod(Request.HttpMethod.GET)
+								.build())
+						.addChilds(ImmutablePostFormRequest.builder()
+								.name("/form")
+								.server(SERVER)
+								.httpMethod(Request.HttpMethod.POST)
+								.addPostParameters(ImmutableParameter.builder().name("login").value("user").build())
+								.build())
+						.addChilds(ImmutablePostTextRequest.builder()
+								.name("/text")
+								.httpMethod(Request.HttpMethod.PUT)
+								.contentType("application/json")
+								.data("{\"a\":1}")
+								.build())
+						.addChilds(ImmutablePostBinaryRequest.builder()
+								.name("/binary")
+								.httpMethod(Request.HttpMethod.POST)
+								.binaryData(BINARY_DATA)
+								.build())
+						.build())
+				.addChilds(ImmutableContainer.builder()
+						.name("transaction")
+						.description("a transaction")
+						.addChilds(ImmutableDelay.builder().name("delay").delay("500").build())
+						.addChilds(ImmutableJavascript.builder().name("js").content("var a = 1;").build())
+						.addChilds(ImmutableAddCookie.builder().name("cookie").cookieName("c").cookieValue("v").domain("host").path("/").build())
+						.addChilds(ImmutableClearCookies.builder().name("clear cookies").build())
+						.addChilds(ImmutableClearCache.builder().name("clear cache").build())
+						.build())
+				.build();
+		return ImmutableProject.builder()
+				.name("project")
+				.addUserPaths(ImmutableUserPath.builder()
+						.name("userPath")
+						.initContainer(ImmutableContainer.builder().name("Init").build())
+						.actionsContainer(actions)
+						.endContainer(ImmutableContainer.builder().name("End").build())
+						.build())
+				.addServers(SERVER)
+				.addVariables(ImmutableConstantVariable.builder()
+						.name("constant")
+						.constantValue("value")
+						.policy(Variable.VariablePolicy.EACH_USE)
+						.scope(Variable.VariableScope.GLOBAL)
+						.build())
+				.addVariables(ImmutableCounterNumberVariable.builder()
+						.name("counter")
+						.startValue(1)
+						.maxValue(10)
+						.increment(2)
+						.policy(Variable.VariablePolicy.EACH_ITERATION)
+						.scope(Variable.VariableScope.LOCAL)
+						.noValuesLeftBehavior(Variable.VariableNoValuesLeftBehavior.CYCLE)
+						.build())
+				.addVariables(ImmutableRandomNumberVariable.builder()
+						.name("random")
+						.minValue(0)
+						.maxValue(100)
+						.policy(Variable.VariablePolicy.EACH_REQUEST)
+						.scope(Variable.VariableScope.UNIQUE)
+						.build())
+				.addVariables(ImmutableFileVariable.builder()
+						.name("file")
+						.columnsDelimiter(",")
+						.addColumnsNames("login", "password")
+						.fileName("variables/file.csv")
+						.firstLineIsColumnName(true)
+						.numOfFirstRowData(2)
+						.order(Variable.VariableOrder.SEQUENTIAL)
+						.policy(Variable.VariablePolicy.EACH_VUSER)
+						.scope(Variable.VariableScope.GLOBAL)
+						.build())
+				.addPopulations(ImmutablePopulation.builder()
+						.name("population")
+						.addSplits(ImmutablePopulationSplit.builder().userPath("userPath").percentage(100).build())
+						.build())
+				.addScenarios(ImmutableScenario.builder()
+						.name("scenario")
+						.putPopulations("constant", ImmutableScenarioPolicies.builder()
+								.durationPolicy(ImmutableTimeDurationPolicy.builder().duration(60).build())
+								.loadPolicy(ImmutableConstantLoadPolicy.builder().load(10).build())
+								.build())
+						.putPopulations("peaks", ImmutableScenarioPolicies.builder()
+								.durationPolicy(ImmutableIterationDurationPolicy.builder().build())
+								.loadPolicy(ImmutablePeaksLoadPolicy.builder()
+										.minimumLoad(1)
+										.minimumTime(10)
+										.maximumLoad(20)
+										.maximumTime(10)
+										.startPolicy(PeaksLoadPolicy.StartPolicy.MINIMUM_LOAD)
+										.iterationNumber(5)
+										.build())
+								.build())
+						.putPopulations("rampup", ImmutableScenarioPolicies.builder()
+								.durationPolicy(ImmutableTimeDurationPolicy.builder().duration(120).build())
+								.loadPolicy(ImmutableRampupLoadPolicy.builder()
+										.initialLoad(1)
+										.incrementLoad(2)
+										.incrementTime(30)
+										.maximumVirtualUsers(50)
+										.build())
+								.build())
+						.build())
+				.build();
+	}
+
+	private static Project roundTrip(final ProjectSerializer.Format format, final Project project) throws IOException {
+		final ProjectSerializer serializer = ProjectSerializer.of(format);
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		serializer.write(project, stream);
+		return serializer.read(new ByteArrayInputStream(stream.toByteArray()));
+	}
+
+	@Test
+	public void roundTripTest() throws IOException {
+		final Project project = project();
+		for (final ProjectSerializer.Format format : ProjectSerializer.Format.values()) {
+			assertEquals(project, roundTrip(format, project));
+		}
+	}
+
+	@Test
+	public void fileVariableDataTest() throws IOException {
+		final FileVariable variable = ImmutableFileVariable.builder()
+				.name("file")
+				.columnsDelimiter(";")
+				.data(new String[][]{{"a", "b"}, {"c", "d"}})
+				.firstLineIsColumnName(false)
+				.numOfFirstRowData(1)
+				.policy(Variable.VariablePolicy.EACH_USE)
+				.scope(Variable.VariableScope.GLOBAL)
+				.build();
+		final Project project = ImmutableProject.builder().name("project").addVariables(variable).build();
+		for (final ProjectSerializer.Format format : ProjectSerializer.Format.values()) {
+			final FileVariable readVariable = (FileVariable) roundTrip(format, project).getVariables().get(0);
+			assertArrayEquals(variable.getData().get(), readVariable.getData().get());
+			final ConstantVariable constant = ImmutableConstantVariable.builder().name("c").constantValue("v")
+					.policy(Variable.VariablePolicy.EACH_USE).scope(Variable.VariableScope.GLOBAL).build();
+			assertEquals(constant, roundTrip(format, ImmutableProject.builder().name("p").addVariables(constant).build()).getVariables().get(0));
+		}
+	}
+
+	@Test
+	public void fileVariableRowsTest() throws IOException {
+		final String[][] data = {{"a", "b"}, {"c", "d"}};
+		final FileVariable variable = ImmutableFileVariable.builder()
+				.name("file")
+				.columnsDelimiter(";")
+				.addColumnsNames("first", "second")
+				.rows(FileVariableRows.of(data))
+				.firstLineIsColumnName(false)
+				.numOfFirstRowData(1)
+				.policy(Variable.VariablePolicy.EACH_USE)
+				.scope(Variable.VariableScope.GLOBAL)
+				.build();
+		final Project project = ImmutableProject.builder().name("project").addVariables(variable).build();
+		for (final ProjectSerializer.Format format : ProjectSerializer.Format.values()) {
+			final FileVariable readVariable = (FileVariable) roundTrip(format, project).getVariables().get(0);
+			try (Stream<String[]> rows = readVariable.getRows().get().open()) {
+				assertArrayEquals(data, rows.toArray(String[][]::new));
+			}
+		}
+	}
+}
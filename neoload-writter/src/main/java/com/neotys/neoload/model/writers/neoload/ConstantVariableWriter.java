@@ -2,6 +2,9 @@ package com.neotys.neoload.model.writers.neoload;
 
 import org.w3c.dom.Document;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import com.neotys.neoload.model.repository.ConstantVariable;
 
 public class ConstantVariableWriter extends VariableWriter {
@@ -14,7 +17,7 @@ public class ConstantVariableWriter extends VariableWriter {
 	}
 	
 	@Override
-	public void writeXML(final Document document, final org.w3c.dom.Element currentElement, final String outputFolder) {
+	public void writeXML(final Document document, final org.w3c.dom.Element currentElement, final OutputSink output) {
 		org.w3c.dom.Element xmlVariable = document.createElement(XML_TAG_NAME);
 		super.writeXML(xmlVariable) ;
 		ConstantVariable theVariable = (ConstantVariable) variable;
@@ -22,6 +25,20 @@ public class ConstantVariableWriter extends VariableWriter {
 		writeDescription(document, xmlVariable);
 		currentElement.appendChild(xmlVariable);
 	}
+
+	@Override
+	public void writeXML(final XMLStreamWriter writer, final OutputSink output) throws XMLStreamException {
+		writer.writeStartElement(XML_TAG_NAME);
+		super.writeAttributes(writer);
+		ConstantVariable theVariable = (ConstantVariable) variable;
+		writer.writeAttribute(XML_CONST_VALUE, theVariable.getConstantValue());
+		if (this.variable.getDescription().isPresent()) {
+			writer.writeStartElement(ElementWriter.XML_DESCRIPTION_TAG);
+			writer.writeCharacters(this.variable.getDescription().get());
+			writer.writeEndElement();
+		}
+		writer.writeEndElement();
+	}
 	
 	// needs a refactor to be put in an upper class or in an util class (duplication from ElementWritter). The original function might have a bug!!!
     public void writeDescription(final Document document, final org.w3c.dom.Element currentElement) {
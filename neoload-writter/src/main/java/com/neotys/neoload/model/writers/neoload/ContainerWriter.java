@@ -4,7 +4,13 @@ import com.neotys.neoload.model.repository.Container;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 public class ContainerWriter extends ElementWriter {
 
@@ -18,6 +24,9 @@ public class ContainerWriter extends ElementWriter {
 	private static final String DEFAULT_EXECUTION_TYPE = "0";
 	private static final String DEFAULT_WEIGHTS_ENABLED = "false";
 
+	/** writers of the childs referenced by writeContainerXML, which keep their uid until writeChildsXML writes them */
+	private List<ElementWriter> childWriters = null;
+
 	public ContainerWriter(Container container) {
 		super(container);
 		this.tagName = Optional.empty();
@@ -37,9 +46,9 @@ public class ContainerWriter extends ElementWriter {
 	}
 
 	@Override
-	public void writeXML(final Document document, final Element currentElement, final String parentPath, final String outputFolder) {
+	public void writeXML(final Document document, final Element currentElement, final String parentPath, final OutputSink output) {
 		Element xmlContainerElement = document.createElement(tagName.orElse("basic-logical-action-container"));
-		super.writeXML(document, xmlContainerElement, parentPath, outputFolder);
+		super.writeXML(document, xmlContainerElement, parentPath, output);
 		currentElement.appendChild(xmlContainerElement);
 		Container theContainer = ((Container) this.element);
 
@@ -47,10 +56,54 @@ public class ContainerWriter extends ElementWriter {
 		xmlContainerElement.setAttribute(XML_EXECUTION_TYPE, DEFAULT_EXECUTION_TYPE);
 		xmlContainerElement.setAttribute(XML_WEIGHTS_ENABLED, DEFAULT_WEIGHTS_ENABLED);
 
+		final String containerPath = ElementUids.path(parentPath, theContainer.getName());
 		theContainer.getChilds().forEach(elt -> {
-			WriterUtils.generateEmbeddedAction(document, xmlContainerElement, elt, parentPath+"/"+theContainer.getName(), Optional.of(WriterUtils.WEIGHTED_ACTION_XML_TAG_NAME), true);
-			WriterUtils.getWriterFor(elt).writeXML(document, document.getDocumentElement(), parentPath+"/"+theContainer.getName(), outputFolder);
+			final ElementWriter childWriter = WriterUtils.getWriterFor(elt);
+			WriterUtils.generateEmbeddedAction(document, xmlContainerElement, childWriter, containerPath, Optional.of(WriterUtils.WEIGHTED_ACTION_XML_TAG_NAME), true);
+			childWriter.writeXML(document, document.getDocumentElement(), containerPath, output);
 		});
 
 	}
+
+	@Override
+	public void writeXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException {
+		writeContainerXML(writer, parentPath);
+		writeChildsXML(writer, parentPath, output);
+	}
+
+	/**
+	 * Write the container element with the references to its childs.
+	 */
+	void writeContainerXML(final XMLStreamWriter writer, final String parentPath) throws XMLStreamException {
+		Container theContainer = ((Container) this.element);
+		writer.writeStartElement(tagName.orElse("basic-logical-action-container"));
+		super.writeAttributes(writer, parentPath);
+		writer.writeAttribute(XML_ELEMENT_NUMBER, DEFAULT_ELEMENT_NUMBER);
+		writer.writeAttribute(XML_EXECUTION_TYPE, DEFAULT_EXECUTION_TYPE);
+		writer.writeAttribute(XML_WEIGHTS_ENABLED, DEFAULT_WEIGHTS_ENABLED);
+		writeDescription(writer);
+		final String containerPath = ElementUids.path(parentPath, theContainer.getName());
+		childWriters = new ArrayList<>(theContainer.getChilds().size());
+		for (final com.neotys.neoload.model.core.Element elt : theContainer.getChilds()) {
+			final ElementWriter childWriter = WriterUtils.getWriterFor(elt);
+			WriterUtils.generateEmbeddedAction(writer, childWriter, containerPath, Optional.of(WriterUtils.WEIGHTED_ACTION_XML_TAG_NAME), true);
+			childWriters.add(childWriter);
+		}
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Write the childs of the container, which are at the repository level.
+	 */
+	void writeChildsXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException {
+		Container theContainer = ((Container) this.element);
+		final String containerPath = ElementUids.path(parentPath, theContainer.getName());
+		final List<ElementWriter> writers = childWriters != null ? childWriters
+				: theContainer.getChilds().stream().map(WriterUtils::getWriterFor).collect(Collectors.toList());
+		// released once the childs are written, only the writers of the containers being written are kept
+		childWriters = null;
+		for (final ElementWriter childWriter : writers) {
+			childWriter.writeXML(writer, containerPath, output);
+		}
+	}
 }
@@ -2,6 +2,9 @@ package com.neotys.neoload.model.writers.neoload;
 
 import org.w3c.dom.Document;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import com.neotys.neoload.model.repository.CounterNumberVariable;
 
 public class CounterNumberVariableWriter extends VariableWriter{
@@ -16,7 +19,7 @@ public class CounterNumberVariableWriter extends VariableWriter{
 	}
 	
 	@Override
-	public void writeXML(final Document document, final org.w3c.dom.Element currentElement, final String outputFolder) {
+	public void writeXML(final Document document, final org.w3c.dom.Element currentElement, final OutputSink output) {
 		org.w3c.dom.Element xmlVariable = document.createElement(XML_TAG_NAME);
 		super.writeXML(xmlVariable) ;
 		
@@ -27,5 +30,16 @@ public class CounterNumberVariableWriter extends VariableWriter{
 		
 		currentElement.appendChild(xmlVariable);
 	}
+
+	@Override
+	public void writeXML(final XMLStreamWriter writer, final OutputSink output) throws XMLStreamException {
+		writer.writeEmptyElement(XML_TAG_NAME);
+		super.writeAttributes(writer);
+
+		CounterNumberVariable theVariable = (CounterNumberVariable) variable;
+		writer.writeAttribute(XML_ATTR_START_VAL,	Integer.toString(theVariable.getStartValue()));
+		writer.writeAttribute(XML_ATTR_MAX_VAL,	Integer.toString(theVariable.getMaxValue()));
+		writer.writeAttribute(XML_ATTR_INC_VAL,	Integer.toString(theVariable.getIncrement()));
+	}
 	
 }
@@ -0,0 +1,69 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Copy of the data files of a project to the folders of the NeoLoad project, in parallel.
+ * How a file is copied, and whether a file already copied is copied again, is up to the {@link OutputSink}.
+ * Each destination is copied once: when several files have the same name in the same folder, only the first one is
+ * copied and the others are reported.
+ */
+final class DataFilesCopier {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DataFilesCopier.class);
+
+	private final OutputSink output;
+	private final AtomicInteger copiedFiles = new AtomicInteger();
+	private final AtomicInteger skippedFiles = new AtomicInteger();
+	private final AtomicLong copiedBytes = new AtomicLong();
+
+	private DataFilesCopier(final OutputSink output) {
+		this.output = output;
+	}
+
+	/**
+	 * @param filesByFolder the files to copy by name of their destination folder in the project
+	 */
+	static void copy(final Map<String, List<File>> filesByFolder, final OutputSink output, final DataFilesCopyListener listener) {
+		final long start = System.currentTimeMillis();
+		final DataFilesCopier copier = new DataFilesCopier(output);
+		final Map<String, Path> copies = new LinkedHashMap<>();
+		filesByFolder.forEach((folderName, files) -> files.forEach(file -> {
+			final String destination = folderName + "/" + file.getName();
+			final Path source = file.toPath().toAbsolutePath();
+			final Path firstSource = copies.putIfAbsent(destination, source);
+			if (firstSource != null && !firstSource.equals(source)) {
+				LOGGER.warn("Parameter data file \"" + source + "\" is not copied: \"" + firstSource
+						+ "\" is already copied into \"" + destination + "\"");
+			}
+		}));
+		copies.entrySet().parallelStream().forEach(copy -> copier.copy(copy.getValue(), copy.getKey()));
+		listener.copiedDataFiles(copier.copiedFiles.get(), copier.skippedFiles.get(), copier.copiedBytes.get(),
+				System.currentTimeMillis() - start);
+	}
+
+	private void copy(final Path source, final String destination) {
+		try {
+			final long size = Files.size(source);
+			if (output.copy(source, destination)) {
+				copiedFiles.incrementAndGet();
+				copiedBytes.addAndGet(size);
+			} else {
+				skippedFiles.incrementAndGet();
+			}
+		} catch (IOException e) {
+			LOGGER.error("Problem while copying parameter data file \"" + source + "\" into \"" + destination + "\" :\n" + e);
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.neotys.neoload.model.writers.neoload;
+
+/**
+ * Notified by {@link NeoLoadWriter} once the data files of the project are copied to the NeoLoad project folder.
+ * Its method has the signature of the one of the reader event listener, so that this one can be given as a method
+ * reference.
+ */
+@FunctionalInterface
+public interface DataFilesCopyListener {
+
+	DataFilesCopyListener NONE = (copiedFiles, skippedFiles, copiedBytes, durationInMillis) -> {};
+
+	/**
+	 * @param copiedFiles the number of files copied or linked
+	 * @param skippedFiles the number of files already in the project folder with the same size and modification time
+	 * @param copiedBytes the size of the copied or linked files
+	 * @param durationInMillis the duration of the copy
+	 */
+	void copiedDataFiles(final int copiedFiles, final int skippedFiles, final long copiedBytes, final long durationInMillis);
+}
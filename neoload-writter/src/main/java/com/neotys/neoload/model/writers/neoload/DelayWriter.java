@@ -4,6 +4,9 @@ import com.neotys.neoload.model.repository.Delay;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 public class DelayWriter extends ElementWriter {
 
     public static final String XML_TAG_NAME = "delay-action";
@@ -18,10 +21,19 @@ public class DelayWriter extends ElementWriter {
     }
 
     @Override
-    public void writeXML(Document document, Element currentElement, String parentPath, final String outputFolder) {
+    public void writeXML(Document document, Element currentElement, String parentPath, final OutputSink output) {
         Element xmlDelay = document.createElement(XML_TAG_NAME);
-        super.writeXML(document, xmlDelay, parentPath, outputFolder);
+        super.writeXML(document, xmlDelay, parentPath, output);
         xmlDelay.setAttribute(XML_DURATION_ATT, ((Delay)element).getDelay());
         currentElement.appendChild(xmlDelay);
     }
+
+    @Override
+    public void writeXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException {
+        writer.writeStartElement(XML_TAG_NAME);
+        super.writeAttributes(writer, parentPath);
+        writer.writeAttribute(XML_DURATION_ATT, ((Delay)element).getDelay());
+        writeDescription(writer);
+        writer.writeEndElement();
+    }
 }
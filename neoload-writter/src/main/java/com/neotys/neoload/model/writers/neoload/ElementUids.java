@@ -0,0 +1,34 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Computes the repository uid of an element, the SHA-256 of its path "parentPath/name", and the path of its childs.
+ * Nothing is memoized here: the uid of an element, written by the element and by the embedded action referencing it,
+ * is kept by the {@link ElementWriter} of the element, which lives as long as its container is written.
+ */
+public final class ElementUids {
+
+	private ElementUids() {}
+
+	/**
+	 * @return the uid of the element named name in parentPath.
+	 */
+	public static String uid(final String parentPath, final String name) {
+		// same bytes as hashing the UTF-8 encoded path, without concatenating it
+		return Hashing.sha256().newHasher()
+				.putString(parentPath, StandardCharsets.UTF_8)
+				.putString("/", StandardCharsets.UTF_8)
+				.putString(name, StandardCharsets.UTF_8)
+				.hash().toString();
+	}
+
+	/**
+	 * @return the path of the childs of the element named name in parentPath.
+	 */
+	public static String path(final String parentPath, final String name) {
+		return parentPath + "/" + name;
+	}
+}
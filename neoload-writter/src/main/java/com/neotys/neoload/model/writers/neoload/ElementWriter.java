@@ -1,24 +1,38 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import com.google.common.hash.Hashing;
 import com.neotys.neoload.model.core.Element;
 
 import org.w3c.dom.Document;
 
-import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
-public class ElementWriter {
+public abstract class ElementWriter {
 
     public static final String XML_NAME_ATTR = "name";
     public static final String XML_DESCRIPTION_TAG = "description";
     public static final String XML_UID_TAG = "uid";
     
     protected final Element element;
+
+    private String uidParentPath = null;
+    private String uid = null;
     
     public ElementWriter(Element element) {
         this.element = element;
     }
 
+    /**
+     * @return the uid of the element in parentPath, hashed once for the element and the embedded action referencing it.
+     */
+    String uid(final String parentPath) {
+        if (uid == null || !uidParentPath.equals(parentPath)) {
+            uid = ElementUids.uid(parentPath, element.getName());
+            uidParentPath = parentPath;
+        }
+        return uid;
+    }
+
     public void writeDescription(final Document document, final org.w3c.dom.Element currentElement) {
         this.element.getDescription().ifPresent(s -> {
             org.w3c.dom.Element descElement = document.createElement(ElementWriter.XML_DESCRIPTION_TAG);
@@ -32,12 +46,37 @@ public class ElementWriter {
     * @param document
     * @param currentElement
     * @param parentPath
-    * @param outputFolder NeoLoad output folder may be use for further computation in overriding classes.
+    * @param output where the NeoLoad project files are written, may be used by overriding classes.
     */
-    protected void writeXML(final Document document, final org.w3c.dom.Element currentElement, final String parentPath, final String outputFolder) {
+    protected void writeXML(final Document document, final org.w3c.dom.Element currentElement, final String parentPath, final OutputSink output) {
         currentElement.setAttribute(XML_NAME_ATTR, element.getName());
-        currentElement.setAttribute(XML_UID_TAG, Hashing.sha256().hashString(parentPath+"/"+element.getName(), StandardCharsets.UTF_8).toString());
+        currentElement.setAttribute(XML_UID_TAG, uid(parentPath));
         writeDescription(document, currentElement);
     }
 
+    /**
+     * Write the attributes of the element started by the overriding classes in a streamed repository.
+     * @param writer
+     * @param parentPath
+     */
+    protected void writeAttributes(final XMLStreamWriter writer, final String parentPath) throws XMLStreamException {
+        writer.writeAttribute(XML_NAME_ATTR, element.getName());
+        writer.writeAttribute(XML_UID_TAG, uid(parentPath));
+    }
+
+    public void writeDescription(final XMLStreamWriter writer) throws XMLStreamException {
+        // same output as the DOM writer, which does not set the description content
+        if (this.element.getDescription().isPresent()) {
+            writer.writeEmptyElement(ElementWriter.XML_DESCRIPTION_TAG);
+        }
+    }
+
+   /**
+    * Write the element and the elements it references at the repository level of a streamed repository.
+    * @param writer
+    * @param parentPath
+    * @param output where the NeoLoad project files are written, may be used by overriding classes.
+    */
+    public abstract void writeXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException;
+
 }
@@ -1,5 +1,8 @@
 package com.neotys.neoload.model.writers.neoload;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Element;
 
 import com.neotys.neoload.model.repository.VariableExtractor.ExtractType;
@@ -19,6 +22,13 @@ public class ExtractTypeWriter {
     	xmlExtractor.setAttribute(XML_ATTR_EXTRACTTYPEADV, "0");
     	xmlExtractor.setAttribute(XML_ATTR_EXTRACT_TYPE_SIMPLE, extractTypeString);
     }
+
+    public static void writeXML(final XMLStreamWriter writer, final ExtractType extractType) throws XMLStreamException {
+    	final String extractTypeString = getExtractTypeInt(extractType)+"";
+    	writer.writeAttribute(XML_ATTR_EXTRACT_TYPE, extractTypeString);
+    	writer.writeAttribute(XML_ATTR_EXTRACTTYPEADV, "0");
+    	writer.writeAttribute(XML_ATTR_EXTRACT_TYPE_SIMPLE, extractTypeString);
+    }
     
     private static int getExtractTypeInt(final ExtractType extractType){
     	switch(extractType){
@@ -1,6 +1,9 @@
 package com.neotys.neoload.model.writers.neoload;
 
 import com.neotys.neoload.model.writers.RegExpUtils;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -90,6 +93,50 @@ public class ExtractorWriter {
         currentElement.appendChild(xmlExtractor);
     }
 
+    public void writeXML(final XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(XML_TAG_NAME);
+        writer.writeAttribute(XML_ATTR_DISPLAY_MODE, extractor.getRegExp().isPresent() ? "1" : "0");
+        writer.writeAttribute(XML_ATTR_SET_DEFAULT_VALUE, "false");
+        writer.writeAttribute(XML_ATTR_DEFAULT_VALUE, "<NOT FOUND>");
+        final String group = "$" + extractor.getGroup().orElse("1") + "$";
+        writer.writeAttribute(XML_ATTR_TEMPLATE, group);
+        writer.writeAttribute(XML_ATTR_TEMPLATE_ADV, group);
+        writer.writeAttribute(XML_ATTR_START, extractor.getStartExpression().orElse(""));
+        writer.writeAttribute(XML_ATTR_END, extractor.getEndExpression().orElse(""));
+        writer.writeAttribute(XML_ATTR_EXTRACTFROMVARNAME, "");
+        writer.writeAttribute(XML_ATTR_EXTRACTFROMVARNAMEADV, "");
+        writer.writeAttribute(XML_ATTR_EXTRACTFROMVARNAMESIMPLE, "");
+        ExtractTypeWriter.writeXML(writer, extractor.getExtractType());
+        final String matchNumber = Integer.toString(extractor.getNbOccur().orElse(1));
+        writer.writeAttribute(XML_ATTR_MATCH_NUMBER, matchNumber);
+        writer.writeAttribute(XML_ATTR_MATCH_NUMBER_ADV, matchNumber);
+        writer.writeAttribute(XML_ATTR_MATCH_NUMBER_SIMPLE, matchNumber);
+        writer.writeAttribute(XML_ATTR_NAME, extractor.getName());
+        final String regEx;
+        if(extractor.getRegExp().isPresent()){
+        	regEx = extractor.getRegExp().get();
+        } else {
+        	regEx = RegExpUtils.escapeExcludingVariables(extractor.getStartExpression().orElse(""))+
+        			"(.*?)"+
+        			RegExpUtils.escapeExcludingVariables(extractor.getEndExpression().orElse(""));
+        }
+        if(extractor.getXPath().isPresent()){
+        	writer.writeAttribute(XML_ATTR_XPATH, extractor.getXPath().get());
+        }
+        if(extractor.getJsonPath().isPresent()){
+        	writer.writeAttribute(XML_ATTR_JSONPATH, extractor.getJsonPath().get());
+        }
+        writer.writeAttribute(XML_ATTR_REGEX, regEx);
+        writer.writeAttribute(XML_ATTR_REGEX_ADV, regEx);
+        writer.writeAttribute(XML_ATTR_HAS_TO_BE_PRESENT, Boolean.toString(extractor.getExitOnError()));
+        writer.writeEmptyElement(XML_TAG_GROUP_NAME);
+        writer.writeAttribute("extract", "true");
+        writer.writeAttribute("occurs", "1");
+        writer.writeAttribute("pattern", "");
+        writer.writeAttribute("type", "4");
+        writer.writeEndElement();
+    }
+
 	public static ExtractorWriter of(VariableExtractor paramElem) {
 		return new ExtractorWriter(paramElem);
 	}
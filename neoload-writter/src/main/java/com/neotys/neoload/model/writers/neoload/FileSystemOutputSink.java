@@ -0,0 +1,136 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the files of the project in a folder, creating their parent folders when needed.
+ * A file is copied only if the file already at its path does not have the same size and modification time. It is hard
+ * linked when the source and the destination are on the same file store, and otherwise copied from channel to channel
+ * so that the system can transfer the bytes without going through the heap.
+ * A copied file is first linked or written under a temporary name in its folder and then moved at its path: a file
+ * already there, which may be a link to another source, is replaced and never written.
+ * Thread safe as required by {@link OutputSink}: the files are written to their own paths, which are not written by
+ * two threads at once, and the parent folders are created concurrently.
+ */
+public final class FileSystemOutputSink implements OutputSink {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemOutputSink.class);
+
+	private final Path folder;
+
+	private FileSystemOutputSink(final Path folder) {
+		this.folder = folder;
+	}
+
+	public static FileSystemOutputSink of(final Path folder) {
+		return new FileSystemOutputSink(folder);
+	}
+
+	public static FileSystemOutputSink of(final File folder) {
+		return of(folder.toPath());
+	}
+
+	public Path getFolder() {
+		return folder;
+	}
+
+	private Path resolve(final String path) throws IOException {
+		final Path file = folder.resolve(path);
+		Files.createDirectories(file.getParent());
+		return file;
+	}
+
+	@Override
+	public OutputStream newOutputStream(final String path) throws IOException {
+		return Files.newOutputStream(resolve(path));
+	}
+
+	@Override
+	public boolean exists(final String path) {
+		return Files.exists(folder.resolve(path));
+	}
+
+	@Override
+	public boolean copy(final Path source, final String path) throws IOException {
+		final Path destination = resolve(path);
+		final BasicFileAttributes sourceAttributes = Files.readAttributes(source, BasicFileAttributes.class);
+		if (isUpToDate(sourceAttributes, destination)) {
+			return false;
+		}
+		final Path temporary = Files.createTempFile(destination.getParent(), "." + destination.getFileName(), ".tmp");
+		try {
+			Files.delete(temporary);
+			if (!link(source, temporary)) {
+				transfer(source, temporary, sourceAttributes.size());
+				Files.setLastModifiedTime(temporary, sourceAttributes.lastModifiedTime());
+			}
+			Files.move(temporary, destination, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+		return true;
+	}
+
+	private static boolean isUpToDate(final BasicFileAttributes sourceAttributes, final Path destination) throws IOException {
+		if (!Files.isRegularFile(destination)) {
+			return false;
+		}
+		final BasicFileAttributes destinationAttributes = Files.readAttributes(destination, BasicFileAttributes.class);
+		return destinationAttributes.size() == sourceAttributes.size()
+				&& sameTime(destinationAttributes.lastModifiedTime(), sourceAttributes.lastModifiedTime());
+	}
+
+	/**
+	 * Some file systems keep the modification times with a lower precision than others, they are compared to the
+	 * second.
+	 */
+	private static boolean sameTime(final FileTime time1, final FileTime time2) {
+		return time1.to(TimeUnit.SECONDS) == time2.to(TimeUnit.SECONDS);
+	}
+
+	/**
+	 * @return true if destination is a hard link to source, false if the file system can not link them.
+	 */
+	private static boolean link(final Path source, final Path destination) {
+		try {
+			final FileStore sourceStore = Files.getFileStore(source);
+			final FileStore destinationStore = Files.getFileStore(destination.getParent());
+			if (!sourceStore.equals(destinationStore)) {
+				return false;
+			}
+			Files.createLink(destination, source);
+			return true;
+		} catch (IOException | UnsupportedOperationException | SecurityException e) {
+			LOGGER.debug("Cannot link \"" + destination + "\" to \"" + source + "\", copying it: " + e);
+			return false;
+		}
+	}
+
+	private static void transfer(final Path source, final Path destination, final long size) throws IOException {
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+			 FileChannel out = FileChannel.open(destination, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+			long position = 0;
+			while (position < size) {
+				final long transferred = in.transferTo(position, size - position, out);
+				if (transferred <= 0) {
+					break;
+				}
+				position += transferred;
+			}
+		}
+	}
+}
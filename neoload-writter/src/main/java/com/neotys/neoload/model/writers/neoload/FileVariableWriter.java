@@ -1,18 +1,24 @@
 package com.neotys.neoload.model.writers.neoload;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 
 import com.neotys.neoload.model.repository.FileVariable;
+import com.neotys.neoload.model.repository.FileVariableRows;
 import com.opencsv.CSVWriter;
 
 public class FileVariableWriter	extends VariableWriter {
@@ -42,7 +48,7 @@ public class FileVariableWriter	extends VariableWriter {
 	
 	
 	@Override
-	public void writeXML(final Document document, final org.w3c.dom.Element currentElement, final String outputFolder) {
+	public void writeXML(final Document document, final org.w3c.dom.Element currentElement, final OutputSink output) {
 		org.w3c.dom.Element xmlVariable = document.createElement(XML_TAG_NAME);
 		super.writeXML(xmlVariable) ;
 
@@ -56,11 +62,11 @@ public class FileVariableWriter	extends VariableWriter {
 				// Here we don't use the "orElse" method because if the value is not present we don't want
 				// the execution of the method "dumpDataInFile" 
 				theFileVariable.getFileName().isPresent() ? theFileVariable.getFileName().get() :
-						dumpDataInFile(new File(outputFolder),
+						dumpDataInFile(output,
 								theFileVariable.getName(),
 								theFileVariable.getColumnsNames(),
 								theFileVariable.getColumnsDelimiter(),
-								theFileVariable.getData().orElseThrow(IllegalStateException::new)
+								getRows(theFileVariable)
 						)
 		);
 		
@@ -75,58 +81,89 @@ public class FileVariableWriter	extends VariableWriter {
 		
 		currentElement.appendChild(xmlVariable);
 	}
+
+	@Override
+	public void writeXML(final XMLStreamWriter writer, final OutputSink output) throws XMLStreamException {
+		writer.writeStartElement(XML_TAG_NAME);
+		super.writeAttributes(writer);
+
+		FileVariable theFileVariable = (FileVariable) variable;
+		writer.writeAttribute(XML_ATTR_DELIMITER, theFileVariable.getColumnsDelimiter());
+		writer.writeAttribute(XML_ATTR_USE_FIRST_LINE, Boolean.toString(!theFileVariable.getFirstLineIsColumnName()));
+		//we add 1, because NeoLoad use the first line as the name of column which does not corresponding to the created name of the converter
+		writer.writeAttribute(XML_ATTR_OFFSET, Integer.toString(theFileVariable.getNumOfFirstRowData() + 1));
+		writer.writeAttribute(XML_ATTR_FILENAME,
+				theFileVariable.getFileName().isPresent() ? theFileVariable.getFileName().get() :
+						dumpDataInFile(output,
+								theFileVariable.getName(),
+								theFileVariable.getColumnsNames(),
+								theFileVariable.getColumnsDelimiter(),
+								getRows(theFileVariable)
+						)
+		);
+
+		//generate Column nodes
+		int counter = 0;
+		for(String columnName : theFileVariable.getColumnsNames()) {
+			writer.writeEmptyElement(XML_TAG_COLOMN);
+			writer.writeAttribute(XML_COLOMN_ATTR_NAME, columnName);
+			writer.writeAttribute(XML_COLOMN_ATTR_NUMBER, Integer.toString(counter++));
+		}
+
+		writer.writeEndElement();
+	}
 	
 	
-	//generate the file
-	static String dumpDataInFile(File folder, String variableName, List<String> columnsNames, String delimiter, String [][] data) {
-		if(folder == null || !folder.isDirectory()) {
-			if (folder == null) {
-				logger.error("the output folder does not exists");
-			} else {
-				logger.error("the folder \"" + folder.getAbsolutePath() + "\" does not exists");
-			}
-			return null;
+	private static FileVariableRows getRows(final FileVariable variable) {
+		if (variable.getRows().isPresent()) {
+			return variable.getRows().get();
 		}
-		
-		boolean notFound = true;
-		int numFile = 0;
-		File dataFile = new File(folder.getAbsolutePath() + File.separator + VARIABLE_DIRECTORY);
-		if (! dataFile.exists()) {
-			dataFile.mkdir();
+		return FileVariableRows.of(variable.getData().orElseThrow(IllegalStateException::new));
+	}
+
+	static String dumpDataInFile(OutputSink output, String variableName, List<String> columnsNames, String delimiter, String [][] data) {
+		return dumpDataInFile(output, variableName, columnsNames, delimiter, FileVariableRows.of(data));
+	}
+
+	//generate the file, the rows being written one by one as they are read
+	static String dumpDataInFile(OutputSink output, String variableName, List<String> columnsNames, String delimiter, FileVariableRows rows) {
+		if(output == null) {
+			logger.error("the output folder does not exists");
+			return null;
 		}
 		
 		//find file path
-		while (notFound) {
+		int numFile = 1;
+		while (output.exists(VARIABLE_DIRECTORY + "/" + getDataFileName(variableName, numFile))) {
 			numFile++;
-			dataFile = new File(folder.getAbsolutePath() +
-					File.separator + VARIABLE_DIRECTORY +
-					File.separator + DATA_FILE_BASE_NAME +
-					"_" + variableName +
-					Integer.toString(numFile) + DATA_FILE_BASE_EXT);
-			if(!dataFile.exists()) {
-				notFound = false;
-			}
 		}
+		final String dataFileName = getDataFileName(variableName, numFile);
+		final String dataFilePath = VARIABLE_DIRECTORY + "/" + dataFileName;
 		
-		try(Writer writer = Files.newBufferedWriter(Paths.get(dataFile.getPath()));
+		try(Writer writer = new BufferedWriter(new OutputStreamWriter(output.newOutputStream(dataFilePath), StandardCharsets.UTF_8));
 				CSVWriter csvWriter = new CSVWriter(writer,
 				delimiter.charAt(0),
 				CSVWriter.NO_QUOTE_CHARACTER,
 				CSVWriter.DEFAULT_ESCAPE_CHARACTER,
 				CSVWriter.DEFAULT_LINE_END);
+				Stream<String[]> data = rows.open();
 	        ) {
 			
 			String[] headerRecord = new String[columnsNames.size()];
 			columnsNames.toArray(headerRecord);
 			
 			csvWriter.writeNext(headerRecord);
-			Arrays.asList(data).stream().forEach(csvWriter::writeNext);
+			data.forEachOrdered(csvWriter::writeNext);
 			
-		} catch (IOException e) {
-			logger.error("An error occured while writing the parameter File \"" + dataFile.getAbsolutePath() + "\":\n" + e);
+		} catch (IOException | UncheckedIOException e) {
+			logger.error("An error occured while writing the parameter File \"" + dataFilePath + "\":\n" + e);
 		}
 		
-		return VARIABLE_DIRECTORY + File.separator + dataFile.getName();
+		return VARIABLE_DIRECTORY + File.separator + dataFileName;
+	}
+
+	private static String getDataFileName(final String variableName, final int numFile) {
+		return DATA_FILE_BASE_NAME + "_" + variableName + Integer.toString(numFile) + DATA_FILE_BASE_EXT;
 	}
 	
 }
@@ -1,5 +1,8 @@
 package com.neotys.neoload.model.writers.neoload;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -17,4 +20,10 @@ public class HeaderWriter {
 		headerElement.setAttribute(XML_ATTR_VALUE, header.getHeaderValue());
 		currentElement.appendChild(headerElement);
 	}
+
+	public static void writeXML(final XMLStreamWriter writer, final Header header) throws XMLStreamException {
+		writer.writeEmptyElement(XML_TAG_NAME);
+		writer.writeAttribute(XML_ATTR_NAME, header.getHeaderName());
+		writer.writeAttribute(XML_ATTR_VALUE, header.getHeaderValue());
+	}
 }
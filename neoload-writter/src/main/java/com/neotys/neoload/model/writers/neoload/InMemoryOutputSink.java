@@ -0,0 +1,53 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps the files of the project in memory, by path.
+ * A file being written is empty until its stream is closed.
+ * Thread safe, the files being kept in a synchronized map.
+ */
+public final class InMemoryOutputSink implements OutputSink {
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private final SortedMap<String, byte[]> files = Collections.synchronizedSortedMap(new TreeMap<>());
+
+	@Override
+	public OutputStream newOutputStream(final String path) {
+		files.put(path, EMPTY);
+		return new ByteArrayOutputStream() {
+			@Override
+			public void close() {
+				files.put(path, toByteArray());
+			}
+		};
+	}
+
+	@Override
+	public boolean exists(final String path) {
+		return files.containsKey(path);
+	}
+
+	/**
+	 * @return the content of the file at path, empty if it is not written.
+	 */
+	public Optional<byte[]> getFile(final String path) {
+		return Optional.ofNullable(files.get(path));
+	}
+
+	/**
+	 * @return the content of the written files by path, sorted by path.
+	 */
+	public Map<String, byte[]> getFiles() {
+		synchronized (files) {
+			return Collections.unmodifiableSortedMap(new TreeMap<>(files));
+		}
+	}
+}
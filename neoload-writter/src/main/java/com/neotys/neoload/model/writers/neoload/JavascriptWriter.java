@@ -1,14 +1,16 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import com.google.common.io.Files;
 import com.neotys.neoload.model.repository.Javascript;
 
 public class JavascriptWriter extends ElementWriter {
@@ -26,42 +28,38 @@ public class JavascriptWriter extends ElementWriter {
 	}
 
 	@Override
-	public void writeXML(final Document document, final Element currentElement, final String parentPath, final String outputFolder) {
+	public void writeXML(final Document document, final Element currentElement, final String parentPath, final OutputSink output) {
 		final Element xmlJS = document.createElement(XML_TAG_NAME);
-		super.writeXML(document, xmlJS, parentPath, outputFolder);
+		super.writeXML(document, xmlJS, parentPath, output);
 		final String uid = xmlJS.getAttribute(XML_UID_TAG);
-		writeJavascriptFile(new File(outputFolder), uid);
+		writeJavascriptFile(output, uid);
 		xmlJS.setAttribute(XML_ATTRIBUTE_FILENAME, "scripts/jsAction_" + uid + ".js");
 		xmlJS.setAttribute(XML_ATTRIBUTE_NAME, element.getName());
 		xmlJS.setAttribute(XML_ATTRIBUTE_TS, Long.toString(System.currentTimeMillis()));		
 		currentElement.appendChild(xmlJS);
 	}
 
-	private void writeJavascriptFile(final File projectFolder, final String uid) {
-		if (projectFolder == null) {
-			LOGGER.error("The output folder does not exists.");
-			return;
-		}
-		if (!projectFolder.isDirectory()) {
-			LOGGER.error("The output folder is not a directory (" + projectFolder.getAbsolutePath() + ").");
-			return;
-		}
-		final File scriptFolder = new File(projectFolder.getAbsolutePath() + File.separator + SCRIPTS_FOLDER);
-		if (!scriptFolder.exists()) {
-			scriptFolder.mkdir();
-		}
-		final File jsFile = new File(scriptFolder.getAbsolutePath() + File.separator + "jsAction_" + uid + ".js");
-		try {
-			if (!jsFile.exists() && !jsFile.createNewFile()) {
-				LOGGER.error("An error occured while writing the Javascript file \"" + jsFile.getAbsolutePath() + ".");
-				return;				
-			}
-			final String strContent = ((Javascript) element).getContent();
-			final byte[] content = strContent == null ? new byte[0] : strContent.getBytes();
-			Files.write(content, jsFile);
+	@Override
+	public void writeXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException {
+		final String uid = uid(parentPath);
+		writeJavascriptFile(output, uid);
+		writer.writeStartElement(XML_TAG_NAME);
+		super.writeAttributes(writer, parentPath);
+		writer.writeAttribute(XML_ATTRIBUTE_FILENAME, "scripts/jsAction_" + uid + ".js");
+		writer.writeAttribute(XML_ATTRIBUTE_NAME, element.getName());
+		writer.writeAttribute(XML_ATTRIBUTE_TS, Long.toString(System.currentTimeMillis()));
+		writeDescription(writer);
+		writer.writeEndElement();
+	}
+
+	private void writeJavascriptFile(final OutputSink output, final String uid) {
+		final String jsPath = SCRIPTS_FOLDER + "/jsAction_" + uid + ".js";
+		final String strContent = ((Javascript) element).getContent();
+		final byte[] content = strContent == null ? new byte[0] : strContent.getBytes();
+		try (OutputStream out = output.newOutputStream(jsPath)) {
+			out.write(content);
 		} catch (IOException e) {
-			LOGGER.error("An error occured while writing the Javascript file \"" + jsFile.getAbsolutePath() + "\":\n" + e);
-			return;
+			LOGGER.error("An error occured while writing the Javascript file \"" + jsPath + "\":\n" + e);
 		}
 	}
 }
@@ -1,26 +1,28 @@
 package com.neotys.neoload.model.writers.neoload;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.URI;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -33,7 +35,7 @@ import com.neotys.neoload.model.Project;
 import com.neotys.neoload.model.repository.ImmutableFileVariable;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.PropertiesConfiguration;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -47,6 +49,7 @@ public class NeoLoadWriter {
 	
 	private static final String PROJECT_VERSION = "6.4";
 	private static final String PRODUCT_VERSION = "6.6.0";
+	private static final String CONFIG_ZIP = "config.zip";
 
 	public enum ConfigFiles {
 								REPOSITORY("repository.xml"),
@@ -62,51 +65,124 @@ public class NeoLoadWriter {
 
 	private Project project;
 	private final String nlProjectFolder;
+	private final OutputSink output;
 	Map<String, List<File>> fileToCopy;
+	private final NeoLoadWriterOptions options;
 
 	public NeoLoadWriter(final Project project, final String nlProjectFolder, final Map<String, List<File>> map) {
+		this(project, nlProjectFolder, map, NeoLoadWriterOptions.DEFAULT);
+	}
+
+	public NeoLoadWriter(final Project project, final String nlProjectFolder, final Map<String, List<File>> map, final NeoLoadWriterOptions options) {
+		this(project, nlProjectFolder, FileSystemOutputSink.of(new File(nlProjectFolder)), map, options);
+	}
+
+	/**
+	 * Write the project files to output rather than to a folder. The output is not closed by the writer.
+	 */
+	public NeoLoadWriter(final Project project, final OutputSink output, final Map<String, List<File>> map, final NeoLoadWriterOptions options) {
+		this(project, null, output, map, options);
+	}
+
+	private NeoLoadWriter(final Project project, final String nlProjectFolder, final OutputSink output, final Map<String, List<File>> map,
+			final NeoLoadWriterOptions options) {
 		this.project = project;
 		this.nlProjectFolder = nlProjectFolder;
+		this.output = output;
 		this.fileToCopy = map;
+		this.options = options;
 	}
 
+	/**
+	 * @return the folder of the NeoLoad project, null if the project is written to an output sink.
+	 */
 	public String getOutputFolder() {
 		return nlProjectFolder;
 	}
 
 	public void write() {
 		try {
-			final File f = new File(nlProjectFolder);
-			if (!f.exists()) {
-				logger.info("Output folder does not exist, creating it.");
-				Files.createDirectories(Paths.get(nlProjectFolder));
-			} else if (f.isFile()) {
-				logger.error("The destination is not a directory, migration aborted.");
-				return;
+			if (nlProjectFolder != null) {
+				final File f = new File(nlProjectFolder);
+				if (!f.exists()) {
+					logger.info("Output folder does not exist, creating it.");
+					Files.createDirectories(Paths.get(nlProjectFolder));
+				} else if (f.isFile()) {
+					logger.error("The destination is not a directory, migration aborted.");
+					return;
+				}
 			}
 			writeXML();
 			writeNLP(project.getName());
 			logger.info("Project saved.");
 
-		} catch (ParserConfigurationException | TransformerException | IOException e) {
+		} catch (ParserConfigurationException | TransformerException | XMLStreamException | IOException e) {
 			logger.error("Error writing project.", e);
 		}
 	}
 
-	private void writeXML() throws ParserConfigurationException, TransformerException, IOException {
-
-		StreamResult result = new StreamResult(new File(nlProjectFolder, ConfigFiles.REPOSITORY.fileName));
+	private void writeXML() throws ParserConfigurationException, TransformerException, XMLStreamException, IOException {
 
 		//copy the file needed to NeoLoad Directory
-		copyDataFilesToDestFolder(nlProjectFolder);
+		copyDataFilesToDestFolder();
 		changeBaseNameForCopiedVariables();
 
-		// write the repository
+		// write the repository, scenario and settings in the config zip
+		createConfigZip();
+	}
+
+	/**
+	 * Write repository.xml, scenario.xml and settings.xml as the entries of config.zip, in one pass and without writing
+	 * them on disk first.
+	 * The user paths write their files while the repository is written: when the output writes its files one after the
+	 * other, config.zip is written to a temporary file and copied last, so that these files are not kept in memory.
+	 */
+	public void createConfigZip() throws ParserConfigurationException, TransformerException, XMLStreamException, IOException {
+		if (!output.isSequential()) {
+			try (OutputStream out = output.newOutputStream(CONFIG_ZIP)) {
+				writeConfigZip(out);
+			}
+			return;
+		}
+		final Path temporary = Files.createTempFile("config", ".zip");
+		try {
+			try (OutputStream out = Files.newOutputStream(temporary)) {
+				writeConfigZip(out);
+			}
+			output.copy(temporary, CONFIG_ZIP);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	private void writeConfigZip(final OutputStream out) throws ParserConfigurationException, TransformerException, XMLStreamException, IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out))) {
+			zip.setLevel(options.getConfigZipLevel());
+			zip.putNextEntry(new ZipEntry(ConfigFiles.REPOSITORY.fileName));
+			if (options.getStreamRepository()) {
+				writeStreamedRepository(zip);
+			} else {
+				writeDOMRepository(zip);
+			}
+			zip.closeEntry();
+			for (final ConfigFiles configFile : new ConfigFiles[]{ConfigFiles.SCENARIO, ConfigFiles.SETTINGS}) {
+				zip.putNextEntry(new ZipEntry(configFile.fileName));
+				try (InputStream in = NeoLoadWriter.class.getResourceAsStream(configFile.fileName)) {
+					IOUtils.copy(in, zip);
+				}
+				zip.closeEntry();
+			}
+		}
+	}
+
+	private void writeDOMRepository(final OutputStream out) throws ParserConfigurationException, TransformerException {
+		StreamResult result = new StreamResult(out);
+
 		DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
 		DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
 
 		Document doc = docBuilder.newDocument();
-		ProjectWriter.of(project).writeXML(doc, nlProjectFolder);
+		ProjectWriter.of(project).writeXML(doc, output);
 
 		// write the content into xml file
 		TransformerFactory transformerFactory = TransformerFactory.newInstance();
@@ -115,14 +191,16 @@ public class NeoLoadWriter {
 		DOMSource source = new DOMSource(doc);
 
 		transformer.transform(source, result);
+	}
 
-		// extract scenario / settings
-		FileUtils.copyInputStreamToFile(NeoLoadWriter.class.getResourceAsStream(ConfigFiles.SCENARIO.fileName),
-				new File(nlProjectFolder, "scenario.xml"));
-		FileUtils.copyInputStreamToFile(NeoLoadWriter.class.getResourceAsStream(ConfigFiles.SETTINGS.fileName),
-				new File(nlProjectFolder, "settings.xml"));
-		createConfigZip();
-		deleteConfigFiles();
+	private void writeStreamedRepository(final OutputStream out) throws TransformerException, XMLStreamException, IOException {
+		if (options.getUserPathsExecutor().isPresent()) {
+			ProjectWriter.of(project).writeXML(out, output, options.getUserPathsExecutor().get(), options.getParallelUserPaths().getAsInt());
+			return;
+		}
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(out);
+		ProjectWriter.of(project).writeXML(writer, output);
+		writer.close();
 	}
 
 	private void changeBaseNameForCopiedVariables() {
@@ -148,71 +226,15 @@ public class NeoLoadWriter {
 
 	/**
 	 * Copy parameters data files from LR project to NL project
-	 * @param initFolderFullPath
-	 * @param destFolderFullPath
 	 */
-	private void copyDataFilesToDestFolder(String destFolderFullPath) {
+	private void copyDataFilesToDestFolder() {
 		if (fileToCopy == null)
 			return;
 
-		fileToCopy.forEach((repertory, dataFileList) -> {
-			File repFile = new File(destFolderFullPath + File.separator + repertory);
-			if (!repFile.exists()) {
-				repFile.mkdir();
-			}
-			dataFileList.forEach(dataFile -> {
-				Path source = Paths.get(dataFile.getAbsolutePath());
-				Path destination = Paths.get(repFile.getAbsolutePath() + File.separator + dataFile.getName());
-				try {
-					Files.copy(source, destination);
-				} catch (IOException e) {
-					logger.error("Problem while copying parameter data file \"" + source.toString() + "\" into folder \"" + destination.toString()
-							+ "\" :\n" + e);
-				}
-			});
-		});
-	}
-
-	public void createConfigZip() throws IOException {
-		Map<String, String> env = new HashMap<>();
-		env.put("create", "true");
-
-		Path zipfile = Paths.get(nlProjectFolder, "config.zip");
-		URI uri = URI.create("jar:" + zipfile.toUri());
-
-		try (FileSystem zipfs = FileSystems.newFileSystem(uri, env)) {
-			Stream.of(ConfigFiles.values()).forEach(configFile -> {
-				Path filePath = Paths.get(nlProjectFolder, configFile.fileName);
-				Path filePathInZipfile = zipfs.getPath("/" + configFile.fileName);
-				// copy a file into the zip file
-				try {
-					Files.copy(filePath, filePathInZipfile, StandardCopyOption.REPLACE_EXISTING);
-				} catch (IOException e) {
-					logger.error("Error writing file in config.zip file", e);
-				}
-			});
-		}
-	}
-
-	private void deleteConfigFiles() {
-		// remove the files on disk
-		Stream.of(ConfigFiles.values()).forEach(configFile -> {
-			try {
-				Files.delete(Paths.get(nlProjectFolder, configFile.fileName));
-			} catch (IOException e) {
-				logger.warn("Warning some config files were not cleanup", e);
-			}
-		});
+		DataFilesCopier.copy(fileToCopy, output, options.getDataFilesCopyListener());
 	}
 
 	public void writeNLP(String name) throws IOException {
-		File nlp = new File(nlProjectFolder, name + ".nlp");
-		if (!nlp.exists() && !nlp.createNewFile()) {
-			logger.error("Error, cannot create the NLP file");
-		}
-		if (!nlp.isFile()) {
-			throw new IllegalArgumentException("NLP file must be a file");
-		}
 		PropertiesConfiguration nlpProperties = new PropertiesConfiguration();
 		nlpProperties.getLayout().setGlobalSeparator("=");
 		nlpProperties.addProperty("project.name", name);
@@ -223,11 +245,11 @@ public class NeoLoadWriter {
 		nlpProperties.addProperty("product.version", PRODUCT_VERSION);
 		nlpProperties.addProperty("product.original.version", PRODUCT_VERSION);
 		nlpProperties.addProperty("project.id", UUID.randomUUID().toString());
-		nlpProperties.addProperty("project.config.path", "config.zip");
+		nlpProperties.addProperty("project.config.path", CONFIG_ZIP);
 		nlpProperties.addProperty("project.config.storage", "ZIP");
 		nlpProperties.addProperty("team.server.enabled", "false");
 
-		try (final Writer out = new FileWriter(nlp)) {
+		try (final Writer out = new OutputStreamWriter(output.newOutputStream(name + ".nlp"), Charset.defaultCharset())) {
 			nlpProperties.setHeader("Project description file");
 			nlpProperties.save(out);
 		} catch (ConfigurationException e) {
@@ -236,6 +258,6 @@ public class NeoLoadWriter {
 	}
 	
 	public File getNlProjectFolder() {
-		return new File(nlProjectFolder);
+		return nlProjectFolder == null ? null : new File(nlProjectFolder);
 	}
 }
\ No newline at end of file
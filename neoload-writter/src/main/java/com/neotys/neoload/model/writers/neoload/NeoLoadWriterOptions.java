@@ -0,0 +1,71 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.Deflater;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * How a {@link NeoLoadWriter} writes a project. By default, the repository is built in memory as a DOM document and
+ * config.zip is compressed with the default level.
+ */
+@Value.Immutable
+public interface NeoLoadWriterOptions {
+
+	NeoLoadWriterOptions DEFAULT = ImmutableNeoLoadWriterOptions.builder().build();
+
+	/**
+	 * @return true to stream the repository to config.zip instead of building it in memory as a DOM document. Both
+	 * modes write the same repository.xml entry.
+	 */
+	@Value.Default
+	default boolean getStreamRepository() {
+		return false;
+	}
+
+	/**
+	 * @return the executor rendering the user paths of the streamed repository in parallel, not shut down by the
+	 * writer. The user paths are written in the writing thread when absent.
+	 */
+	Optional<ExecutorService> getUserPathsExecutor();
+
+	/**
+	 * @return the number of user paths rendered at once on the user paths executor, usually its number of threads.
+	 * Required with the executor, as the rendered user paths are kept in memory until they are written.
+	 */
+	OptionalInt getParallelUserPaths();
+
+	/**
+	 * @return notified of the number of data files copied and of their size once they are copied.
+	 */
+	@Value.Default
+	default DataFilesCopyListener getDataFilesCopyListener() {
+		return DataFilesCopyListener.NONE;
+	}
+
+	/**
+	 * @return the compression level of config.zip, from {@link Deflater#NO_COMPRESSION} for the fastest output to
+	 * {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}.
+	 */
+	@Value.Default
+	default int getConfigZipLevel() {
+		return Deflater.DEFAULT_COMPRESSION;
+	}
+
+	@Value.Check
+	default void check() {
+		Preconditions.checkArgument(getConfigZipLevel() == Deflater.DEFAULT_COMPRESSION
+				|| (getConfigZipLevel() >= Deflater.NO_COMPRESSION && getConfigZipLevel() <= Deflater.BEST_COMPRESSION),
+				"Invalid compression level: %s", getConfigZipLevel());
+		Preconditions.checkArgument(!getUserPathsExecutor().isPresent() || getStreamRepository(),
+				"The user paths are rendered in parallel only in a streamed repository");
+		Preconditions.checkArgument(getUserPathsExecutor().isPresent() == getParallelUserPaths().isPresent(),
+				"The number of parallel user paths is given with the user paths executor");
+		Preconditions.checkArgument(getParallelUserPaths().orElse(1) > 0, "Invalid number of parallel user paths: %s",
+				getParallelUserPaths().orElse(1));
+	}
+}
@@ -0,0 +1,53 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Where the files of a NeoLoad project are written: a folder, memory or a single archive.
+ * The files are given by their path relative to the project folder, with '/' as separator, e.g. "scripts/jsAction_1.js".
+ * Implementations must be thread safe: the data files are copied in parallel and the user paths rendered in parallel
+ * write their files from the threads of their executor. A path is never written by two threads at once.
+ */
+public interface OutputSink extends Closeable {
+
+	/**
+	 * @return a stream writing the file at path, the file being complete once the stream is closed.
+	 */
+	OutputStream newOutputStream(final String path) throws IOException;
+
+	/**
+	 * @return true if the file at path is written or being written.
+	 */
+	boolean exists(final String path);
+
+	/**
+	 * @return true if the files are written one after the other, a file written while another one is open being kept
+	 * in memory until that one is complete. The files written while a large file is written should then be avoided.
+	 */
+	default boolean isSequential() {
+		return false;
+	}
+
+	/**
+	 * Write a copy of the file source at path.
+	 * @return false if the file at path is already a copy of source and is not written again.
+	 */
+	default boolean copy(final Path source, final String path) throws IOException {
+		try (OutputStream out = newOutputStream(path)) {
+			Files.copy(source, out);
+		}
+		return true;
+	}
+
+	/**
+	 * Nothing to release by default, the files being complete once their stream is closed.
+	 */
+	@Override
+	default void close() throws IOException {
+		// nothing to release
+	}
+}
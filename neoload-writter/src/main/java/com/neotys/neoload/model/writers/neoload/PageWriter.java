@@ -5,6 +5,13 @@ import com.neotys.neoload.model.repository.Page;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 public class PageWriter extends ElementWriter {
 
     public static final String XML_TAG_NAME = "http-page";
@@ -15,15 +22,38 @@ public class PageWriter extends ElementWriter {
     }
     
     @Override
-    public void writeXML(final Document document, final Element currentElement, final String parentPath, final String outputFolder) {
+    public void writeXML(final Document document, final Element currentElement, final String parentPath, final OutputSink output) {
         Element xmlPage = document.createElement(XML_TAG_NAME);
-        super.writeXML(document, xmlPage,parentPath, outputFolder);
+        super.writeXML(document, xmlPage,parentPath, output);
         Page thePage = (Page) this.element;
         xmlPage.setAttribute(XML_THINK_TIME, Integer.toString(thePage.getThinkTime()));
         currentElement.appendChild(xmlPage);
+        final String pagePath = ElementUids.path(parentPath, thePage.getName());
         thePage.getChilds().forEach(pageElem -> {
-        	WriterUtils.generateEmbeddedAction(document, xmlPage, pageElem, parentPath+"/"+thePage.getName());
-        	WriterUtils.getWriterFor(pageElem).writeXML(document, currentElement, parentPath+"/"+thePage.getName(), outputFolder);
+        	final ElementWriter childWriter = WriterUtils.getWriterFor(pageElem);
+        	WriterUtils.generateEmbeddedAction(document, xmlPage, childWriter, pagePath, Optional.empty(), false);
+        	childWriter.writeXML(document, currentElement, pagePath, output);
         });
     }
+
+    @Override
+    public void writeXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException {
+        Page thePage = (Page) this.element;
+        writer.writeStartElement(XML_TAG_NAME);
+        super.writeAttributes(writer, parentPath);
+        writer.writeAttribute(XML_THINK_TIME, Integer.toString(thePage.getThinkTime()));
+        writeDescription(writer);
+        final String pagePath = ElementUids.path(parentPath, thePage.getName());
+        // the writers of the childs keep their uid from the embedded actions to the childs
+        final List<ElementWriter> childWriters = new ArrayList<>(thePage.getChilds().size());
+        for (final com.neotys.neoload.model.core.Element pageElem : thePage.getChilds()) {
+        	final ElementWriter childWriter = WriterUtils.getWriterFor(pageElem);
+        	WriterUtils.generateEmbeddedAction(writer, childWriter, pagePath, Optional.empty(), false);
+        	childWriters.add(childWriter);
+        }
+        writer.writeEndElement();
+        for (final ElementWriter childWriter : childWriters) {
+        	childWriter.writeXML(writer, pagePath, output);
+        }
+    }
 }
@@ -7,6 +7,9 @@ import com.neotys.neoload.model.repository.Parameter;
 
 import java.util.Optional;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 public class ParameterWriter {
 
     public static final String XML_TAG_NAME = "parameter";
@@ -26,6 +29,14 @@ public class ParameterWriter {
         currentElement.appendChild(xmlParam);
     }
 
+    public void writeXML(final XMLStreamWriter writer, Optional<String> tagName) throws XMLStreamException {
+        writer.writeEmptyElement(tagName.orElse(XML_TAG_NAME));
+        writer.writeAttribute(XML_NAME, parameter.getName());
+        if (parameter.getValue().isPresent()) {
+            writer.writeAttribute(XML_VALUE, parameter.getValue().get());
+        }
+    }
+
 	public static ParameterWriter of(Parameter paramElem) {
 		return new ParameterWriter(paramElem);
 	}
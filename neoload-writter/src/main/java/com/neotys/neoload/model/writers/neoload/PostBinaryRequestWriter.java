@@ -9,6 +9,9 @@ import org.w3c.dom.Element;
 
 import java.util.Base64;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 public class PostBinaryRequestWriter extends PostRequestWriter {
 	public static final String XML_BINARY_DATA_TAG_NAME = "binaryPostContentBase64";
 
@@ -26,4 +29,12 @@ public class PostBinaryRequestWriter extends PostRequestWriter {
 
 
 	}
+
+	@Override
+	public void writeParameters(final Request request, final XMLStreamWriter writer) throws XMLStreamException {
+		super.writeParameters(request, writer);
+		writer.writeStartElement(XML_BINARY_DATA_TAG_NAME);
+		writer.writeCData(Base64.getEncoder().encodeToString(((PostBinaryRequest)request).getBinaryData()));
+		writer.writeEndElement();
+	}
 }
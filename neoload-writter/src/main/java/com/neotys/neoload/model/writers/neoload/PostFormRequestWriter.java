@@ -1,5 +1,6 @@
 package com.neotys.neoload.model.writers.neoload;
 
+import com.neotys.neoload.model.repository.Parameter;
 import com.neotys.neoload.model.repository.PostFormRequest;
 import com.neotys.neoload.model.repository.Request;
 import org.w3c.dom.Document;
@@ -7,6 +8,9 @@ import org.w3c.dom.Element;
 
 import java.util.Optional;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 public class PostFormRequestWriter extends PostRequestWriter {
 
 	public PostFormRequestWriter(PostFormRequest request) {
@@ -18,4 +22,12 @@ public class PostFormRequestWriter extends PostRequestWriter {
 		super.writeParameters(request, document, xmlRequest);
 		((PostFormRequest)request).getPostParameters().forEach(paramElem -> ParameterWriter.of(paramElem).writeXML(document, xmlRequest, Optional.empty()));
 	}
+
+	@Override
+	public void writeParameters(final Request request, final XMLStreamWriter writer) throws XMLStreamException {
+		super.writeParameters(request, writer);
+		for (final Parameter paramElem : ((PostFormRequest)request).getPostParameters()) {
+			ParameterWriter.of(paramElem).writeXML(writer, Optional.empty());
+		}
+	}
 }
@@ -2,9 +2,13 @@ package com.neotys.neoload.model.writers.neoload;
 
 import java.util.Optional;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import com.neotys.neoload.model.repository.Parameter;
 import com.neotys.neoload.model.repository.PostRequest;
 import com.neotys.neoload.model.repository.Request;
 
@@ -21,4 +25,11 @@ public class PostRequestWriter extends RequestWriter {
 	public void writeParameters(final Request request, final Document document, Element xmlRequest) {
 		request.getParameters().forEach(paramElem -> ParameterWriter.of(paramElem).writeXML(document, xmlRequest, Optional.of(XML_URL_PARAMETER_TAG_NAME)));
 	}
+
+	@Override
+	public void writeParameters(final Request request, final XMLStreamWriter writer) throws XMLStreamException {
+		for (final Parameter paramElem : request.getParameters()) {
+			ParameterWriter.of(paramElem).writeXML(writer, Optional.of(XML_URL_PARAMETER_TAG_NAME));
+		}
+	}
 }
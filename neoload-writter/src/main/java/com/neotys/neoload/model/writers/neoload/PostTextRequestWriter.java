@@ -2,6 +2,9 @@ package com.neotys.neoload.model.writers.neoload;
 
 import java.util.Base64;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.CDATASection;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -30,4 +33,18 @@ public class PostTextRequestWriter extends PostRequestWriter {
 		xmlDataBinaryNode.appendChild(xmlDataBinary);
 		xmlRequest.appendChild(xmlDataBinaryNode);
 	}
+
+	@Override
+	public void writeParameters(final Request request, final XMLStreamWriter writer) throws XMLStreamException {
+		super.writeParameters(request, writer);
+		String data = ((PostTextRequest)request).getData();
+		writer.writeStartElement(XML_STRING_DATA_TAG_NAME);
+		writer.writeCData(data);
+		writer.writeEndElement();
+
+		// write also in the binary content in case of conversion
+		writer.writeStartElement(XML_BINARY_DATA_TAG_NAME);
+		writer.writeCData(Base64.getEncoder().encodeToString(data.getBytes()));
+		writer.writeEndElement();
+	}
 }
@@ -1,13 +1,38 @@
 package com.neotys.neoload.model.writers.neoload;
 
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Bytes;
 import com.neotys.neoload.model.Project;
+import com.neotys.neoload.model.repository.Server;
+import com.neotys.neoload.model.repository.UserPath;
+import com.neotys.neoload.model.repository.Variable;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 public class ProjectWriter {
 
     public static final String XML_TAG_NAME = "repository";
+    private static final String XML_TAG_USER_PATHS_PLACEHOLDER = "user-paths-placeholder";
+    private static final byte[] REPOSITORY_START_TAG = ("<" + XML_TAG_NAME + ">").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] USER_PATHS_PLACEHOLDER = ("<" + XML_TAG_USER_PATHS_PLACEHOLDER + "/>").getBytes(StandardCharsets.UTF_8);
     
     private final Project project;
 
@@ -19,11 +44,144 @@ public class ProjectWriter {
         return new ProjectWriter(project);
     }
 
-    public void writeXML(final Document document, final String outputFolder) {
+    public void writeXML(final Document document, final OutputSink output) {
         final Element repositoryElement = document.createElement(XML_TAG_NAME);
         document.appendChild(repositoryElement);
-        project.getUserPaths().forEach(userPath -> UserPathWriter.of(userPath).writeXML(document, repositoryElement, userPath.getName(), outputFolder));
+        project.getUserPaths().forEach(userPath -> UserPathWriter.of(userPath).writeXML(document, repositoryElement, userPath.getName(), output));
         project.getServers().forEach(serv -> ServerWriter.of(serv).writeXML(document, repositoryElement));
-        project.getVariables().forEach(var -> WriterUtils.getWriterFor(var).writeXML(document, repositoryElement, outputFolder));
+        project.getVariables().forEach(var -> WriterUtils.getWriterFor(var).writeXML(document, repositoryElement, output));
+    }
+
+    /**
+     * Stream the repository without building its DOM, the output is identical to the transformed DOM document.
+     * @param writer
+     * @param output
+     */
+    public void writeXML(final XMLStreamWriter writer, final OutputSink output) throws XMLStreamException {
+        writer.writeStartDocument();
+        writer.writeStartElement(XML_TAG_NAME);
+        for (final UserPath userPath : project.getUserPaths()) {
+            UserPathWriter.of(userPath).writeXML(writer, userPath.getName(), output);
+        }
+        writeServersAndVariables(writer, output);
+        writer.writeEndElement();
+        writer.writeEndDocument();
+    }
+
+    private void writeServersAndVariables(final XMLStreamWriter writer, final OutputSink output) throws XMLStreamException {
+        for (final Server serv : project.getServers()) {
+            ServerWriter.of(serv).writeXML(writer);
+        }
+        for (final Variable var : project.getVariables()) {
+            WriterUtils.getWriterFor(var).writeXML(writer, output);
+        }
+    }
+
+    /**
+     * Stream the repository to out, the user paths being rendered to XML fragments in parallel on executor and written
+     * in their order in the project. The output is identical to the streamed repository.
+     * At most parallelUserPaths fragments are rendered ahead of the one being written, to bound the memory used by the
+     * fragments of large projects.
+     * @param output where the files of the user paths are written, from the threads of the executor.
+     * @param parallelUserPaths the number of user paths rendered at once, usually the number of threads of executor.
+     */
+    public void writeXML(final OutputStream out, final OutputSink output, final ExecutorService executor, final int parallelUserPaths)
+            throws TransformerException, XMLStreamException, IOException {
+        Preconditions.checkArgument(parallelUserPaths > 0, "Invalid number of parallel user paths: %s", parallelUserPaths);
+        final List<UserPath> userPaths = project.getUserPaths();
+        if (userPaths.size() < 2) {
+            final XMLStreamWriter writer = SaxXMLStreamWriter.of(out);
+            writeXML(writer, output);
+            writer.close();
+            return;
+        }
+        final Deque<Future<byte[]>> fragments = new ArrayDeque<>();
+        try {
+            int submitted = 0;
+            while (submitted < Math.min(parallelUserPaths, userPaths.size())) {
+                fragments.add(submitFragment(executor, userPaths.get(submitted++), output));
+            }
+            // the repository without the user paths, an empty element marking where they are written
+            final byte[] skeleton = renderSkeleton(output);
+            final int placeholder = Bytes.indexOf(skeleton, USER_PATHS_PLACEHOLDER);
+            // the fragments start with the indentation of their user path
+            out.write(skeleton, 0, skipWhitespacesBackward(skeleton, placeholder));
+            while (!fragments.isEmpty()) {
+                out.write(getFragment(fragments.poll()));
+                if (submitted < userPaths.size()) {
+                    fragments.add(submitFragment(executor, userPaths.get(submitted++), output));
+                }
+            }
+            final int afterPlaceholder = placeholder + USER_PATHS_PLACEHOLDER.length;
+            out.write(skeleton, afterPlaceholder, skeleton.length - afterPlaceholder);
+        } finally {
+            // not to render the fragments left after a failure
+            fragments.forEach(fragment -> fragment.cancel(true));
+        }
+    }
+
+    private static Future<byte[]> submitFragment(final ExecutorService executor, final UserPath userPath, final OutputSink output) {
+        return executor.submit(() -> renderFragment(userPath, output));
+    }
+
+    private byte[] renderSkeleton(final OutputSink output) throws TransformerException, XMLStreamException {
+        final ByteArrayOutputStream skeleton = new ByteArrayOutputStream();
+        final XMLStreamWriter writer = SaxXMLStreamWriter.of(skeleton);
+        writer.writeStartDocument();
+        writer.writeStartElement(XML_TAG_NAME);
+        writer.writeEmptyElement(XML_TAG_USER_PATHS_PLACEHOLDER);
+        writeServersAndVariables(writer, output);
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.close();
+        return skeleton.toByteArray();
+    }
+
+    /**
+     * @return the user path serialized in a repository of its own, from the indentation before its element to its end
+     * tag, so that it is serialized as in the whole repository.
+     */
+    private static byte[] renderFragment(final UserPath userPath, final OutputSink output) throws TransformerException, XMLStreamException {
+        final ByteArrayOutputStream repository = new ByteArrayOutputStream();
+        final XMLStreamWriter writer = SaxXMLStreamWriter.of(repository);
+        writer.writeStartDocument();
+        writer.writeStartElement(XML_TAG_NAME);
+        UserPathWriter.of(userPath).writeXML(writer, userPath.getName(), output);
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.close();
+        final byte[] bytes = repository.toByteArray();
+        final int start = Bytes.indexOf(bytes, REPOSITORY_START_TAG) + REPOSITORY_START_TAG.length;
+        final int end = skipWhitespacesBackward(bytes, Bytes.lastIndexOf(bytes, (byte) '<'));
+        return Arrays.copyOfRange(bytes, start, end);
+    }
+
+    private static int skipWhitespacesBackward(final byte[] bytes, final int index) {
+        int i = index;
+        while (i > 0 && Character.isWhitespace(bytes[i - 1])) {
+            i--;
+        }
+        return i;
+    }
+
+    private static byte[] getFragment(final Future<byte[]> fragment) throws TransformerException, XMLStreamException, IOException {
+        try {
+            return fragment.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing the user paths");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof TransformerException) {
+                throw (TransformerException) cause;
+            }
+            if (cause instanceof XMLStreamException) {
+                throw (XMLStreamException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Error while writing a user path", cause);
+        }
     }
 }
@@ -1,6 +1,9 @@
 package com.neotys.neoload.model.writers.neoload;
 
 import org.w3c.dom.Document;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import com.neotys.neoload.model.repository.RandomNumberVariable;
 
 public class RandomNumberVariableWriter extends VariableWriter{
@@ -14,7 +17,7 @@ public class RandomNumberVariableWriter extends VariableWriter{
 	}
 	
 	@Override
-	public void writeXML(final Document document, final org.w3c.dom.Element currentElement, final String outputFolder) {
+	public void writeXML(final Document document, final org.w3c.dom.Element currentElement, final OutputSink output) {
 		org.w3c.dom.Element xmlVariable = document.createElement(XML_TAG_NAME);
 		super.writeXML(xmlVariable) ;
 		
@@ -24,5 +27,15 @@ public class RandomNumberVariableWriter extends VariableWriter{
 		
 		currentElement.appendChild(xmlVariable);
 	}
+
+	@Override
+	public void writeXML(final XMLStreamWriter writer, final OutputSink output) throws XMLStreamException {
+		writer.writeEmptyElement(XML_TAG_NAME);
+		super.writeAttributes(writer);
+
+		RandomNumberVariable theVariable = (RandomNumberVariable) variable;
+		writer.writeAttribute(XML_ATTR_MIN_VAL,	Integer.toString(theVariable.getMinValue()));
+		writer.writeAttribute(XML_ATTR_MAX_VAL,	Integer.toString(theVariable.getMaxValue()));
+	}
 	
 }
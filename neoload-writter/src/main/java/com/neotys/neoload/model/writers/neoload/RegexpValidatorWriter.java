@@ -1,6 +1,9 @@
 package com.neotys.neoload.model.writers.neoload;
 
 import com.neotys.neoload.model.repository.RegexpValidator;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -30,4 +33,14 @@ public class RegexpValidatorWriter extends ValidatorWriter {
         xmlValidator.appendChild(xmlStringDocument);
         currentElement.appendChild(xmlValidator);
     }
+
+    @Override
+    public void writeXML(final XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(XML_TAG_NAME);
+        super.writeAttributes(writer, validator);
+        writer.writeStartElement(XML_TAG_STRING);
+        writer.writeCharacters(validator.getValidationRegex());
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
 }
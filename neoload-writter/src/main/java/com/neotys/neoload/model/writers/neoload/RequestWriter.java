@@ -3,10 +3,17 @@ package com.neotys.neoload.model.writers.neoload;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import com.neotys.neoload.model.repository.Header;
+import com.neotys.neoload.model.repository.Parameter;
 import com.neotys.neoload.model.repository.Request;
+import com.neotys.neoload.model.repository.Validator;
+import com.neotys.neoload.model.repository.VariableExtractor;
 
 import java.util.Optional;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 public class RequestWriter extends ElementWriter {
 	public static final String XML_TAG_NAME = "http-action";
 	public static final String XML_ATTR_METHOD = "method";
@@ -22,10 +29,10 @@ public class RequestWriter extends ElementWriter {
 	}
 
 	@Override
-	public void writeXML(final Document document, final Element currentElement, final String parentPath, final String outputFolder) {
+	public void writeXML(final Document document, final Element currentElement, final String parentPath, final OutputSink output) {
 		Element xmlRequest = document.createElement(XML_TAG_NAME);
 		Request theRequest = (Request) this.element;
-		super.writeXML(document, xmlRequest, parentPath, outputFolder);
+		super.writeXML(document, xmlRequest, parentPath, output);
 
 		xmlRequest.setAttribute(XML_ATTR_METHOD, theRequest.getHttpMethod().toString());
 		theRequest.getServer().ifPresent(server -> xmlRequest.setAttribute(XML_ATTR_SERV_UID, server.getName()));		
@@ -40,6 +47,33 @@ public class RequestWriter extends ElementWriter {
 		currentElement.appendChild(xmlRequest);
 	}
 
+	@Override
+	public void writeXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException {
+		Request theRequest = (Request) this.element;
+		writer.writeStartElement(XML_TAG_NAME);
+		super.writeAttributes(writer, parentPath);
+		writer.writeAttribute(XML_ATTR_METHOD, theRequest.getHttpMethod().toString());
+		if (theRequest.getServer().isPresent()) {
+			writer.writeAttribute(XML_ATTR_SERV_UID, theRequest.getServer().get().getName());
+		}
+		writer.writeAttribute(XML_ATTR_ACTION_TYPE, DEFAULT_ACTION_TYPE);
+		if (theRequest.getPath().isPresent()) {
+			writer.writeAttribute(XML_ATTR_PATH, theRequest.getPath().get());
+		}
+		writeDescription(writer);
+
+		for (final VariableExtractor extractElem : theRequest.getExtractors()) {
+			ExtractorWriter.of(extractElem).writeXML(writer);
+		}
+		writeValidationSection(theRequest, writer);
+		writeParameters(theRequest, writer);
+		for (final Header header : theRequest.getHeaders()) {
+			HeaderWriter.writeXML(writer, header);
+		}
+
+		writer.writeEndElement();
+	}
+
 	public void writeParameters(final Request request, final Document document, Element xmlRequest) {
 		request.getParameters().forEach(paramElem -> ParameterWriter.of(paramElem).writeXML(document, xmlRequest, Optional.empty()));
 	}
@@ -53,4 +87,21 @@ public class RequestWriter extends ElementWriter {
 		
 		xmlRequest.appendChild(xmlAssertBloc);
 	}
+
+	public void writeParameters(final Request request, final XMLStreamWriter writer) throws XMLStreamException {
+		for (final Parameter paramElem : request.getParameters()) {
+			ParameterWriter.of(paramElem).writeXML(writer, Optional.empty());
+		}
+	}
+
+	public void writeValidationSection(final Request request, final XMLStreamWriter writer) throws XMLStreamException {
+		if (request.getValidators().isEmpty())
+			return;
+
+		writer.writeStartElement(XML_ATTR_ASSERT_BLOC);
+		for (final Validator validElem : request.getValidators()) {
+			ValidatorWriter.getWriterFor(validElem).writeXML(writer);
+		}
+		writer.writeEndElement();
+	}
 }
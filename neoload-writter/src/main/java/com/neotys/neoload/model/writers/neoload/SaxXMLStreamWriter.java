@@ -0,0 +1,320 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * {@link XMLStreamWriter} forwarding the written XML to the serializer used to transform the DOM repository, so that
+ * streamed and DOM generated repositories are byte identical.
+ * Like the DOM, attributes are sorted by name. Namespace prefixes are bound for the whole document rather than per
+ * element, and namespace declarations are written as plain xmlns attributes.
+ * DTD and entity references are not supported: an {@link XMLStreamException} naming the call is thrown.
+ */
+public class SaxXMLStreamWriter implements XMLStreamWriter {
+
+	private static final String CDATA_TYPE = "CDATA";
+
+	private final TransformerHandler handler;
+
+	private String pendingElement = null;
+	private boolean pendingElementIsEmpty = false;
+	private final Map<String, String> pendingAttributes = new TreeMap<>();
+	private final Deque<String> openElements = new ArrayDeque<>();
+	// prefix of the namespaces, by namespace URI
+	private final Map<String, String> prefixes = new HashMap<>();
+	private NamespaceContext namespaceContext = null;
+
+	private SaxXMLStreamWriter(final TransformerHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * @param outputStream where the XML is serialized, not closed by the writer.
+	 * @return a writer with the same output properties than the NeoLoad repository transformer.
+	 */
+	public static XMLStreamWriter of(final OutputStream outputStream) throws TransformerConfigurationException {
+		final TransformerHandler handler = ((SAXTransformerFactory) TransformerFactory.newInstance()).newTransformerHandler();
+		handler.getTransformer().setOutputProperty(OutputKeys.INDENT, "yes");
+		// a new DOM document is not standalone, the serializer writes it in the XML declaration
+		handler.getTransformer().setOutputProperty(OutputKeys.STANDALONE, "no");
+		handler.setResult(new StreamResult(outputStream));
+		return new SaxXMLStreamWriter(handler);
+	}
+
+	private void flushPendingElement() throws XMLStreamException {
+		if (pendingElement == null) {
+			return;
+		}
+		final AttributesImpl attributes = new AttributesImpl();
+		pendingAttributes.forEach((name, value) -> attributes.addAttribute("", name, name, CDATA_TYPE, value));
+		final String element = pendingElement;
+		pendingElement = null;
+		pendingAttributes.clear();
+		try {
+			handler.startElement("", element, element, attributes);
+			if (pendingElementIsEmpty) {
+				handler.endElement("", element, element);
+			} else {
+				openElements.push(element);
+			}
+		} catch (SAXException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	private void startElement(final String localName, final boolean isEmpty) throws XMLStreamException {
+		flushPendingElement();
+		pendingElement = localName;
+		pendingElementIsEmpty = isEmpty;
+	}
+
+	@Override
+	public void writeStartElement(final String localName) throws XMLStreamException {
+		startElement(localName, false);
+	}
+
+	@Override
+	public void writeStartElement(final String namespaceURI, final String localName) throws XMLStreamException {
+		writeStartElement(boundName(namespaceURI, localName));
+	}
+
+	@Override
+	public void writeStartElement(final String prefix, final String localName, final String namespaceURI) throws XMLStreamException {
+		writeStartElement(qualifiedName(prefix, localName));
+	}
+
+	@Override
+	public void writeEmptyElement(final String localName) throws XMLStreamException {
+		startElement(localName, true);
+	}
+
+	@Override
+	public void writeEmptyElement(final String namespaceURI, final String localName) throws XMLStreamException {
+		writeEmptyElement(boundName(namespaceURI, localName));
+	}
+
+	@Override
+	public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI) throws XMLStreamException {
+		writeEmptyElement(qualifiedName(prefix, localName));
+	}
+
+	@Override
+	public void writeEndElement() throws XMLStreamException {
+		flushPendingElement();
+		if (openElements.isEmpty()) {
+			throw new XMLStreamException("No element to end");
+		}
+		final String element = openElements.pop();
+		try {
+			handler.endElement("", element, element);
+		} catch (SAXException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeAttribute(final String localName, final String value) throws XMLStreamException {
+		if (pendingElement == null) {
+			throw new XMLStreamException("Attribute " + localName + " written outside of a start element");
+		}
+		pendingAttributes.put(localName, value);
+	}
+
+	@Override
+	public void writeAttribute(final String prefix, final String namespaceURI, final String localName, final String value)
+			throws XMLStreamException {
+		writeAttribute(qualifiedName(prefix, localName), value);
+	}
+
+	@Override
+	public void writeAttribute(final String namespaceURI, final String localName, final String value) throws XMLStreamException {
+		writeAttribute(boundName(namespaceURI, localName), value);
+	}
+
+	/**
+	 * @return the name of the element or attribute, prefixed with the prefix bound to the namespace URI.
+	 */
+	private String boundName(final String namespaceURI, final String localName) throws XMLStreamException {
+		final String prefix = getPrefix(namespaceURI);
+		if (prefix == null) {
+			throw new XMLStreamException("No prefix bound to the namespace " + namespaceURI + " of " + localName);
+		}
+		return qualifiedName(prefix, localName);
+	}
+
+	private static String qualifiedName(final String prefix, final String localName) {
+		return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+	}
+
+	@Override
+	public void writeCharacters(final String text) throws XMLStreamException {
+		writeCharacters(text.toCharArray(), 0, text.length());
+	}
+
+	@Override
+	public void writeCharacters(final char[] text, final int start, final int len) throws XMLStreamException {
+		flushPendingElement();
+		// an empty DOM text content does not create any node
+		if (len == 0) {
+			return;
+		}
+		try {
+			handler.characters(text, start, len);
+		} catch (SAXException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeCData(final String data) throws XMLStreamException {
+		flushPendingElement();
+		try {
+			handler.startCDATA();
+			handler.characters(data.toCharArray(), 0, data.length());
+			handler.endCDATA();
+		} catch (SAXException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeStartDocument() throws XMLStreamException {
+		try {
+			handler.startDocument();
+		} catch (SAXException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeStartDocument(final String version) throws XMLStreamException {
+		writeStartDocument();
+	}
+
+	@Override
+	public void writeStartDocument(final String encoding, final String version) throws XMLStreamException {
+		writeStartDocument();
+	}
+
+	@Override
+	public void writeEndDocument() throws XMLStreamException {
+		flushPendingElement();
+		try {
+			handler.endDocument();
+		} catch (SAXException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void flush() throws XMLStreamException {
+		flushPendingElement();
+	}
+
+	@Override
+	public void close() throws XMLStreamException {
+		flushPendingElement();
+	}
+
+	@Override
+	public void writeComment(final String data) throws XMLStreamException {
+		flushPendingElement();
+		try {
+			handler.comment(data.toCharArray(), 0, data.length());
+		} catch (SAXException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeProcessingInstruction(final String target) throws XMLStreamException {
+		writeProcessingInstruction(target, "");
+	}
+
+	@Override
+	public void writeProcessingInstruction(final String target, final String data) throws XMLStreamException {
+		flushPendingElement();
+		try {
+			handler.processingInstruction(target, data);
+		} catch (SAXException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeDTD(final String dtd) throws XMLStreamException {
+		throw new XMLStreamException("writeDTD is not supported, the repository has no DTD");
+	}
+
+	@Override
+	public void writeEntityRef(final String name) throws XMLStreamException {
+		throw new XMLStreamException("writeEntityRef is not supported, the text is written escaped: &" + name + ";");
+	}
+
+	@Override
+	public void writeNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+		if (prefix == null || prefix.isEmpty() || "xmlns".equals(prefix)) {
+			writeDefaultNamespace(namespaceURI);
+			return;
+		}
+		writeAttribute("xmlns:" + prefix, namespaceURI);
+		prefixes.put(namespaceURI, prefix);
+	}
+
+	@Override
+	public void writeDefaultNamespace(final String namespaceURI) throws XMLStreamException {
+		writeAttribute("xmlns", namespaceURI);
+		prefixes.put(namespaceURI, "");
+	}
+
+	@Override
+	public String getPrefix(final String uri) throws XMLStreamException {
+		final String prefix = prefixes.get(uri);
+		if (prefix == null && namespaceContext != null) {
+			return namespaceContext.getPrefix(uri);
+		}
+		return prefix;
+	}
+
+	@Override
+	public void setPrefix(final String prefix, final String uri) throws XMLStreamException {
+		prefixes.put(uri, prefix);
+	}
+
+	@Override
+	public void setDefaultNamespace(final String uri) throws XMLStreamException {
+		prefixes.put(uri, "");
+	}
+
+	@Override
+	public void setNamespaceContext(final NamespaceContext context) throws XMLStreamException {
+		this.namespaceContext = context;
+	}
+
+	@Override
+	public NamespaceContext getNamespaceContext() {
+		return namespaceContext;
+	}
+
+	@Override
+	public Object getProperty(final String name) {
+		throw new IllegalArgumentException("Unsupported property " + name);
+	}
+}
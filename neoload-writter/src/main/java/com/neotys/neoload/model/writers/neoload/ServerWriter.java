@@ -1,4 +1,7 @@
 package com.neotys.neoload.model.writers.neoload;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import com.neotys.neoload.model.repository.Server;
 
@@ -30,4 +33,13 @@ public class ServerWriter {
         xmlServer.setAttribute(XML_ATTRIBUTE_UID, server.getName());
         currentElement.appendChild(xmlServer);
     }
+
+    public void writeXML(final XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeEmptyElement(XML_TAG_NAME);
+        writer.writeAttribute(XML_ATTRIBUTE_NAME, server.getName());
+        writer.writeAttribute(XML_ATTRIBUTE_HOST, server.getHost());
+        writer.writeAttribute(XML_ATTRIBUTE_PORT, server.getPort());
+        writer.writeAttribute(XML_ATTRIBUTE_SSL, String.valueOf("https".equals(server.getScheme().orElse("http"))));
+        writer.writeAttribute(XML_ATTRIBUTE_UID, server.getName());
+    }
 }
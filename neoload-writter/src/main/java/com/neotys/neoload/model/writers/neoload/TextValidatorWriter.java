@@ -1,6 +1,9 @@
 package com.neotys.neoload.model.writers.neoload;
 
 import com.neotys.neoload.model.repository.TextValidator;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -28,4 +31,11 @@ public class TextValidatorWriter extends ValidatorWriter {
         xmlValidator.setAttribute(XML_ATTR_PATTERN, this.validator.getValidationText());
         currentElement.appendChild(xmlValidator);
     }
+
+    @Override
+    public void writeXML(final XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeEmptyElement(XML_TAG_NAME);
+        super.writeAttributes(writer, validator);
+        writer.writeAttribute(XML_ATTR_PATTERN, this.validator.getValidationText());
+    }
 }
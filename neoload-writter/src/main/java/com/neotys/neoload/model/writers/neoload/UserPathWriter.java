@@ -4,6 +4,9 @@ import com.neotys.neoload.model.repository.UserPath;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 public class UserPathWriter extends ElementWriter{
 
     public static final String XML_TAG_NAME = "virtual-user";
@@ -24,19 +27,39 @@ public class UserPathWriter extends ElementWriter{
     }
 
     @Override
-    public void writeXML(final Document document, final Element repositoryElement, String parentPath, final String outputFolder) {
+    public void writeXML(final Document document, final Element repositoryElement, String parentPath, final OutputSink output) {
         Element element = document.createElement(XML_TAG_NAME);
         element.setAttribute(XML_USERPATH_NAME_ATTR, this.userPath.getName());
         super.writeDescription(document, element);
         repositoryElement.appendChild(element);
         // write init-container
-        ContainerWriter.of(this.userPath.getInitContainer(), XML_TAG_INIT).writeXML(document, element, parentPath, outputFolder);
+        ContainerWriter.of(this.userPath.getInitContainer(), XML_TAG_INIT).writeXML(document, element, parentPath, output);
 
         // write actions-container
-        ContainerWriter.of(this.userPath.getActionsContainer(), XML_TAG_ACTIONS).writeXML(document, element, parentPath, outputFolder);
+        ContainerWriter.of(this.userPath.getActionsContainer(), XML_TAG_ACTIONS).writeXML(document, element, parentPath, output);
 
         // write end-container
-        ContainerWriter.of(this.userPath.getEndContainer(), XML_TAG_END).writeXML(document, element, parentPath, outputFolder);
+        ContainerWriter.of(this.userPath.getEndContainer(), XML_TAG_END).writeXML(document, element, parentPath, output);
+    }
+
+    @Override
+    public void writeXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException {
+        final ContainerWriter initWriter = ContainerWriter.of(this.userPath.getInitContainer(), XML_TAG_INIT);
+        final ContainerWriter actionsWriter = ContainerWriter.of(this.userPath.getActionsContainer(), XML_TAG_ACTIONS);
+        final ContainerWriter endWriter = ContainerWriter.of(this.userPath.getEndContainer(), XML_TAG_END);
+
+        writer.writeStartElement(XML_TAG_NAME);
+        writer.writeAttribute(XML_USERPATH_NAME_ATTR, this.userPath.getName());
+        super.writeDescription(writer);
+        initWriter.writeContainerXML(writer, parentPath);
+        actionsWriter.writeContainerXML(writer, parentPath);
+        endWriter.writeContainerXML(writer, parentPath);
+        writer.writeEndElement();
+
+        // the elements of the containers are written after the virtual user, at the repository level
+        initWriter.writeChildsXML(writer, parentPath, output);
+        actionsWriter.writeChildsXML(writer, parentPath, output);
+        endWriter.writeChildsXML(writer, parentPath, output);
     }
     
 }
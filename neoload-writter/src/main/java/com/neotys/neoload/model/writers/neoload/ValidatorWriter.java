@@ -2,6 +2,9 @@ package com.neotys.neoload.model.writers.neoload;
 
 import com.neotys.neoload.model.repository.RegexpValidator;
 import com.neotys.neoload.model.repository.TextValidator;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -15,12 +18,20 @@ public abstract class ValidatorWriter {
 
     public abstract void writeXML(final Document document, final Element currentElement);
 
+    public abstract void writeXML(final XMLStreamWriter writer) throws XMLStreamException;
+
     public void writeXML(final Element currentElement, Validator validator) {
         currentElement.setAttribute(XML_ATTR_NAME, validator.getName());
         currentElement.setAttribute(XML_ATTR_NOT_TYPE, Boolean.toString(!validator.getHaveToContains()));
         currentElement.setAttribute(XML_ATTR_XPATH, "false");
     }
 
+    public void writeAttributes(final XMLStreamWriter writer, Validator validator) throws XMLStreamException {
+        writer.writeAttribute(XML_ATTR_NAME, validator.getName());
+        writer.writeAttribute(XML_ATTR_NOT_TYPE, Boolean.toString(!validator.getHaveToContains()));
+        writer.writeAttribute(XML_ATTR_XPATH, "false");
+    }
+
     public static ValidatorWriter getWriterFor(Validator validator) {
         if(validator instanceof RegexpValidator) return RegexpValidatorWriter.of((RegexpValidator)validator);
         if(validator instanceof TextValidator) return TextValidatorWriter.of((TextValidator)validator);
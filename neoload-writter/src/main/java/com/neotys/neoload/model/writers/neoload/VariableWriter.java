@@ -4,6 +4,9 @@ import com.neotys.neoload.model.repository.FileVariable;
 import com.neotys.neoload.model.repository.Variable;
 import org.w3c.dom.Document;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 
 public abstract class VariableWriter {
 
@@ -48,7 +51,9 @@ public abstract class VariableWriter {
 		}
 	}
 
-    public abstract void writeXML(final Document document, final org.w3c.dom.Element currentElement, final String outputFolder);
+    public abstract void writeXML(final Document document, final org.w3c.dom.Element currentElement, final OutputSink output);
+
+    public abstract void writeXML(final XMLStreamWriter writer, final OutputSink output) throws XMLStreamException;
 
 	public void writeXML(final org.w3c.dom.Element currentElement) {
     	currentElement.setAttribute(XML_ATTR_NAME, variable.getName());
@@ -58,4 +63,16 @@ public abstract class VariableWriter {
 		variable.getNoValuesLeftBehavior().ifPresent(variableNoValuesLeftBehavior ->currentElement.setAttribute(XML_ATTR_WHEN_OUT_OF_VALUE, getWhenOutOfValuesCode(variableNoValuesLeftBehavior)));
 
 	}
+
+	public void writeAttributes(final XMLStreamWriter writer) throws XMLStreamException {
+		writer.writeAttribute(XML_ATTR_NAME, variable.getName());
+		if (variable.getOrder().isPresent()) {
+			writer.writeAttribute(XML_ATTR_ORDER, Integer.toString(variable.getOrder().get() == FileVariable.VariableOrder.SEQUENTIAL ? 1 : 2));
+		}
+		writer.writeAttribute(XML_ATTR_POLICY, Integer.toString(getPolicyCode(variable.getPolicy())));
+		writer.writeAttribute(XML_ATTR_RANGE, Integer.toString(getScopeCode(variable.getScope())));
+		if (variable.getNoValuesLeftBehavior().isPresent()) {
+			writer.writeAttribute(XML_ATTR_WHEN_OUT_OF_VALUE, getWhenOutOfValuesCode(variable.getNoValuesLeftBehavior().get()));
+		}
+	}
 }
@@ -0,0 +1,75 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Writer factories keyed by model type.
+ * The factory of a model class is resolved once from the registered types, walking its super types from the most
+ * specific to the most generic one, then cached: the lookup of a writer does not use reflection nor allocate.
+ * @param <M> the model type (element or variable)
+ * @param <W> the writer type
+ */
+final class WriterRegistry<M, W> {
+
+	private final String kind;
+	private final Map<Class<?>, Function<M, ? extends W>> factories = new ConcurrentHashMap<>();
+	private volatile ClassValue<Function<M, ? extends W>> resolvedFactories = newCache();
+
+	WriterRegistry(final String kind) {
+		this.kind = kind;
+	}
+
+	/**
+	 * Register the factory of the writers of the given model type and of its sub types, replacing any previous one.
+	 */
+	<T extends M> void register(final Class<T> type, final Function<? super T, ? extends W> factory) {
+		factories.put(type, model -> factory.apply(type.cast(model)));
+		// resolutions made before the registration may be outdated
+		resolvedFactories = newCache();
+	}
+
+	/**
+	 * @throws IllegalArgumentException when no writer is registered for the type of the model.
+	 */
+	W writerFor(final M model) {
+		return resolvedFactories.get(model.getClass()).apply(model);
+	}
+
+	private ClassValue<Function<M, ? extends W>> newCache() {
+		return new ClassValue<Function<M, ? extends W>>() {
+			@Override
+			protected Function<M, ? extends W> computeValue(final Class<?> type) {
+				return resolve(type);
+			}
+		};
+	}
+
+	private Function<M, ? extends W> resolve(final Class<?> modelClass) {
+		// breadth first: a type is always visited before its super types
+		final Deque<Class<?>> toVisit = new ArrayDeque<>();
+		final Set<Class<?>> visited = new HashSet<>();
+		toVisit.add(modelClass);
+		while (!toVisit.isEmpty()) {
+			final Class<?> type = toVisit.poll();
+			if (!visited.add(type)) {
+				continue;
+			}
+			final Function<M, ? extends W> factory = factories.get(type);
+			if (factory != null) {
+				return factory;
+			}
+			if (type.getSuperclass() != null) {
+				toVisit.add(type.getSuperclass());
+			}
+			Collections.addAll(toVisit, type.getInterfaces());
+		}
+		throw new IllegalArgumentException("No " + kind + " writer registered for " + modelClass.getName());
+	}
+}
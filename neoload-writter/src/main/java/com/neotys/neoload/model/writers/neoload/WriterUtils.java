@@ -1,53 +1,92 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import com.google.common.hash.Hashing;
 import com.neotys.neoload.model.core.Element;
+import com.neotys.neoload.model.repository.AddCookie;
+import com.neotys.neoload.model.repository.ClearCache;
+import com.neotys.neoload.model.repository.ClearCookies;
+import com.neotys.neoload.model.repository.ConstantVariable;
+import com.neotys.neoload.model.repository.Container;
+import com.neotys.neoload.model.repository.CounterNumberVariable;
+import com.neotys.neoload.model.repository.Delay;
+import com.neotys.neoload.model.repository.FileVariable;
+import com.neotys.neoload.model.repository.GetPlainRequest;
+import com.neotys.neoload.model.repository.Javascript;
+import com.neotys.neoload.model.repository.Page;
+import com.neotys.neoload.model.repository.PostBinaryRequest;
+import com.neotys.neoload.model.repository.PostFormRequest;
+import com.neotys.neoload.model.repository.PostTextRequest;
+import com.neotys.neoload.model.repository.RandomNumberVariable;
+import com.neotys.neoload.model.repository.UserPath;
 import com.neotys.neoload.model.repository.Variable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 
-import java.lang.reflect.Constructor;
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.function.Function;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 public class WriterUtils {
 	
 	public static final String WEIGHTED_ACTION_XML_TAG_NAME = "weighted-embedded-action";
 	public static final String EMBEDDED_ACTION_XML_TAG_NAME = "embedded-action";
 	public static final String XML_UID_NAME_ATTR = "uid";
-	public static final String IMMUTABLE = "Immutable";
-	
-    static Logger logger = LoggerFactory.getLogger(NeoLoadWriter.class);
+
+    private static final WriterRegistry<Element, ElementWriter> ELEMENT_WRITERS = new WriterRegistry<>("element");
+    private static final WriterRegistry<Variable, VariableWriter> VARIABLE_WRITERS = new WriterRegistry<>("variable");
+
+    static {
+        registerElementWriter(UserPath.class, UserPathWriter::new);
+        registerElementWriter(Container.class, ContainerWriter::new);
+        registerElementWriter(Page.class, PageWriter::new);
+        registerElementWriter(GetPlainRequest.class, GetPlainRequestWriter::new);
+        registerElementWriter(PostFormRequest.class, PostFormRequestWriter::new);
+        registerElementWriter(PostTextRequest.class, PostTextRequestWriter::new);
+        registerElementWriter(PostBinaryRequest.class, PostBinaryRequestWriter::new);
+        registerElementWriter(Delay.class, DelayWriter::new);
+        registerElementWriter(Javascript.class, JavascriptWriter::new);
+        registerElementWriter(AddCookie.class, AddCookieWriter::new);
+        registerElementWriter(ClearCache.class, ClearCacheWriter::new);
+        registerElementWriter(ClearCookies.class, ClearCookiesWriter::new);
+
+        registerVariableWriter(FileVariable.class, FileVariableWriter::new);
+        registerVariableWriter(ConstantVariable.class, ConstantVariableWriter::new);
+        registerVariableWriter(CounterNumberVariable.class, CounterNumberVariableWriter::new);
+        registerVariableWriter(RandomNumberVariable.class, RandomNumberVariableWriter::new);
+    }
 
     private WriterUtils() {}
 
+    /**
+     * Register the writer of an element type, it is also used for the sub types which have no writer of their own.
+     * @param elementType the model interface of the element
+     * @param writerFactory creates the writer of an element
+     */
+    public static <T extends Element> void registerElementWriter(final Class<T> elementType, final Function<? super T, ? extends ElementWriter> writerFactory) {
+        ELEMENT_WRITERS.register(elementType, writerFactory);
+    }
+
+    /**
+     * Register the writer of a variable type, it is also used for the sub types which have no writer of their own.
+     * @param variableType the model interface of the variable
+     * @param writerFactory creates the writer of a variable
+     */
+    public static <T extends Variable> void registerVariableWriter(final Class<T> variableType, final Function<? super T, ? extends VariableWriter> writerFactory) {
+        VARIABLE_WRITERS.register(variableType, writerFactory);
+    }
+
+    /**
+     * @throws IllegalArgumentException when there is no writer for the type of the element.
+     */
     public static ElementWriter getWriterFor(Element element) {
-        String elementClassName = element.getClass().getSimpleName();
-        if(elementClassName.startsWith(IMMUTABLE)) elementClassName = elementClassName.substring(IMMUTABLE.length());
-        Class writerClass;
-        try {
-            writerClass = Class.forName("com.neotys.neoload.model.writers.neoload."+elementClassName+"Writer");
-            Constructor<?> constructor = writerClass.getConstructor(Class.forName("com.neotys.neoload.model.repository." + elementClassName));
-            return (ElementWriter)constructor.newInstance(element);
-        } catch (Exception e) {
-            logger.error("Cannot instanciate Element writer:" + elementClassName + "/" + element.getName(),e);
-        }
-        return null;
+        return ELEMENT_WRITERS.writerFor(element);
     }
 
+    /**
+     * @throws IllegalArgumentException when there is no writer for the type of the variable.
+     */
     public static VariableWriter getWriterFor(Variable variable) {
-        String variableClassName = variable.getClass().getSimpleName();
-        if(variableClassName.startsWith(IMMUTABLE)) variableClassName = variableClassName.substring(IMMUTABLE.length());
-        Class writerClass;
-        try {
-            writerClass = Class.forName("com.neotys.neoload.model.writers.neoload."+variableClassName+"Writer");
-            Constructor<?> constructor = writerClass.getConstructor(Class.forName("com.neotys.neoload.model.repository." + variableClassName));
-            return (VariableWriter) constructor.newInstance(variable);
-        } catch (Exception e) {
-            logger.error("Cannot instanciate Variable writer:" + variableClassName + "/" + variable.getName(),e);
-        }
-        return null;
+        return VARIABLE_WRITERS.writerFor(variable);
     }
 
     public static void generateEmbeddedAction(final Document document, final org.w3c.dom.Element parentXmlElement,
@@ -62,7 +101,19 @@ public class WriterUtils {
     
     public static void generateEmbeddedAction(final Document document, final org.w3c.dom.Element parentXmlElement,
     		Element modelElem, String parentPath, Optional<String> embeddedActionName, boolean uidAsAttributes){
-        String uid = Hashing.sha256().hashString(parentPath+"/"+modelElem.getName(), StandardCharsets.UTF_8).toString();
+    	generateEmbeddedAction(document, parentXmlElement, ElementUids.uid(parentPath, modelElem.getName()), embeddedActionName, uidAsAttributes);
+    }
+
+    /**
+     * Generate the embedded action referencing the element of childWriter, reusing the uid it writes in the element.
+     */
+    static void generateEmbeddedAction(final Document document, final org.w3c.dom.Element parentXmlElement,
+    		ElementWriter childWriter, String parentPath, Optional<String> embeddedActionName, boolean uidAsAttributes){
+    	generateEmbeddedAction(document, parentXmlElement, childWriter.uid(parentPath), embeddedActionName, uidAsAttributes);
+    }
+
+    private static void generateEmbeddedAction(final Document document, final org.w3c.dom.Element parentXmlElement,
+    		String uid, Optional<String> embeddedActionName, boolean uidAsAttributes){
     	org.w3c.dom.Element newElem = document.createElement(embeddedActionName.orElse(EMBEDDED_ACTION_XML_TAG_NAME));
     	if (uidAsAttributes) {
     		newElem.setAttribute(XML_UID_NAME_ATTR, uid);
@@ -72,4 +123,33 @@ public class WriterUtils {
     	parentXmlElement.appendChild(newElem);
     }
 
+    public static void generateEmbeddedAction(final XMLStreamWriter writer, Element modelElem, String parentPath) throws XMLStreamException {
+    	generateEmbeddedAction(writer, modelElem, parentPath, Optional.empty(), false);
+    }
+
+    public static void generateEmbeddedAction(final XMLStreamWriter writer, Element modelElem, String parentPath,
+    		Optional<String> embeddedActionName, boolean uidAsAttributes) throws XMLStreamException {
+    	generateEmbeddedAction(writer, ElementUids.uid(parentPath, modelElem.getName()), embeddedActionName, uidAsAttributes);
+    }
+
+    /**
+     * Generate the embedded action referencing the element of childWriter, reusing the uid it writes in the element.
+     */
+    static void generateEmbeddedAction(final XMLStreamWriter writer, ElementWriter childWriter, String parentPath,
+    		Optional<String> embeddedActionName, boolean uidAsAttributes) throws XMLStreamException {
+    	generateEmbeddedAction(writer, childWriter.uid(parentPath), embeddedActionName, uidAsAttributes);
+    }
+
+    private static void generateEmbeddedAction(final XMLStreamWriter writer, String uid,
+    		Optional<String> embeddedActionName, boolean uidAsAttributes) throws XMLStreamException {
+        if (uidAsAttributes) {
+        	writer.writeEmptyElement(embeddedActionName.orElse(EMBEDDED_ACTION_XML_TAG_NAME));
+        	writer.writeAttribute(XML_UID_NAME_ATTR, uid);
+        } else {
+        	writer.writeStartElement(embeddedActionName.orElse(EMBEDDED_ACTION_XML_TAG_NAME));
+        	writer.writeCharacters(uid);
+        	writer.writeEndElement();
+        }
+    }
+
 }
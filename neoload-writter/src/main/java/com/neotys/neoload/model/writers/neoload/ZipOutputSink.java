@@ -0,0 +1,139 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the files of the project as the entries of a single zip archive, complete once the sink is closed.
+ * The entries of an archive being written one after the other, a file is streamed to the archive when no other file
+ * is being written, and otherwise kept in memory until it is complete and the archive is free: a file should not be
+ * kept open while many others are written. A file can be written only once.
+ * Thread safe: only the stream of the file being streamed writes to the archive, the files kept in memory are written
+ * to it under the lock of the sink.
+ */
+public final class ZipOutputSink implements OutputSink {
+
+	private final ZipOutputStream zip;
+	private final Set<String> paths = new HashSet<>();
+	// files complete while another one was streamed to the archive
+	private final Queue<Map.Entry<String, byte[]>> pendingFiles = new ArrayDeque<>();
+	private boolean streaming;
+
+	private ZipOutputSink(final OutputStream out) {
+		this.zip = new ZipOutputStream(out);
+	}
+
+	/**
+	 * @param out where the archive is written, closed with the sink.
+	 */
+	public static ZipOutputSink of(final OutputStream out) {
+		return new ZipOutputSink(out);
+	}
+
+	@Override
+	public synchronized OutputStream newOutputStream(final String path) throws IOException {
+		if (!paths.add(path)) {
+			throw new FileAlreadyExistsException(path);
+		}
+		if (streaming) {
+			return new ByteArrayOutputStream() {
+				private boolean closed;
+
+				@Override
+				public void close() throws IOException {
+					if (!closed) {
+						closed = true;
+						addPendingFile(path, toByteArray());
+					}
+				}
+			};
+		}
+		zip.putNextEntry(new ZipEntry(path));
+		streaming = true;
+		return new FilterOutputStream(zip) {
+			private boolean closed;
+
+			@Override
+			public void write(final byte[] b, final int off, final int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			@Override
+			public void flush() {
+				// the archive is flushed when it is closed
+			}
+
+			@Override
+			public void close() throws IOException {
+				if (!closed) {
+					closed = true;
+					closeEntry();
+				}
+			}
+		};
+	}
+
+	@Override
+	public boolean isSequential() {
+		return true;
+	}
+
+	/**
+	 * Copies are written one at a time so that they are streamed to the archive rather than kept in memory.
+	 */
+	@Override
+	public synchronized boolean copy(final Path source, final String path) throws IOException {
+		return OutputSink.super.copy(source, path);
+	}
+
+	@Override
+	public synchronized boolean exists(final String path) {
+		return paths.contains(path);
+	}
+
+	private synchronized void closeEntry() throws IOException {
+		zip.closeEntry();
+		streaming = false;
+		writePendingFiles();
+	}
+
+	private synchronized void addPendingFile(final String path, final byte[] content) throws IOException {
+		pendingFiles.add(new AbstractMap.SimpleImmutableEntry<>(path, content));
+		if (!streaming) {
+			writePendingFiles();
+		}
+	}
+
+	private void writePendingFiles() throws IOException {
+		Map.Entry<String, byte[]> file;
+		while ((file = pendingFiles.poll()) != null) {
+			zip.putNextEntry(new ZipEntry(file.getKey()));
+			zip.write(file.getValue());
+			zip.closeEntry();
+		}
+	}
+
+	/**
+	 * Write the files still in memory and finish the archive.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (streaming) {
+			closeEntry();
+		}
+		writePendingFiles();
+		zip.close();
+	}
+}
@@ -1,6 +1,7 @@
 package com.neotys.neoload.model.writers.neoload;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 import org.assertj.core.api.Assertions;
@@ -8,19 +9,18 @@ import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import com.google.common.io.Files;
 import com.neotys.neoload.model.repository.AddCookie;
 import com.neotys.neoload.model.repository.ImmutableAddCookie;
 public class AddCookieWriterTest {
 
 	@Test
-	public void writeAddCookieXmlTest() throws ParserConfigurationException, TransformerException {
+	public void writeAddCookieXmlTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		Document doc = WrittingTestUtils.generateEmptyDocument();
 		Element root = WrittingTestUtils.generateTestRootElement(doc);
 
 		final AddCookie addCookie = ImmutableAddCookie.builder().name("setCookieForServer cookieName").cookieName("cookieName").cookieValue("cookieValue").domain("cookieDomain").expires("Thu, 2 Aug 2007 20:47:11 UTC").path("cookiePath").build();
 
-		AddCookieWriter.of(addCookie).writeXML(doc, root, "setCookieForServer cookieName", Files.createTempDir().getAbsolutePath());
+		AddCookieWriter.of(addCookie).writeXML(doc, root, "setCookieForServer cookieName", new InMemoryOutputSink());
 		String generatedResult = WrittingTestUtils.getXmlString(doc);
 		final String timestamp = generatedResult.substring(generatedResult.indexOf("ts=") + 4, generatedResult.indexOf("ts=") + 17);
 		final String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -29,6 +29,7 @@ public class AddCookieWriterTest {
 				+ "uid=\"8683a380b497cad6ceaa8d0032953c4009beb719df7cff5b04672326641ef361\"/></test-root>";
 
 		Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> AddCookieWriter.of(addCookie).writeXML(writer, "setCookieForServer cookieName", new InMemoryOutputSink())).replaceAll("ts=\"\\d+\"", "ts=\"" + timestamp + "\""));
 	}
 		
 	@Test
@@ -1,6 +1,5 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import com.google.common.io.Files;
 import com.neotys.neoload.model.repository.ConstantVariable;
 import com.neotys.neoload.model.repository.ImmutableConstantVariable;
 import com.neotys.neoload.model.repository.Variable;
@@ -9,6 +8,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 import static org.junit.Assert.assertEquals;
@@ -27,7 +27,7 @@ public class ConstantVariableWriterTest {
 	
 	
 	@Test
-	public void writeXmlCounterTest() throws ParserConfigurationException, TransformerException{
+	public void writeXmlCounterTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -37,10 +37,11 @@ public class ConstantVariableWriterTest {
     			"<description>Test desc</description>" + 
     			"</variable-constant></test-root>";
     	
-    	(new ConstantVariableWriter(CONST)).writeXML(doc, root, Files.createTempDir().getAbsolutePath());
+    	(new ConstantVariableWriter(CONST)).writeXML(doc, root, new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	assertEquals(expectedResult, generatedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new ConstantVariableWriter(CONST).writeXML(writer, new InMemoryOutputSink())));
 	}
 
 }
@@ -1,18 +1,18 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import com.google.common.io.Files;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 public class ContainerWriterTest {
 	
 	@Test
-    public void writeContainerXmlWithOnePageTest() throws ParserConfigurationException, TransformerException {
+    public void writeContainerXmlWithOnePageTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -28,10 +28,11 @@ public class ContainerWriterTest {
     			+ "uid=\"575b0aed5cea8b6ddcdd8c64297d34298f6c855096b615e30f223c69519409eb\"/>"
     			+ "</test-root>";
 
-    	ContainerWriter.of(WrittingTestUtils.CONTAINER_TEST).writeXML(doc, root, "ContainerPath", Files.createTempDir().getAbsolutePath());
+    	ContainerWriter.of(WrittingTestUtils.CONTAINER_TEST).writeXML(doc, root, "ContainerPath", new InMemoryOutputSink());
 
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ContainerWriter.of(WrittingTestUtils.CONTAINER_TEST).writeXML(writer, "ContainerPath", new InMemoryOutputSink())));
 
     }
 
@@ -1,6 +1,5 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import com.google.common.io.Files;
 import com.neotys.neoload.model.repository.Delay;
 import com.neotys.neoload.model.repository.ImmutableDelay;
 import org.assertj.core.api.Assertions;
@@ -9,12 +8,13 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 public class DelayWriterTest {
 	
 	@Test
-    public void writeDelayXmlTest() throws ParserConfigurationException, TransformerException {
+    public void writeDelayXmlTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -23,9 +23,10 @@ public class DelayWriterTest {
 
     	final Delay delay = ImmutableDelay.builder().name("myDelay").delay("1000").description("myDescription").build();
     			
-    	DelayWriter.of(delay).writeXML(doc, root, "delay", Files.createTempDir().getAbsolutePath());
+    	DelayWriter.of(delay).writeXML(doc, root, "delay", new InMemoryOutputSink());
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> DelayWriter.of(delay).writeXML(writer, "delay", new InMemoryOutputSink())));
 
     }
 
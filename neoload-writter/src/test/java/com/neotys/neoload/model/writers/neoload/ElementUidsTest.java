@@ -0,0 +1,28 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import com.google.common.hash.Hashing;
+import com.neotys.neoload.model.repository.ImmutableDelay;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ElementUidsTest {
+
+    @Test
+    public void uidIsTheHashOfThePathTest() {
+        final String expected = Hashing.sha256().hashString("UserPath/Actions/page \u00e9", StandardCharsets.UTF_8).toString();
+        assertThat(ElementUids.uid("UserPath/Actions", "page \u00e9")).isEqualTo(expected);
+        assertThat(ElementUids.path("UserPath", "Actions")).isEqualTo("UserPath/Actions");
+    }
+
+    @Test
+    public void uidIsHashedOncePerWriterTest() {
+        final ElementWriter writer = WriterUtils.getWriterFor(ImmutableDelay.builder().name("delay").delay("1000").build());
+        final String uid = writer.uid("UserPath/Actions");
+        assertThat(uid).isEqualTo(ElementUids.uid("UserPath/Actions", "delay"));
+        assertThat(writer.uid("UserPath/Actions")).isSameAs(uid);
+        assertThat(writer.uid("UserPath/Init")).isEqualTo(ElementUids.uid("UserPath/Init", "delay"));
+    }
+}
@@ -8,13 +8,14 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 public class ExtractorVariableTest {
 	
 	
 	@Test
-	public void writeXmlTestHeaders() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTestHeaders() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		VariableExtractor inputExtractor = ImmutableVariableExtractor.builder()
 				.name("webRegSaveParam_TEST")
 				.startExpression("left boundary")
@@ -42,10 +43,11 @@ public class ExtractorVariableTest {
 		ExtractorWriter.of(inputExtractor).writeXML(doc, root);
 		String generatedExtractor = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedExtractor).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ExtractorWriter.of(inputExtractor).writeXML(writer)));
 	}
 	
 	@Test
-	public void writeXmlTestBody() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTestBody() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		VariableExtractor inputExtractor = ImmutableVariableExtractor.builder()
 				.name("webRegSaveParam_TEST")
 				.startExpression("left boundary")
@@ -73,10 +75,11 @@ public class ExtractorVariableTest {
 		ExtractorWriter.of(inputExtractor).writeXML(doc, root);
 		String generatedExtractor = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedExtractor).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ExtractorWriter.of(inputExtractor).writeXML(writer)));
 	}
 	
 	@Test
-	public void writeXmlTestBoth() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTestBoth() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		VariableExtractor inputExtractor = ImmutableVariableExtractor.builder()
 				.name("webRegSaveParam_TEST")
 				.startExpression("left boundary")
@@ -105,10 +108,11 @@ public class ExtractorVariableTest {
 		ExtractorWriter.of(inputExtractor).writeXML(doc, root);
 		String generatedExtractor = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedExtractor).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ExtractorWriter.of(inputExtractor).writeXML(writer)));
 	}
 	
 	@Test
-	public void writeXmlTestRegexp() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTestRegexp() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		VariableExtractor inputExtractor = ImmutableVariableExtractor.builder()
 				.name("SecurityString")
 				.regExp("\"[A-Z0-9a-z\\\\+]+==\\|([0-9]+)\"\\];")		
@@ -134,10 +138,11 @@ public class ExtractorVariableTest {
 		ExtractorWriter.of(inputExtractor).writeXML(doc, root);
 		String generatedExtractor = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedExtractor).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ExtractorWriter.of(inputExtractor).writeXML(writer)));
 	}
 	
 	@Test
-	public void writeXmlTestXPath() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTestXPath() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		VariableExtractor inputExtractor = ImmutableVariableExtractor.builder()
 				.name("ExtractedVariable_0")
 				.xPath("myXPATH")
@@ -162,10 +167,11 @@ public class ExtractorVariableTest {
 		ExtractorWriter.of(inputExtractor).writeXML(doc, root);
 		String generatedExtractor = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedExtractor).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ExtractorWriter.of(inputExtractor).writeXML(writer)));
 	}
 	
 	@Test
-	public void writeXmlTestJsonPath() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTestJsonPath() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		VariableExtractor inputExtractor = ImmutableVariableExtractor.builder()
 				.name("ExtractedVariable_0")
 				.jsonPath("myJSONPath")
@@ -190,6 +196,7 @@ public class ExtractorVariableTest {
 		ExtractorWriter.of(inputExtractor).writeXML(doc, root);
 		String generatedExtractor = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedExtractor).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ExtractorWriter.of(inputExtractor).writeXML(writer)));
 	}
 	
 }
@@ -1,15 +1,20 @@
 package com.neotys.neoload.model.writers.neoload;
 
 import com.google.common.io.Files;
+import com.neotys.neoload.model.repository.FileVariableRows;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -18,7 +23,7 @@ import static org.junit.Assert.assertTrue;
 public class FileVariableWriterTest {
 	
 	@Test
-	public void writeXmlTest1() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTest1() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -29,15 +34,16 @@ public class FileVariableWriterTest {
     			+ "<column name=\"colonneTest\" number=\"0\"/>"
     			+ "</variable-file></test-root>";
     	
-    	(new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST)).writeXML(doc, root, Files.createTempDir().getAbsolutePath());
+    	(new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST)).writeXML(doc, root, new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	assertEquals(expectedResult, generatedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST).writeXML(writer, new InMemoryOutputSink())));
 	}
 	
 	
 	@Test
-	public void writeXmlTest2() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTest2() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -48,14 +54,15 @@ public class FileVariableWriterTest {
     			+ "<column name=\"colonneTest\" number=\"0\"/>"
     			+ "</variable-file></test-root>";
     	
-    	(new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST2)).writeXML(doc, root, Files.createTempDir().getAbsolutePath());
+    	(new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST2)).writeXML(doc, root, new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	assertEquals(expectedResult, generatedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST2).writeXML(writer, new InMemoryOutputSink())));
 	}
 	
 	@Test
-	public void writeXmlTest3() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTest3() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -66,10 +73,11 @@ public class FileVariableWriterTest {
     			+ "<column name=\"colonneTest\" number=\"0\"/>"
     			+ "</variable-file></test-root>";
     	
-    	(new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST3)).writeXML(doc, root, Files.createTempDir().getAbsolutePath());
+    	(new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST3)).writeXML(doc, root, new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	assertEquals(expectedResult, generatedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new FileVariableWriter(WrittingTestUtils.VARIABLE_TEST3).writeXML(writer, new InMemoryOutputSink())));
 	}
 	
 	@Test
@@ -84,7 +92,7 @@ public class FileVariableWriterTest {
 		};
 		
 		File tmpDir = Files.createTempDir();
-		String fileName = FileVariableWriter.dumpDataInFile(tmpDir, "variable_name", columns, ",", theData);
+		String fileName = FileVariableWriter.dumpDataInFile(FileSystemOutputSink.of(tmpDir), "variable_name", columns, ",", theData);
 		
         assertTrue(new File(tmpDir,fileName).exists());
 		
@@ -103,4 +111,35 @@ public class FileVariableWriterTest {
 		String fileName = FileVariableWriter.dumpDataInFile(null, "variable_name", columns, ",", theData);
 		assertTrue(fileName == null);
 	}
+
+	@Test
+	public void dumpRowsInFileTest() throws IOException {
+		List<String> columns = new ArrayList<>();
+		columns.add("index");
+		columns.add("square");
+		// generated while written, never held in memory
+		FileVariableRows rows = () -> IntStream.range(0, 100_000).mapToObj(i -> new String[]{Integer.toString(i), Long.toString((long) i * i)});
+
+		File tmpDir = Files.createTempDir();
+		String fileName = FileVariableWriter.dumpDataInFile(FileSystemOutputSink.of(tmpDir), "variable_name", columns, ";", rows);
+
+		List<String> lines = Files.readLines(new File(tmpDir, fileName), StandardCharsets.UTF_8);
+		assertEquals(100_001, lines.size());
+		assertEquals("index;square", lines.get(0));
+		assertEquals("99999;9999800001", lines.get(100_000));
+	}
+
+	@Test
+	public void dumpDataInMemoryTest() {
+		List<String> columns = new ArrayList<>();
+		columns.add("col_name_1");
+		String[][] theData = {{"val 1"}, {"val 2"}};
+
+		InMemoryOutputSink output = new InMemoryOutputSink();
+		FileVariableWriter.dumpDataInFile(output, "variable_name", columns, ",", theData);
+		FileVariableWriter.dumpDataInFile(output, "variable_name", columns, ",", theData);
+
+		assertEquals("[variables/Variable_variable_name1.csv, variables/Variable_variable_name2.csv]", output.getFiles().keySet().toString());
+		assertEquals("col_name_1\nval 1\nval 2\n", new String(output.getFile("variables/Variable_variable_name2.csv").get(), StandardCharsets.UTF_8));
+	}
 }
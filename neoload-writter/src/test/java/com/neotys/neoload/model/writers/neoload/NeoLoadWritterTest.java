@@ -1,16 +1,27 @@
 package com.neotys.neoload.model.writers.neoload;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.neotys.neoload.model.ImmutableProject;
 import com.neotys.neoload.model.repository.*;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -100,5 +111,181 @@ public class NeoLoadWritterTest {
         assertThat(new File(tmpDirDest.getAbsolutePath() + File.separator + "Test project" + File.separator + "variables" ,"file1")).exists();
         assertThat(new File(tmpDirDest.getAbsolutePath() + File.separator + "Test project" + File.separator + "variables" ,"file2")).exists();
     }
-    
+
+    @Test
+    public void copyDataFilesTest() throws IOException {
+        File tmpDirSrc = Files.createTempDir();
+        File tmpDirDest = Files.createTempDir();
+        File file1 = new File(tmpDirSrc, "file1");
+        File file2 = new File(tmpDirSrc, "file2");
+        Files.write("a;b\n".getBytes(), file1);
+        Files.write("c;d\ne;f\n".getBytes(), file2);
+        Map<String, List<File>> fileMap = new HashMap<>();
+        List<File> filelst = new ArrayList<>();
+        filelst.add(file1);
+        filelst.add(file2);
+        fileMap.put("variables", filelst);
+        ImmutableProject project = ImmutableProject.builder()
+                .name("Test project")
+                .addUserPaths(getUserPath("MyPath"))
+                .build();
+        final String nlProjectFolder = tmpDirDest.getPath() + File.separator + project.getName();
+        final long[] copies = new long[3];
+        final DataFilesCopyListener listener = (copiedFiles, skippedFiles, copiedBytes, durationInMillis) -> {
+            copies[0] = copiedFiles;
+            copies[1] = skippedFiles;
+            copies[2] = copiedBytes;
+        };
+        final File variablesFolder = new File(nlProjectFolder, "variables");
+
+        new NeoLoadWriter(project, nlProjectFolder, fileMap, ImmutableNeoLoadWriterOptions.builder().dataFilesCopyListener(listener).build()).write();
+        assertThat(copies).containsExactly(2, 0, 12);
+        assertThat(Files.toByteArray(new File(variablesFolder, "file1"))).isEqualTo(Files.toByteArray(file1));
+        assertThat(Files.toByteArray(new File(variablesFolder, "file2"))).isEqualTo(Files.toByteArray(file2));
+
+        // the files already copied are not copied again
+        new NeoLoadWriter(project, nlProjectFolder, fileMap, ImmutableNeoLoadWriterOptions.builder().dataFilesCopyListener(listener).build()).write();
+        assertThat(copies).containsExactly(0, 2, 0);
+
+        // a replaced file is copied again
+        java.nio.file.Files.delete(file2.toPath());
+        Files.write("g;h\n".getBytes(), file2);
+        new NeoLoadWriter(project, nlProjectFolder, fileMap, ImmutableNeoLoadWriterOptions.builder().dataFilesCopyListener(listener).build()).write();
+        assertThat(copies).containsExactly(1, 1, 4);
+        assertThat(Files.toByteArray(new File(variablesFolder, "file2"))).isEqualTo("g;h\n".getBytes());
+    }
+
+    @Test
+    public void copyDataFilesWithSameNameTest() throws IOException {
+        File tmpDirSrc = Files.createTempDir();
+        File tmpDirDest = Files.createTempDir();
+        File file1 = new File(new File(tmpDirSrc, "script1"), "data.dat");
+        File file2 = new File(new File(tmpDirSrc, "script2"), "data.dat");
+        Files.createParentDirs(file1);
+        Files.createParentDirs(file2);
+        Files.write("a;b\n".getBytes(), file1);
+        Files.write("c;d\ne;f\n".getBytes(), file2);
+        ImmutableProject project = ImmutableProject.builder()
+                .name("Test project")
+                .addUserPaths(getUserPath("MyPath"))
+                .build();
+        final String nlProjectFolder = tmpDirDest.getPath() + File.separator + project.getName();
+        final long[] copies = new long[3];
+        final DataFilesCopyListener listener = (copiedFiles, skippedFiles, copiedBytes, durationInMillis) -> {
+            copies[0] = copiedFiles;
+            copies[1] = skippedFiles;
+            copies[2] = copiedBytes;
+        };
+        final File copy = new File(new File(nlProjectFolder, "variables"), "data.dat");
+
+        // only the first file of a name is copied
+        new NeoLoadWriter(project, nlProjectFolder, Collections.singletonMap("variables", Arrays.asList(file1, file2)), ImmutableNeoLoadWriterOptions.builder().dataFilesCopyListener(listener).build()).write();
+        assertThat(copies).containsExactly(1, 0, 4);
+        assertThat(Files.toByteArray(copy)).isEqualTo("a;b\n".getBytes());
+
+        // the copy is replaced, never written, so that the file it may be linked to is left unchanged
+        new NeoLoadWriter(project, nlProjectFolder, Collections.singletonMap("variables", Collections.singletonList(file2)), ImmutableNeoLoadWriterOptions.builder().dataFilesCopyListener(listener).build()).write();
+        assertThat(copies).containsExactly(1, 0, 8);
+        assertThat(Files.toByteArray(copy)).isEqualTo("c;d\ne;f\n".getBytes());
+        assertThat(Files.toByteArray(file1)).isEqualTo("a;b\n".getBytes());
+        assertThat(copy.getParentFile().list()).containsExactly("data.dat");
+    }
+
+    @Test
+    public void configZipTest() throws IOException {
+        ImmutableProject project = ImmutableProject.builder()
+                .name("Test project")
+                .addUserPaths(getUserPath("MyPath"))
+                .build();
+        File tmpDir = Files.createTempDir();
+        final File compressedFolder = new File(tmpDir, "compressed");
+        final File storedFolder = new File(tmpDir, "stored");
+        new NeoLoadWriter(project, compressedFolder.getPath(), null).write();
+        new NeoLoadWriter(project, storedFolder.getPath(), null, ImmutableNeoLoadWriterOptions.builder().streamRepository(true).configZipLevel(Deflater.NO_COMPRESSION).build()).write();
+
+        final Map<String, byte[]> compressedEntries = readEntries(new File(compressedFolder, "config.zip"));
+        assertThat(compressedEntries.keySet()).containsExactly("repository.xml", "scenario.xml", "settings.xml");
+        assertThat(readEntries(new File(storedFolder, "config.zip")).keySet()).containsExactly("repository.xml", "scenario.xml", "settings.xml");
+        assertThat(compressedEntries.get("scenario.xml")).isEqualTo(ByteStreams.toByteArray(NeoLoadWriter.class.getResourceAsStream("scenario.xml")));
+        assertThat(new String(compressedEntries.get("repository.xml"), StandardCharsets.UTF_8)).contains("MyPath");
+        assertThat(new File(compressedFolder, "config.zip").length()).isLessThan(new File(storedFolder, "config.zip").length());
+        // the config files are not left in the project folder
+        assertThat(new File(compressedFolder, "repository.xml")).doesNotExist();
+        assertThat(new File(storedFolder, "settings.xml")).doesNotExist();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidConfigZipLevelTest() {
+        ImmutableNeoLoadWriterOptions.builder().configZipLevel(10).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void userPathsExecutorWithoutStreamedRepositoryTest() {
+        ImmutableNeoLoadWriterOptions.builder().userPathsExecutor(MoreExecutors.newDirectExecutorService()).parallelUserPaths(1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void userPathsExecutorWithoutParallelUserPathsTest() {
+        ImmutableNeoLoadWriterOptions.builder().streamRepository(true).userPathsExecutor(MoreExecutors.newDirectExecutorService()).build();
+    }
+
+    @Test
+    public void writeProjectInMemoryTest() throws IOException {
+        File tmpDirSrc = Files.createTempDir();
+        File file1 = new File(tmpDirSrc, "file1");
+        Files.write("a;b\n".getBytes(), file1);
+        Map<String, List<File>> fileMap = new HashMap<>();
+        fileMap.put("variables", Collections.singletonList(file1));
+        ImmutableProject project = ImmutableProject.builder()
+                .name("Test project")
+                .addUserPaths(getUserPath("MyPath"))
+                .build();
+
+        InMemoryOutputSink output = new InMemoryOutputSink();
+        new NeoLoadWriter(project, output, fileMap, ImmutableNeoLoadWriterOptions.builder().streamRepository(true).build()).write();
+        assertThat(output.getFiles().keySet()).containsExactly("Test project.nlp", "config.zip", "variables/file1");
+        assertThat(output.getFile("variables/file1").get()).isEqualTo("a;b\n".getBytes());
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputSink zipOutput = ZipOutputSink.of(archive)) {
+            new NeoLoadWriter(project, zipOutput, fileMap, ImmutableNeoLoadWriterOptions.builder().streamRepository(true).build()).write();
+        }
+        assertThat(ZipOutputSinkTest.readEntries(archive.toByteArray()).keySet()).containsExactly("variables/file1", "config.zip", "Test project.nlp");
+    }
+
+    @Test
+    public void writeConfigZipAfterUserPathFilesTest() throws IOException {
+        ImmutableProject project = ImmutableProject.builder()
+                .name("Test project")
+                .addUserPaths(ImmutableUserPath.builder()
+                        .name("MyPath")
+                        .initContainer(getContainer("Init"))
+                        .actionsContainer(ImmutableContainer.builder()
+                                .name("Actions")
+                                .addChilds(ImmutableClearCache.builder().name("web_cache_cleanup").build())
+                                .build())
+                        .endContainer(getContainer("End"))
+                        .build())
+                .build();
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputSink zipOutput = ZipOutputSink.of(archive)) {
+            new NeoLoadWriter(project, zipOutput, null, ImmutableNeoLoadWriterOptions.builder().streamRepository(true).build()).write();
+        }
+        // the script is written while config.zip is written, config.zip is copied after it
+        List<String> entries = new ArrayList<>(ZipOutputSinkTest.readEntries(archive.toByteArray()).keySet());
+        assertThat(entries).hasSize(3).endsWith("config.zip", "Test project.nlp");
+        assertThat(entries.get(0)).startsWith("scripts/jsAction_");
+    }
+
+    private static Map<String, byte[]> readEntries(final File zipFile) throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new FileInputStream(zipFile))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), ByteStreams.toByteArray(zip));
+            }
+        }
+        return entries;
+    }
 }
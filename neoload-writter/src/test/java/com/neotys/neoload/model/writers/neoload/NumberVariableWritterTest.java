@@ -1,12 +1,12 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import com.google.common.io.Files;
 import com.neotys.neoload.model.repository.*;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 import static org.junit.Assert.assertEquals;
@@ -25,7 +25,7 @@ public class NumberVariableWritterTest {
 			.build(); 
 	
 	@Test
-	public void writeXmlCounterTest() throws ParserConfigurationException, TransformerException{
+	public void writeXmlCounterTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -33,10 +33,11 @@ public class NumberVariableWritterTest {
     			+ "policy=\"1\" range=\"1\" starting=\"1\" " 
     			+ "whenOutOfValues=\"CYCLE_VALUES\"/></test-root>";
     	
-    	(new CounterNumberVariableWriter(COUNTER)).writeXML(doc, root, Files.createTempDir().getAbsolutePath());
+    	(new CounterNumberVariableWriter(COUNTER)).writeXML(doc, root, new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	assertEquals(expectedResult, generatedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new CounterNumberVariableWriter(COUNTER).writeXML(writer, new InMemoryOutputSink())));
 	}
 	
 	public static final RandomNumberVariable RANDOM = ImmutableRandomNumberVariable.builder()
@@ -48,7 +49,7 @@ public class NumberVariableWritterTest {
 			.build(); 
 	
 	@Test
-	public void writeXmlRandomTest() throws ParserConfigurationException, TransformerException{
+	public void writeXmlRandomTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -56,9 +57,10 @@ public class NumberVariableWritterTest {
     			+ "name=\"NumberRandomVariable_1\" policy=\"1\" "
     			+ "range=\"3\"/></test-root>";
     	
-    	(new RandomNumberVariableWriter(RANDOM)).writeXML(doc, root, Files.createTempDir().getAbsolutePath());
+    	(new RandomNumberVariableWriter(RANDOM)).writeXML(doc, root, new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	assertEquals(expectedResult, generatedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new RandomNumberVariableWriter(RANDOM).writeXML(writer, new InMemoryOutputSink())));
 	}
 }
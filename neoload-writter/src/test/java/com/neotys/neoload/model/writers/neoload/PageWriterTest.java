@@ -1,18 +1,18 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import com.google.common.io.Files;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 public class PageWriterTest {
 
 	@Test
-    public void writePageXmlWithOneRequestTest() throws ParserConfigurationException, TransformerException {
+    public void writePageXmlWithOneRequestTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -24,10 +24,11 @@ public class PageWriterTest {
     			+ "uid=\"6792b0a7f82494dd48e979a2b0860d23e2576b7cd9e71b138674bed7f5ba4e9e\"/>"
     			+ "</test-root>";
     	
-    	(new PageWriter(WrittingTestUtils.PAGE_TEST)).writeXML(doc, root, "pageNameParent", Files.createTempDir().getAbsolutePath());
+    	(new PageWriter(WrittingTestUtils.PAGE_TEST)).writeXML(doc, root, "pageNameParent", new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new PageWriter(WrittingTestUtils.PAGE_TEST).writeXML(writer, "pageNameParent", new InMemoryOutputSink())));
     }
 
 }
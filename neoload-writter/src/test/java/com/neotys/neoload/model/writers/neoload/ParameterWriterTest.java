@@ -5,6 +5,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 import java.util.Optional;
 
@@ -13,7 +14,7 @@ import static org.junit.Assert.assertEquals;
 public class ParameterWriterTest {
 	
 	@Test
-    public void writeRequestXmlTest() throws ParserConfigurationException, TransformerException {
+    public void writeRequestXmlTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -24,5 +25,6 @@ public class ParameterWriterTest {
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	assertEquals(expectedResult, generatedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new ParameterWriter(WrittingTestUtils.PARAMETER_TEST).writeXML(writer, Optional.empty())));
     }
 }
@@ -0,0 +1,198 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import com.google.common.io.Files;
+import com.neotys.neoload.model.ImmutableProject;
+import com.neotys.neoload.model.Project;
+import com.neotys.neoload.model.repository.*;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectWriterTest {
+
+	private static final int PARALLEL_USER_PATHS = 4;
+
+	private static Project getProject() {
+		final VariableExtractor extractor = ImmutableVariableExtractor.builder()
+				.name("extractor_test")
+				.startExpression("<b>")
+				.endExpression("</b>")
+				.extractType(VariableExtractor.ExtractType.BODY)
+				.exitOnError(true)
+				.build();
+		final Request request = ImmutableGetPlainRequest.builder()
+				.from(WrittingTestUtils.REQUEST_TEST2)
+				.name("get_request")
+				.addExtractors(extractor)
+				.addValidators(ImmutableRegexpValidator.builder().name("regexp").haveToContains(true).validationRegex("a.*b").build())
+				.addValidators(ImmutableTextValidator.builder().name("text").haveToContains(false).validationText("error").build())
+				.addHeaders(ImmutableHeader.builder().headerName("Accept").headerValue("text/html").build())
+				.build();
+		final Page page = ImmutablePage.builder()
+				.name("page")
+				.thinkTime(100)
+				.description("page description")
+				.addChilds(request)
+				.addChilds(ImmutablePostFormRequest.copyOf(WrittingTestUtils.REQUEST_TEST3).withName("post_form"))
+				.addChilds(ImmutablePostTextRequest.copyOf(WrittingTestUtils.REQUEST_TEST4).withName("post_text"))
+				.addChilds(ImmutablePostBinaryRequest.copyOf((PostBinaryRequest) WrittingTestUtils.REQUEST_TEST5).withName("post_binary"))
+				.build();
+		final Container subContainer = ImmutableContainer.builder()
+				.name("sub_container")
+				.addChilds(ImmutableDelay.builder().name("delay").delay("1000").build())
+				.build();
+		final UserPath userPath = ImmutableUserPath.builder()
+				.name("user_path")
+				.initContainer(ImmutableContainer.builder().name("Init").build())
+				.actionsContainer(ImmutableContainer.builder()
+						.name("Actions")
+						.addChilds(page)
+						.addChilds(subContainer)
+						.addChilds(ImmutableClearCookies.builder().name("clear_cookies").build())
+						.build())
+				.endContainer(ImmutableContainer.builder().name("End").build())
+				.build();
+		return ImmutableProject.builder()
+				.name("project")
+				.addUserPaths(userPath)
+				.addServers(WrittingTestUtils.SERVER_TEST)
+				.addVariables(WrittingTestUtils.VARIABLE_TEST)
+				.addVariables(ImmutableConstantVariable.builder()
+						.name("constant")
+						.constantValue("value")
+						.description("constant description")
+						.policy(Variable.VariablePolicy.EACH_USE)
+						.scope(Variable.VariableScope.GLOBAL)
+						.build())
+				.addVariables(ImmutableCounterNumberVariable.builder()
+						.name("counter")
+						.startValue(1)
+						.maxValue(10)
+						.increment(2)
+						.policy(Variable.VariablePolicy.EACH_ITERATION)
+						.scope(Variable.VariableScope.LOCAL)
+						.build())
+				.addVariables(ImmutableRandomNumberVariable.builder()
+						.name("random")
+						.minValue(0)
+						.maxValue(5)
+						.policy(Variable.VariablePolicy.EACH_VUSER)
+						.scope(Variable.VariableScope.UNIQUE)
+						.build())
+				.build();
+	}
+
+	private static String writeDOM(final Project project, final OutputSink output) throws ParserConfigurationException, TransformerException {
+		final Document doc = WrittingTestUtils.generateEmptyDocument();
+		ProjectWriter.of(project).writeXML(doc, output);
+		final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transformer.transform(new DOMSource(doc), new StreamResult(out));
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static String writeStream(final Project project, final OutputSink output) throws TransformerException, XMLStreamException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(out);
+		ProjectWriter.of(project).writeXML(writer, output);
+		writer.close();
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static String withoutTimestamps(final String xml) {
+		return xml.replaceAll("ts=\"\\d+\"", "ts=\"\"");
+	}
+
+	@Test
+	public void streamedRepositoryIsIdenticalToDOMTest() throws Exception {
+		final Project project = getProject();
+		final InMemoryOutputSink domOutput = new InMemoryOutputSink();
+		final InMemoryOutputSink streamOutput = new InMemoryOutputSink();
+
+		final String domXml = writeDOM(project, domOutput);
+		final String streamedXml = writeStream(project, streamOutput);
+
+		assertThat(streamedXml).contains("<http-action");
+		assertThat(withoutTimestamps(streamedXml)).isEqualTo(withoutTimestamps(domXml));
+		assertThat(streamOutput.getFiles().keySet()).isNotEmpty();
+		assertThat(streamOutput.getFiles().keySet()).isEqualTo(domOutput.getFiles().keySet());
+	}
+
+	@Test
+	public void streamedProjectTest() {
+		final Project project = getProject();
+		final File tmpDir = Files.createTempDir();
+		final String nlProjectFolder = tmpDir.getPath() + File.separator + project.getName();
+		new NeoLoadWriter(project, nlProjectFolder, null, ImmutableNeoLoadWriterOptions.builder().streamRepository(true).build()).write();
+		assertThat(new File(nlProjectFolder, "config.zip")).exists();
+		assertThat(new File(nlProjectFolder, project.getName() + ".nlp")).exists();
+	}
+
+	private static Project withUserPathCopies(final Project project, final int copies) {
+		final UserPath userPath = project.getUserPaths().get(0);
+		final ImmutableProject.Builder builder = ImmutableProject.builder().from(project);
+		for (int i = 0; i < copies; i++) {
+			builder.addUserPaths(ImmutableUserPath.copyOf(userPath).withName(userPath.getName() + "_" + i));
+		}
+		return builder.build();
+	}
+
+	@Test
+	public void parallelRepositoryIsIdenticalToStreamedTest() throws Exception {
+		final Project project = getProject();
+		final Project onlyUserPaths = ImmutableProject.builder().name("user paths").addAllUserPaths(project.getUserPaths()).build();
+		final ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_USER_PATHS);
+		try {
+			for (final Project testedProject : new Project[]{project, withUserPathCopies(project, 1),
+					withUserPathCopies(project, 3 * PARALLEL_USER_PATHS), withUserPathCopies(onlyUserPaths, 2)}) {
+				final InMemoryOutputSink streamOutput = new InMemoryOutputSink();
+				final InMemoryOutputSink parallelOutput = new InMemoryOutputSink();
+
+				final String streamedXml = writeStream(testedProject, streamOutput);
+				final ByteArrayOutputStream out = new ByteArrayOutputStream();
+				ProjectWriter.of(testedProject).writeXML(out, parallelOutput, executor, PARALLEL_USER_PATHS);
+				final String parallelXml = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+				assertThat(withoutTimestamps(parallelXml)).isEqualTo(withoutTimestamps(streamedXml));
+				assertThat(parallelOutput.getFiles().keySet()).isEqualTo(streamOutput.getFiles().keySet());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void parallelProjectTest() {
+		final Project project = withUserPathCopies(getProject(), 10);
+		final InMemoryOutputSink output = new InMemoryOutputSink();
+		final ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_USER_PATHS);
+		try {
+			new NeoLoadWriter(project, output, null, ImmutableNeoLoadWriterOptions.builder()
+					.streamRepository(true)
+					.userPathsExecutor(executor)
+					.parallelUserPaths(PARALLEL_USER_PATHS)
+					.build()).write();
+		} finally {
+			executor.shutdown();
+		}
+		assertThat(output.exists("config.zip")).isTrue();
+		assertThat(output.exists(project.getName() + ".nlp")).isTrue();
+	}
+}
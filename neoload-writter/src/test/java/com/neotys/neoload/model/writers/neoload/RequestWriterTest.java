@@ -1,18 +1,18 @@
 package com.neotys.neoload.model.writers.neoload;
 
-import com.google.common.io.Files;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 public class RequestWriterTest {
 	
 	@Test
-    public void writeRequestXmlWithOneParamTest() throws ParserConfigurationException, TransformerException {
+    public void writeRequestXmlWithOneParamTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -23,14 +23,15 @@ public class RequestWriterTest {
     			+ "<parameter name=\"param_name\" value=\"param_value\"/>"
     			+ "</http-action></test-root>";
     	
-    	(new RequestWriter(WrittingTestUtils.REQUEST_TEST2)).writeXML(doc, root, "PagePath", Files.createTempDir().getAbsolutePath());
+    	(new RequestWriter(WrittingTestUtils.REQUEST_TEST2)).writeXML(doc, root, "PagePath", new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new RequestWriter(WrittingTestUtils.REQUEST_TEST2).writeXML(writer, "PagePath", new InMemoryOutputSink())));
     }
 	
 	@Test
-    public void writeRequestXmlWithoutParamsTest() throws ParserConfigurationException, TransformerException {
+    public void writeRequestXmlWithoutParamsTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -40,14 +41,15 @@ public class RequestWriterTest {
     			+ "uid=\"032e11f533cd97719d4e1a09b88dc201a1fa2a5f01da9b38631bcbaecf5b0bc4\"/>"
     			+ "</test-root>";
     	
-    	(new GetPlainRequestWriter(WrittingTestUtils.REQUEST_TEST)).writeXML(doc, root, "PagePath", Files.createTempDir().getAbsolutePath());
+    	(new GetPlainRequestWriter(WrittingTestUtils.REQUEST_TEST)).writeXML(doc, root, "PagePath", new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new GetPlainRequestWriter(WrittingTestUtils.REQUEST_TEST).writeXML(writer, "PagePath", new InMemoryOutputSink())));
     }
 	
 	@Test
-    public void writePostRequestTest() throws ParserConfigurationException, TransformerException {
+    public void writePostRequestTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -59,14 +61,15 @@ public class RequestWriterTest {
     			+ "<parameter name=\"post param_name\" value=\"post_param Value\"/>"
     			+ "</http-action></test-root>";
     	
-    	(new PostFormRequestWriter(WrittingTestUtils.REQUEST_TEST3)).writeXML(doc, root, "PagePath", Files.createTempDir().getAbsolutePath());
+    	(new PostFormRequestWriter(WrittingTestUtils.REQUEST_TEST3)).writeXML(doc, root, "PagePath", new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new PostFormRequestWriter(WrittingTestUtils.REQUEST_TEST3).writeXML(writer, "PagePath", new InMemoryOutputSink())));
     }
 	
 	@Test
-    public void writePostRequestTextDataTest() throws ParserConfigurationException, TransformerException {
+    public void writePostRequestTextDataTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -79,15 +82,16 @@ public class RequestWriterTest {
     			+ "<binaryPostContentBase64><![CDATA[dGV4dGUgYSBjb252ZXJ0aXIgZW4gYmluYWlyZQ==]]></binaryPostContentBase64>"
     			+ "</http-action></test-root>";
     	
-    	(new PostTextRequestWriter(WrittingTestUtils.REQUEST_TEST4)).writeXML(doc, root, "PagePath", Files.createTempDir().getAbsolutePath());
+    	(new PostTextRequestWriter(WrittingTestUtils.REQUEST_TEST4)).writeXML(doc, root, "PagePath", new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
     	Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+    	WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new PostTextRequestWriter(WrittingTestUtils.REQUEST_TEST4).writeXML(writer, "PagePath", new InMemoryOutputSink())));
     }
 	
 	
 	@Test
-    public void writePostRequestBinaryDataTest() throws ParserConfigurationException, TransformerException {
+    public void writePostRequestBinaryDataTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
     	Element root = WrittingTestUtils.generateTestRootElement(doc);
     	String expectedResult = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
@@ -99,10 +103,11 @@ public class RequestWriterTest {
     			+ "<binaryPostContentBase64><![CDATA[dGV4dGUgYSBjb252ZXJ0aXIgZW4gYmluYWlyZQ==]]></binaryPostContentBase64>"
     			+ "</http-action></test-root>";
     	
-    	(new PostBinaryRequestWriter(WrittingTestUtils.REQUEST_TEST5)).writeXML(doc, root, "PagePath", Files.createTempDir().getAbsolutePath());
+    	(new PostBinaryRequestWriter(WrittingTestUtils.REQUEST_TEST5)).writeXML(doc, root, "PagePath", new InMemoryOutputSink());
     	
     	String generatedResult = WrittingTestUtils.getXmlString(doc);
 		Assertions.assertThat(generatedResult).isEqualTo(expectedResult);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> new PostBinaryRequestWriter(WrittingTestUtils.REQUEST_TEST5).writeXML(writer, "PagePath", new InMemoryOutputSink())));
     }
 
 }
@@ -0,0 +1,82 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerConfigurationException;
+
+import org.junit.Test;
+
+public class SaxXMLStreamWriterTest {
+
+	@Test
+	public void writeCommentAndProcessingInstructionTest() throws TransformerConfigurationException, XMLStreamException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(out);
+		writer.writeStartDocument();
+		writer.writeStartElement("root");
+		writer.writeAttribute("name", "value");
+		writer.writeComment("a comment");
+		writer.writeProcessingInstruction("target", "data");
+		writer.writeProcessingInstruction("empty");
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+
+		assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+				.contains("<root name=\"value\">")
+				.contains("<!--a comment-->")
+				.contains("<?target data?>")
+				.contains("<?empty?>");
+	}
+
+	@Test
+	public void writeNamespacesTest() throws TransformerConfigurationException, XMLStreamException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(out);
+		writer.writeStartDocument();
+		writer.writeStartElement("ns", "root", "urn:test");
+		writer.writeNamespace("ns", "urn:test");
+		writer.writeDefaultNamespace("urn:default");
+		writer.writeEmptyElement("urn:test", "child");
+		writer.writeAttribute("urn:test", "name", "value");
+		writer.setPrefix("other", "urn:other");
+		writer.writeEmptyElement("urn:other", "child");
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+
+		assertThat(writer.getPrefix("urn:test")).isEqualTo("ns");
+		assertThat(writer.getPrefix("urn:default")).isEmpty();
+		assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+				.contains("<ns:root xmlns=\"urn:default\" xmlns:ns=\"urn:test\">")
+				.contains("<ns:child ns:name=\"value\"/>")
+				.contains("<other:child/>");
+	}
+
+	@Test
+	public void unboundNamespaceTest() throws TransformerConfigurationException, XMLStreamException {
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(new ByteArrayOutputStream());
+		writer.writeStartDocument();
+		assertThatThrownBy(() -> writer.writeStartElement("urn:unbound", "root"))
+				.isInstanceOf(XMLStreamException.class)
+				.hasMessageContaining("urn:unbound");
+	}
+
+	@Test
+	public void unsupportedCallsTest() throws TransformerConfigurationException, XMLStreamException {
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(new ByteArrayOutputStream());
+		writer.writeStartDocument();
+		assertThatThrownBy(() -> writer.writeDTD("<!DOCTYPE root>"))
+				.isInstanceOf(XMLStreamException.class)
+				.hasMessageContaining("writeDTD");
+		assertThatThrownBy(() -> writer.writeEntityRef("amp"))
+				.isInstanceOf(XMLStreamException.class)
+				.hasMessageContaining("writeEntityRef");
+	}
+}
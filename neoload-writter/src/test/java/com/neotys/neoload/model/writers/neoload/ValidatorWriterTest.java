@@ -8,6 +8,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 import static org.junit.Assert.assertEquals;
@@ -15,7 +16,7 @@ import static org.junit.Assert.assertEquals;
 public class ValidatorWriterTest{
 	
 	@Test
-	public void writeXmlTest() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTest() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		Validator inputValidator = ImmutableTextValidator.builder()
 				.name("webRegFind_TEST")
 				.haveToContains(true)
@@ -34,11 +35,12 @@ public class ValidatorWriterTest{
 		ValidatorWriter.getWriterFor(inputValidator).writeXML(doc, root);
 		String generatedValidator = WrittingTestUtils.getXmlString(doc);
 		assertEquals(expectedResult, generatedValidator);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ValidatorWriter.getWriterFor(inputValidator).writeXML(writer)));
 	}
 	
 	
 	@Test
-	public void writeXmlTest2() throws ParserConfigurationException, TransformerException {
+	public void writeXmlTest2() throws ParserConfigurationException, TransformerException, XMLStreamException {
 		Validator inputValidator = ImmutableRegexpValidator.builder()
 				.name("webRegFind_TEST")
 				.haveToContains(true)
@@ -57,6 +59,7 @@ public class ValidatorWriterTest{
 		ValidatorWriter.getWriterFor(inputValidator).writeXML(doc, root);
 		String generatedValidator = WrittingTestUtils.getXmlString(doc);
 		assertEquals(expectedResult, generatedValidator);
+		WrittingTestUtils.assertSameXml(expectedResult, WrittingTestUtils.getStreamedXmlString(writer -> ValidatorWriter.getWriterFor(inputValidator).writeXML(writer)));
 	}
 }
 
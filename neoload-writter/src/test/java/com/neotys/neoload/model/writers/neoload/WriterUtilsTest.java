@@ -6,6 +6,8 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.TransformerException;
 import java.util.Optional;
 
@@ -23,6 +25,74 @@ public class WriterUtilsTest {
         assertThat(WriterUtils.getWriterFor(page).getClass().getSimpleName()).isEqualTo("PageWriter");
     }
     
+    @Test
+    public void getWriterForPostBinaryRequestTest() {
+        assertThat(WriterUtils.getWriterFor(WrittingTestUtils.REQUEST_TEST5)).isInstanceOf(PostBinaryRequestWriter.class);
+    }
+
+    @Test
+    public void getWriterForConstantVariableTest() {
+        ConstantVariable variable = ImmutableConstantVariable.builder()
+                .name("constant")
+                .constantValue("value")
+                .policy(Variable.VariablePolicy.EACH_USE)
+                .scope(Variable.VariableScope.GLOBAL)
+                .build();
+        assertThat(WriterUtils.getWriterFor(variable)).isInstanceOf(ConstantVariableWriter.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getWriterForUnknownElementTest() {
+        GetFollowLinkRequest request = ImmutableGetFollowLinkRequest.builder()
+                .name("follow_link")
+                .httpMethod(Request.HttpMethod.GET)
+                .text("link")
+                .build();
+        WriterUtils.getWriterFor(request);
+    }
+
+    @Test
+    public void registerElementWriterTest() {
+        // a local registry, the writers registered in WriterUtils are shared by the whole process
+        final WriterRegistry<com.neotys.neoload.model.core.Element, ElementWriter> registry = new WriterRegistry<>("element");
+        registry.register(GetPlainRequest.class, GetPlainRequestWriter::new);
+        assertThat(registry.writerFor(WrittingTestUtils.REQUEST_TEST)).isInstanceOf(GetPlainRequestWriter.class);
+
+        registry.register(CustomElement.class, CustomElementWriter::new);
+        assertThat(registry.writerFor(new CustomElement()).getClass()).isEqualTo(CustomElementWriter.class);
+        // the more specific writers are still used
+        assertThat(registry.writerFor(WrittingTestUtils.REQUEST_TEST)).isInstanceOf(GetPlainRequestWriter.class);
+    }
+
+    private static class CustomElementWriter extends ElementWriter {
+        CustomElementWriter(final CustomElement element) {
+            super(element);
+        }
+
+        @Override
+        public void writeXML(final XMLStreamWriter writer, final String parentPath, final OutputSink output) throws XMLStreamException {
+            writer.writeEmptyElement("custom-action");
+            writeAttributes(writer, parentPath);
+        }
+    }
+
+    private static class CustomElement implements com.neotys.neoload.model.core.Element {
+        @Override
+        public String getName() {
+            return "custom";
+        }
+
+        @Override
+        public Optional<String> getDescription() {
+            return Optional.empty();
+        }
+
+        @Override
+        public com.neotys.neoload.model.core.Element withName(String of) {
+            return this;
+        }
+    }
+
     @Test
     public void generateEmbeddedActionTest() throws ParserConfigurationException, TransformerException {
     	Document doc = WrittingTestUtils.generateEmptyDocument();
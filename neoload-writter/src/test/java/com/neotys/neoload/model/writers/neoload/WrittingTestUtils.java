@@ -4,19 +4,31 @@ import com.neotys.neoload.model.repository.*;
 import com.neotys.neoload.model.repository.Request.HttpMethod;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+
 public class WrittingTestUtils {
 	private WrittingTestUtils() {}
 	
@@ -149,6 +161,69 @@ public class WrittingTestUtils {
 		return rootElement;
 	}
 	
+	/**
+	 * Write of an element in a streamed repository.
+	 */
+	@FunctionalInterface
+	public interface StreamedXml {
+		void writeXML(XMLStreamWriter writer) throws XMLStreamException;
+	}
+
+	/**
+	 * @return the XML written in a streamed repository, under the same root as {@link #getXmlString(Document)}.
+	 * The streamed repository is indented, compare it with {@link #assertSameXml(String, String)}.
+	 */
+	public static String getStreamedXmlString(final StreamedXml streamedXml) throws TransformerException, XMLStreamException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final XMLStreamWriter writer = SaxXMLStreamWriter.of(out);
+		writer.writeStartDocument();
+		writer.writeStartElement("test-root");
+		streamedXml.writeXML(writer);
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Asserts that both documents have the same canonical form: the indentation between elements is ignored,
+	 * but not the whitespaces of the text contents.
+	 */
+	public static void assertSameXml(final String expected, final String actual) throws TransformerException {
+		assertEquals(canonicalXml(expected), canonicalXml(actual));
+	}
+
+	private static String canonicalXml(final String xml) throws TransformerException {
+		final Document doc;
+		try {
+			doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+		} catch (ParserConfigurationException | SAXException | IOException e) {
+			throw new AssertionError("Invalid XML: " + xml, e);
+		}
+		removeIndentation(doc.getDocumentElement());
+		doc.normalizeDocument();
+		return getXmlString(doc);
+	}
+
+	/**
+	 * Removes the whitespace only texts of the elements having child elements, that is the indentation.
+	 */
+	private static void removeIndentation(final Node node) {
+		final NodeList children = node.getChildNodes();
+		boolean hasChildElements = false;
+		for (int i = 0; i < children.getLength(); i++) {
+			hasChildElements |= children.item(i).getNodeType() == Node.ELEMENT_NODE;
+		}
+		for (int i = children.getLength() - 1; i >= 0; i--) {
+			final Node child = children.item(i);
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				removeIndentation(child);
+			} else if (hasChildElements && child.getNodeType() == Node.TEXT_NODE && child.getNodeValue().trim().isEmpty()) {
+				node.removeChild(child);
+			}
+		}
+	}
+
 	public static String getXmlString(Document doc) throws TransformerException {
 		TransformerFactory transformerFactory = TransformerFactory.newInstance();
 		Transformer transformer = transformerFactory.newTransformer();
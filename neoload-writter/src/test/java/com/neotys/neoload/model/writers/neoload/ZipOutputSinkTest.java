@@ -0,0 +1,65 @@
+package com.neotys.neoload.model.writers.neoload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class ZipOutputSinkTest {
+
+	static Map<String, String> readEntries(final byte[] archive) throws IOException {
+		final Map<String, String> entries = new LinkedHashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				entries.put(entry.getName(), new String(ByteStreams.toByteArray(zip), StandardCharsets.UTF_8));
+			}
+		}
+		return entries;
+	}
+
+	@Test
+	public void nestedFilesTest() throws IOException {
+		final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		try (ZipOutputSink output = ZipOutputSink.of(archive)) {
+			try (OutputStream config = output.newOutputStream("config.zip")) {
+				config.write("config".getBytes(StandardCharsets.UTF_8));
+				// written while config.zip is written, kept until config.zip is complete
+				try (OutputStream script = output.newOutputStream("scripts/jsAction_1.js")) {
+					script.write("script".getBytes(StandardCharsets.UTF_8));
+				}
+				assertThat(output.exists("scripts/jsAction_1.js")).isTrue();
+				config.write("!".getBytes(StandardCharsets.UTF_8));
+			}
+			try (OutputStream nlp = output.newOutputStream("project.nlp")) {
+				nlp.write("nlp".getBytes(StandardCharsets.UTF_8));
+			}
+			assertThat(output.exists("variables/file.csv")).isFalse();
+		}
+		final Map<String, String> entries = readEntries(archive.toByteArray());
+		assertThat(entries.keySet()).containsExactly("config.zip", "scripts/jsAction_1.js", "project.nlp");
+		assertThat(entries.get("config.zip")).isEqualTo("config!");
+		assertThat(entries.get("scripts/jsAction_1.js")).isEqualTo("script");
+		assertThat(entries.get("project.nlp")).isEqualTo("nlp");
+	}
+
+	@Test(expected = FileAlreadyExistsException.class)
+	public void fileWrittenTwiceTest() throws IOException {
+		try (ZipOutputSink output = ZipOutputSink.of(new ByteArrayOutputStream())) {
+			output.newOutputStream("project.nlp").close();
+			output.newOutputStream("project.nlp");
+		}
+	}
+}